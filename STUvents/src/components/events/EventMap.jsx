@@ -1,13 +1,30 @@
-import { useState, useCallback } from 'react';
+import { useState, useCallback, useRef } from 'react';
 import { useJsApiLoader, GoogleMap, Marker, InfoWindow, MarkerClustererF } from '@react-google-maps/api';
-import { Link } from 'react-router-dom';
+import { Link, useNavigate } from 'react-router-dom';
 import './EventMap.css';
 
 const MAP_API_KEY = import.meta.env.VITE_GOOGLE_MAPS_API_KEY;
 
-export function EventMap({ events, center, hoveredEventId }) {
+export function EventMap({ events, clusters, center, hoveredEventId, onBoundsChange }) {
   const [selectedEvent, setSelectedEvent] = useState(null);
   const [selectedCluster, setSelectedCluster] = useState(null);
+  const mapRef = useRef(null);
+  const navigate = useNavigate();
+
+  // Reported once the map stops moving, not on every frame of a pan or zoom.
+  const handleIdle = useCallback(() => {
+    const bounds = mapRef.current?.getBounds();
+    if (!bounds || !onBoundsChange) return;
+    const northEast = bounds.getNorthEast();
+    const southWest = bounds.getSouthWest();
+    onBoundsChange({
+      north: northEast.lat(),
+      east: northEast.lng(),
+      south: southWest.lat(),
+      west: southWest.lng(),
+      zoom: mapRef.current.getZoom(),
+    });
+  }, [onBoundsChange]);
 
   const { isLoaded } = useJsApiLoader({
     id: 'google-map-script',
@@ -36,6 +53,28 @@ export function EventMap({ events, center, hoveredEventId }) {
     }
   }, [events]);
 
+  // A server cluster of one is a single event; larger ones zoom in until they split.
+  const handleServerClusterClick = useCallback((cluster) => {
+    if (cluster.eventId) {
+      const event = events.find(e => e.id === cluster.eventId);
+      if (event) {
+        setSelectedCluster(null);
+        setSelectedEvent(event);
+      } else {
+        navigate(`/events/${cluster.eventId}`);
+      }
+      return;
+    }
+    setSelectedEvent(null);
+    setSelectedCluster(null);
+    mapRef.current?.fitBounds({
+      north: cluster.north,
+      east: cluster.east,
+      south: cluster.south,
+      west: cluster.west,
+    });
+  }, [events, navigate]);
+
 
   if (!isLoaded) {
     return <div>Loading Map...</div>;
@@ -56,6 +95,9 @@ export function EventMap({ events, center, hoveredEventId }) {
       mapContainerStyle={{ width: '100%', height: '100%' }}
       center={center}
       zoom={13}
+      onLoad={(map) => { mapRef.current = map; }}
+      onUnmount={() => { mapRef.current = null; }}
+      onIdle={handleIdle}
       options={{
         disableDefaultUI: true,
         zoomControl: true,
@@ -65,7 +107,25 @@ export function EventMap({ events, center, hoveredEventId }) {
         setSelectedCluster(null);
       }}
     >
-      <MarkerClustererF 
+      {clusters && clusters.map((cluster) => (
+        <Marker
+          key={`${cluster.latitude},${cluster.longitude}`}
+          position={{ lat: cluster.latitude, lng: cluster.longitude }}
+          icon={cluster.count > 1 ? {
+            path: window.google.maps.SymbolPath.CIRCLE,
+            scale: 14 + 3 * Math.log10(cluster.count),
+            fillColor: '#4f46e5',
+            fillOpacity: 0.85,
+            strokeColor: '#ffffff',
+            strokeWeight: 2,
+          } : (hoveredEventId === cluster.eventId ? hoverIcon : defaultIcon)}
+          label={cluster.count > 1 ? { text: String(cluster.count), color: '#ffffff', fontWeight: 'bold' } : undefined}
+          zIndex={hoveredEventId === cluster.eventId ? 100 : 1}
+          onClick={() => handleServerClusterClick(cluster)}
+        />
+      ))}
+
+      {!clusters && <MarkerClustererF 
         onClick={handleClusterClick} 
       >
         {(clusterer) =>
@@ -85,7 +145,7 @@ export function EventMap({ events, center, hoveredEventId }) {
             ) : null
           )
         }
-      </MarkerClustererF>
+      </MarkerClustererF>}
 
       {selectedEvent && (
         <InfoWindow
@@ -1,8 +1,10 @@
 import { useState } from 'react';
 import './FilterModal.css';
 
-export function CategoryFilterModal({ allCategories, selectedCategories, onApply, onClose }) {
+export function CategoryFilterModal({ allCategories, selectedCategories, categoryCounts, onApply, onClose }) {
   const [checkedCategories, setCheckedCategories] = useState(new Set(selectedCategories));
+  // Categories without upcoming matches are left out of the counts, so they show 0.
+  const countsById = new Map((categoryCounts || []).map(facet => [facet.id, facet.count]));
 
   const handleCheckboxChange = (categoryName) => {
     const newChecked = new Set(checkedCategories);
@@ -36,6 +38,7 @@ export function CategoryFilterModal({ allCategories, selectedCategories, onApply
                 onChange={() => handleCheckboxChange(cat.name)}
               />
               {cat.name}
+              {categoryCounts && <span className="facet-count">{countsById.get(cat.id) || 0}</span>}
             </label>
           ))}
         </div>
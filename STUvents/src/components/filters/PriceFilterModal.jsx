@@ -1,7 +1,12 @@
 import { useState } from 'react';
 import './FilterModal.css';
 
-export function PriceFilterModal({ currentRange, onApply, onClose }) {
+const formatBucket = ({ min, max }) => {
+  if (max === null) return `${min}+`;
+  return `${min} - ${max}`;
+};
+
+export function PriceFilterModal({ currentRange, priceBuckets, onApply, onClose }) {
   const [minPrice, setMinPrice] = useState(currentRange.min);
   const [maxPrice, setMaxPrice] = useState(currentRange.max);
 
@@ -13,6 +18,25 @@ export function PriceFilterModal({ currentRange, onApply, onClose }) {
     <div className="modal-overlay" onClick={onClose}>
       <div className="filter-modal-content" onClick={(e) => e.stopPropagation()}>
         <h3>Filter by Price</h3>
+        {priceBuckets && (
+          <div className="price-buckets">
+            {priceBuckets.map(bucket => (
+              <button
+                key={bucket.min}
+                type="button"
+                className="price-bucket"
+                disabled={bucket.count === 0}
+                onClick={() => {
+                  setMinPrice(String(bucket.min));
+                  setMaxPrice(bucket.max === null ? '' : String(bucket.max));
+                }}
+              >
+                {formatBucket(bucket)}
+                <span className="facet-count">{bucket.count}</span>
+              </button>
+            ))}
+          </div>
+        )}
         <div className="price-inputs">
           <input
             type="number"
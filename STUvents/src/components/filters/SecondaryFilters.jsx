@@ -3,7 +3,7 @@ import { PriceFilterModal } from './PriceFilterModal';
 import { CategoryFilterModal } from './CategoryFilterModal';
 import './SecondaryFIlters.css';
 
-export function SecondaryFilters({ categories, currentFilters, onFilterChange }) {
+export function SecondaryFilters({ categories, currentFilters, facets, onFilterChange }) {
   const [activeModal, setActiveModal] = useState(null);
 
   const handlePriceApply = (priceRange) => {
@@ -22,6 +22,7 @@ export function SecondaryFilters({ categories, currentFilters, onFilterChange })
       {activeModal === 'price' && (
         <PriceFilterModal
           currentRange={currentFilters.priceRange}
+          priceBuckets={facets?.prices}
           onApply={handlePriceApply}
           onClose={() => setActiveModal(null)}
         />
@@ -30,6 +31,7 @@ export function SecondaryFilters({ categories, currentFilters, onFilterChange })
         <CategoryFilterModal
           allCategories={categories}
           selectedCategories={currentFilters.selectedCategories}
+          categoryCounts={facets?.categories}
           onApply={handleCategoryApply}
           onClose={() => setActiveModal(null)}
         />
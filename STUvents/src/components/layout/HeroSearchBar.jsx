@@ -1,22 +1,99 @@
 
 
+import { useEffect, useState } from 'react';
+import { useNavigate } from 'react-router-dom';
+import * as eventService from '../../services/eventService';
 import './HeroSearchBar.css';
 
+const SUGGEST_DELAY_MS = 150;
+const NO_SUGGESTIONS = { events: [], cities: [], categories: [] };
+
+export function HeroSearchBar({ cities, selectedCity, onCitySelect, onCategorySelect, onReset }) {
+  const [query, setQuery] = useState('');
+  const [suggestions, setSuggestions] = useState(NO_SUGGESTIONS);
+  const [showSuggestions, setShowSuggestions] = useState(false);
+  const navigate = useNavigate();
+
+  // Asks once typing pauses; a reply that arrives after the next keystroke is dropped.
+  useEffect(() => {
+    const trimmed = query.trim();
+    if (!trimmed) {
+      setSuggestions(NO_SUGGESTIONS);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(() => {
+      eventService.getSearchSuggestions(trimmed)
+        .then(response => {
+          if (!cancelled) setSuggestions(response.data);
+        })
+        .catch(error => console.error("Failed to fetch suggestions:", error));
+    }, SUGGEST_DELAY_MS);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [query]);
 
-export function HeroSearchBar({ cities, selectedCity, onCitySelect, onReset }) {
-  
   const handleCityChange = (e) => {
     const newCity = e.target.value;
     onCitySelect(newCity);
   };
 
   const handleLocalReset = () => {
+    setQuery('');
     onReset();
   };
 
+  const pick = (action) => {
+    setQuery('');
+    setShowSuggestions(false);
+    action();
+  };
+
+  // Categories only narrow the listing of a city, so they are offered once one is chosen.
+  const categorySuggestions = selectedCity && onCategorySelect ? suggestions.categories : [];
+  const hasSuggestions = suggestions.events.length > 0 || suggestions.cities.length > 0 || categorySuggestions.length > 0;
+
   return (
  
     <div className="hero-search-bar">
+      <div className="search-section what-section">
+        <label htmlFor="search-input">What</label>
+        <input
+          id="search-input"
+          type="text"
+          placeholder="Events, cities, categories"
+          autoComplete="off"
+          value={query}
+          onChange={(e) => {
+            setQuery(e.target.value);
+            setShowSuggestions(true);
+          }}
+          onFocus={() => setShowSuggestions(true)}
+          onBlur={() => setShowSuggestions(false)}
+        />
+        {showSuggestions && hasSuggestions && (
+          // mousedown instead of click, so a choice lands before the input's blur hides the list.
+          <ul className="search-suggestions">
+            {suggestions.cities.map(city => (
+              <li key={`city-${city.id}`} onMouseDown={() => pick(() => onCitySelect(city.name))}>
+                <span className="suggestion-kind">City</span>{city.name}
+              </li>
+            ))}
+            {categorySuggestions.map(category => (
+              <li key={`category-${category.id}`} onMouseDown={() => pick(() => onCategorySelect(category.name))}>
+                <span className="suggestion-kind">Category</span>{category.name}
+              </li>
+            ))}
+            {suggestions.events.map(event => (
+              <li key={`event-${event.id}`} onMouseDown={() => pick(() => navigate(`/events/${event.id}`))}>
+                <span className="suggestion-kind">Event</span>{event.name}
+              </li>
+            ))}
+          </ul>
+        )}
+      </div>
       <div className="search-section where-section">
         <label htmlFor="city-select">Where</label>
         <select
@@ -37,4 +114,4 @@ export function HeroSearchBar({ cities, selectedCity, onCitySelect, onReset }) {
       </div>
     </div>
   );
-}
\ No newline at end of file
+}
@@ -1,3 +1,4 @@
+import dayjs from 'dayjs';
 import './PaymentModal.css'; 
 
 export function PaymentModal({ isOpen, onClose, onConfirm, bookingDetails, isLoading, error }) {
@@ -26,6 +27,11 @@ export function PaymentModal({ isOpen, onClose, onConfirm, bookingDetails, isLoa
             <p><strong>Ticket:</strong> {bookingDetails.ticket.name}</p>
             <p><strong>Quantity:</strong> {bookingDetails.quantity}</p>
             <p className="total-cost"><strong>Total:</strong> ${totalCost}</p>
+            {bookingDetails.hold && (
+              <p className="hold-notice">
+                Your tickets are held until {dayjs(bookingDetails.hold.expiresAt).format('h:mm A')}.
+              </p>
+            )}
           </div>
 
           <div className="payment-form">
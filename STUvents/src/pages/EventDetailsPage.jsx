@@ -49,24 +49,34 @@ export function EventDetailsPage() {
     fetchEvent();
   }, [id]);
 
-  const handlePurchaseInitiate = (ticket, quantity) => {
-    setBookingDetails({
-      eventName: event.name,
-      ticket: ticket,
-      quantity: quantity
-    });
-    setBookingError('');
-    setIsModalOpen(true);
+  const handlePurchaseInitiate = async (ticket, quantity) => {
+    try {
+      const response = await bookingService.createHold(ticket.id, quantity);
+      setBookingDetails({
+        eventName: event.name,
+        ticket: ticket,
+        quantity: quantity,
+        hold: response.data
+      });
+      setBookingError('');
+      setIsModalOpen(true);
+    } catch (err) {
+      alert(err.response?.data?.message || 'These tickets could not be reserved. Please try again.');
+    }
+  };
+
+  const cancelBooking = () => {
+    setIsModalOpen(false);
+    if (bookingDetails?.hold) {
+      bookingService.releaseHold(bookingDetails.hold.id).catch(err => console.error(err));
+    }
   };
 
   const confirmBooking = async () => {
     setIsBooking(true);
     setBookingError('');
     try {
-      await bookingService.createBooking(
-        bookingDetails.ticket.id,
-        bookingDetails.quantity
-      );
+      await bookingService.confirmHold(bookingDetails.hold.id);
       alert(`Successfully purchased ${bookingDetails.quantity} ticket(s)! You will now be redirected to your bookings page.`);
       setIsModalOpen(false);
       navigate('/my-bookings');
@@ -125,7 +135,7 @@ export function EventDetailsPage() {
       </main>
       <PaymentModal
         isOpen={isModalOpen}
-        onClose={() => setIsModalOpen(false)}
+        onClose={cancelBooking}
         onConfirm={confirmBooking}
         bookingDetails={bookingDetails}
         isLoading={isBooking}
@@ -1,5 +1,5 @@
 
-import { useState, useEffect, useMemo } from 'react';
+import { useState, useEffect, useMemo, useCallback } from 'react';
 import { useSearchParams } from 'react-router-dom'; 
 import * as eventService from '../services/eventService'; 
 
@@ -18,6 +18,10 @@ export function HomePage() {
   const [cities, setCities] = useState([]);
   const [loading, setLoading] = useState(true);
   const [hoveredEventId, setHoveredEventId] = useState(null);
+  const [mapBounds, setMapBounds] = useState(null);
+  const [mapEvents, setMapEvents] = useState(null);
+  const [mapClusters, setMapClusters] = useState(null);
+  const [facets, setFacets] = useState(null);
 
   const activeCity = useMemo(() => searchParams.get('city') || '', [searchParams]);
   const secondaryFilters = useMemo(() => ({
@@ -65,32 +69,88 @@ export function HomePage() {
   useEffect(() => {
     if (!activeCity) {
       setAllEvents([]); 
+      setFacets(null);
       return;
     }
 
     const fetchSearchedEvents = async () => {
       setLoading(true);
       try {
-        const response = await eventService.getEventsByCity(activeCity); 
+        const response = await eventService.getEventsByCity(activeCity, {
+          categories: secondaryFilters.selectedCategories,
+          minPrice: secondaryFilters.priceRange.min,
+          maxPrice: secondaryFilters.priceRange.max,
+        });
         setAllEvents(response.data.content);
+        setFacets(response.data.facets || null);
       } catch (error) {
         console.error("Failed to fetch events:", error);
         setAllEvents([]);
+        setFacets(null);
       } finally {
         setLoading(false);
       }
     };
 
     fetchSearchedEvents();
-  }, [activeCity]); 
+  }, [activeCity, secondaryFilters]);
 
 
+  // The map asks for what is in view each time it settles, so panning never depends on the city list above.
+  // Without filters the server sends ready-made clusters; filtered views still load the events themselves.
+  useEffect(() => {
+    if (!mapBounds) {
+      setMapEvents(null);
+      setMapClusters(null);
+      return;
+    }
+    let cancelled = false;
+    const unfiltered = secondaryFilters.selectedCategories.length === 0
+      && !secondaryFilters.priceRange.min && !secondaryFilters.priceRange.max;
+    if (unfiltered) {
+      eventService.getEventClusters(mapBounds)
+        .then(response => {
+          if (!cancelled) setMapClusters(response.data);
+        })
+        .catch(error => console.error("Failed to fetch map clusters:", error));
+      return () => {
+        cancelled = true;
+      };
+    }
+    setMapClusters(null);
+    const { south, west, north, east } = mapBounds;
+    eventService.getEventsInArea({ south, west, north, east }, {
+      categories: secondaryFilters.selectedCategories,
+      minPrice: secondaryFilters.priceRange.min,
+      maxPrice: secondaryFilters.priceRange.max,
+    })
+      .then(response => {
+        if (!cancelled) setMapEvents(response.data.content);
+      })
+      .catch(error => console.error("Failed to fetch events in view:", error));
+    return () => {
+      cancelled = true;
+    };
+  }, [mapBounds, secondaryFilters]);
+
+  useEffect(() => {
+    setMapBounds(null);
+  }, [activeCity]);
+
+  const handleBoundsChange = useCallback((bounds) => setMapBounds(bounds), []);
+
   const handleCitySelect = (cityName) => {
     if (cityName) {
       setSearchParams({ city: cityName });
     }
   };
 
+  const handleCategorySelect = (categoryName) => {
+    const newSearchParams = new URLSearchParams(searchParams);
+    newSearchParams.set('category', categoryName);
+    setSearchParams(newSearchParams);
+  };
+
   const handleSecondaryFilterChange = (filterName, value) => {
     const newSearchParams = new URLSearchParams(searchParams);
 
@@ -108,20 +168,7 @@ export function HomePage() {
   const handleReset = () => {
     setSearchParams({});
   };
-  const filteredEvents = useMemo(() => {
-    const sourceList = isMapViewActive ? allEvents : initialEvents;
-    if (!isMapViewActive) return sourceList;
-
-    return sourceList.filter(event => {
-      if (secondaryFilters.selectedCategories.length > 0 && !secondaryFilters.selectedCategories.includes(event.category.name)) {
-        return false;
-      }
-      const minPrice = event.ticketTypes.length > 0 ? Math.min(...event.ticketTypes.map(t => t.price)) : 0;
-      if (secondaryFilters.priceRange.min && minPrice < secondaryFilters.priceRange.min) return false;
-      if (secondaryFilters.priceRange.max && minPrice > secondaryFilters.priceRange.max) return false;
-      return true;
-    });
-  }, [allEvents, initialEvents, secondaryFilters, isMapViewActive]);
+  const filteredEvents = isMapViewActive ? allEvents : initialEvents;
   const mapCenter = useMemo(() => {
     const listToUse = isMapViewActive ? filteredEvents : [];
     const firstEventWithCoords = listToUse.find(e => e.latitude != null && e.longitude != null);
@@ -140,6 +187,7 @@ export function HomePage() {
               cities={cities}
               selectedCity={activeCity} 
               onCitySelect={handleCitySelect}
+              onCategorySelect={handleCategorySelect}
               onReset={handleReset}
             />
           </div>
@@ -151,6 +199,7 @@ export function HomePage() {
               <SecondaryFilters
                 categories={categories}
                 currentFilters={secondaryFilters} 
+                facets={facets}
                 onFilterChange={handleSecondaryFilterChange}
               />
             )}
@@ -167,7 +216,13 @@ export function HomePage() {
 
           {isMapViewActive && !loading && (
             <div className="results-map">
-              <EventMap events={filteredEvents} center={mapCenter} hoveredEventId={hoveredEventId} />
+              <EventMap
+                events={mapEvents ?? filteredEvents}
+                clusters={mapClusters}
+                center={mapCenter}
+                hoveredEventId={hoveredEventId}
+                onBoundsChange={handleBoundsChange}
+              />
             </div>
           )}
         </div>
@@ -62,6 +62,6 @@ describe('HomePage Component', () => {
     renderHomePage('/?city=NewYork');
     expect(await screen.findByText(/searched event alpha/i)).toBeInTheDocument();
     expect(eventService.getEventsByCity).toHaveBeenCalledTimes(1);
-    expect(eventService.getEventsByCity).toHaveBeenCalledWith('NewYork');
+    expect(eventService.getEventsByCity).toHaveBeenCalledWith('NewYork', { categories: [], minPrice: '', maxPrice: '' });
   });
 });
\ No newline at end of file
@@ -21,7 +21,9 @@ export function EventEditorPage() {
     address: '',
     categoryId: '',
     cityId: '',
-    eventImageUrl: null
+    eventImageUrl: null,
+    flashSale: false,
+    inventoryStrategy: ''
   });
 
   const [ticketTypes, setTicketTypes] = useState([
@@ -62,7 +64,9 @@ export function EventEditorPage() {
           address: event.address,
           categoryId: event.category.id,
           cityId: event.city.id,
-          eventImageUrl: event.eventImageUrl
+          eventImageUrl: event.eventImageUrl,
+          flashSale: Boolean(event.flashSale),
+          inventoryStrategy: event.inventoryStrategy || ''
         });
 
         if (event.ticketTypes && event.ticketTypes.length > 0) {
@@ -70,7 +74,8 @@ export function EventEditorPage() {
                 id: tt.id,
                 name: tt.name,
                 price: tt.price,
-                totalAvailable: tt.totalAvailable
+                totalAvailable: tt.totalAvailable,
+                bucketCount: tt.bucketCount || 1
             })));
         } else {
             setTicketTypes([{ id: null, name: '', price: '', totalAvailable: '' }]);
@@ -131,10 +136,12 @@ export function EventEditorPage() {
 
     const eventPayload = {
         ...eventData,
+        inventoryStrategy: eventData.inventoryStrategy || null,
         ticketTypes: ticketTypes.map(tt => ({
             ...tt,
             price: parseFloat(tt.price),
-            totalAvailable: parseInt(tt.totalAvailable, 10)
+            totalAvailable: parseInt(tt.totalAvailable, 10),
+            bucketCount: parseInt(tt.bucketCount, 10) || 1
         }))
     };
     
@@ -223,6 +230,26 @@ export function EventEditorPage() {
                   {cities.map(city => <option key={city.id} value={city.id}>{city.name}</option>)}
                 </select>
               </div>
+              <div className="form-group full-width">
+                <label htmlFor="flashSale">
+                  <input
+                    type="checkbox"
+                    id="flashSale"
+                    name="flashSale"
+                    checked={eventData.flashSale}
+                    onChange={(e) => setEventData(prev => ({ ...prev, flashSale: e.target.checked }))}
+                  />
+                  {' '}Flash sale (expecting a rush of buyers the moment tickets go on sale)
+                </label>
+              </div>
+              <div className="form-group">
+                <label htmlFor="inventoryStrategy">Seat Locking</label>
+                <select id="inventoryStrategy" name="inventoryStrategy" value={eventData.inventoryStrategy} onChange={handleEventChange}>
+                  <option value="">Platform default</option>
+                  <option value="PESSIMISTIC">Lock seats while booking (busy events)</option>
+                  <option value="OPTIMISTIC">Check for conflicts on commit (quiet events)</option>
+                </select>
+              </div>
             </div>
           </div>
 
@@ -242,6 +269,10 @@ export function EventEditorPage() {
                   <label>Quantity</label>
                   <input type="number" name="totalAvailable" value={ticket.totalAvailable} onChange={(e) => handleTicketTypeChange(index, e)} required min="1" />
                 </div>
+                <div className="form-group">
+                  <label>Inventory Buckets</label>
+                  <input type="number" name="bucketCount" value={ticket.bucketCount || 1} onChange={(e) => handleTicketTypeChange(index, e)} min="1" max="64" />
+                </div>
                 <button 
                   type="button" 
                   onClick={() => removeTicketType(index)} 
@@ -1,9 +1,35 @@
 
 import api from '../api/api';
-export const createBooking = (ticketTypeId, quantity) => {
-  return api.post('/bookings', { ticketTypeId, quantity });
+// Reuse the same key when retrying so the server books the tickets only once.
+export const createBooking = (ticketTypeId, quantity, idempotencyKey = crypto.randomUUID()) => {
+  return api.post('/bookings', { ticketTypeId, quantity }, { headers: { 'Idempotency-Key': idempotencyKey } });
 };
 
 export const getMyBookings = (page = 0, size = 10) => {
   return api.get(`/bookings/my-bookings?page=${page}&size=${size}`);
-};
\ No newline at end of file
+};
+
+export const enqueueBooking = (ticketTypeId, quantity) => {
+  return api.post('/bookings/queue', { ticketTypeId, quantity });
+};
+
+export const getQueuedBooking = (token) => {
+  return api.get(`/bookings/queue/${token}`);
+};
+
+export const createHold = (ticketTypeId, quantity) => {
+  return api.post('/bookings/holds', { ticketTypeId, quantity });
+};
+
+export const confirmHold = (holdId) => {
+  return api.post(`/bookings/holds/${holdId}/confirm`);
+};
+
+export const releaseHold = (holdId) => {
+  return api.delete(`/bookings/holds/${holdId}`);
+};
+
+// items: [{ ticketTypeId, quantity }, ...] booked together or not at all.
+export const checkout = (items) => {
+  return api.post('/bookings/checkout', { items });
+};
@@ -5,10 +5,54 @@ export const getInitialEvents = () => {
   return api.get('/events?page=0&size=9&sort=eventDateTime');
 };
 
-export const getEventsByCity = (cityName) => {
-  return api.get(`/events?page=0&size=100&sort=eventDateTime&cityName=${cityName}`);
+// Category and price filters are applied by the server; categories go out as repeated categoryName params.
+export const getEventsByCity = (cityName, { categories = [], minPrice, maxPrice } = {}) => {
+  return api.get('/events', {
+    params: {
+      page: 0,
+      size: 100,
+      sort: 'eventDateTime',
+      cityName,
+      categoryName: categories,
+      minPrice: minPrice || undefined,
+      maxPrice: maxPrice || undefined,
+      // Counts per category, city and price bucket for the filters, returned next to the page as `facets`.
+      facets: true,
+    },
+    paramsSerializer: { indexes: null },
+  });
 };
 
+// Everything the map viewport shows, as a count-free slice; the box is { north, south, east, west } in degrees.
+export const getEventsInArea = (bounds, { categories = [], minPrice, maxPrice } = {}) => {
+  return api.get('/events', {
+    params: {
+      page: 0,
+      size: 200,
+      sort: 'eventDateTime',
+      slice: true,
+      ...bounds,
+      categoryName: categories,
+      minPrice: minPrice || undefined,
+      maxPrice: maxPrice || undefined,
+    },
+    paramsSerializer: { indexes: null },
+  });
+};
+
+// Unfiltered markers already grouped by the server for this zoom level.
+export const getEventClusters = ({ zoom, ...bounds }) => {
+  return api.get('/events/clusters', {
+    params: { ...bounds, zoom },
+  });
+};
+
+// Typeahead for the search bar: { events, cities, categories }, each a list of { id, name }.
+export const getSearchSuggestions = (query, limit = 5) => {
+  return api.get('/search/suggest', {
+    params: { q: query, limit },
+  });
+};
 
 export const getAllCategories = () => {
   return api.get('/categories');
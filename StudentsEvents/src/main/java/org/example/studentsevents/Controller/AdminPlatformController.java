@@ -3,8 +3,11 @@ package org.example.studentsevents.Controller;
 import lombok.RequiredArgsConstructor;
 import org.example.studentsevents.DTOResponse.AdminApplicationResponse;
 import org.example.studentsevents.DTOResponse.AdminEventResponse;
+import org.example.studentsevents.DTOResponse.ArchivedEventResponse;
+import org.example.studentsevents.DTOResponse.CursorPage;
 import org.example.studentsevents.DTOResponse.UserResponse;
 import org.example.studentsevents.Service.ApplicationService;
+import org.example.studentsevents.Service.EventArchiveService;
 import org.example.studentsevents.Service.EventService;
 import org.example.studentsevents.Service.UserService;
 import org.springframework.data.domain.Page;
@@ -23,6 +26,7 @@ public class AdminPlatformController {
 
     private final ApplicationService applicationService;
     private final EventService eventService;
+    private final EventArchiveService eventArchiveService;
     private final UserService userService;
 
     @GetMapping("/organizer-applications")
@@ -47,6 +51,17 @@ public class AdminPlatformController {
         return ResponseEntity.ok(eventService.getAllEventsForAdmin(pageable));
     }
 
+    @GetMapping("/events/scroll")
+    public ResponseEntity<CursorPage<AdminEventResponse>> scrollEvents(@RequestParam(required = false) String cursor,
+                                                                       @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(eventService.scrollEventsForAdmin(cursor, size));
+    }
+
+    @GetMapping("/events/archive")
+    public ResponseEntity<Page<ArchivedEventResponse>> getArchivedEvents(Pageable pageable) {
+        return ResponseEntity.ok(eventArchiveService.getArchivedEventsForAdmin(pageable));
+    }
+
     @GetMapping("/users")
     public ResponseEntity<List<UserResponse>> getAllUsers() {
         return ResponseEntity.ok(userService.getAllUsers());
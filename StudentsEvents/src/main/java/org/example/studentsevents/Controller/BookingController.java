@@ -3,10 +3,19 @@ package org.example.studentsevents.Controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.DTORequest.CheckoutRequest;
+import org.example.studentsevents.DTOResponse.BookingQueueResponse;
 import org.example.studentsevents.DTOResponse.BookingResponse;
+import org.example.studentsevents.DTOResponse.TicketHoldResponse;
+import org.example.studentsevents.Service.BookingCoalescer;
+import org.example.studentsevents.Service.BookingQueueService;
 import org.example.studentsevents.Service.BookingService;
+import org.example.studentsevents.Service.IdempotencyService;
+import org.example.studentsevents.Service.InventoryRetryService;
+import org.example.studentsevents.Service.TicketHoldService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,18 +28,74 @@ import org.springframework.web.bind.annotation.*;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingCoalescer bookingCoalescer;
+    private final BookingQueueService bookingQueueService;
+    private final TicketHoldService ticketHoldService;
+    private final IdempotencyService idempotencyService;
+    private final InventoryRetryService inventoryRetryService;
 
     @PostMapping
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<BookingResponse> createBooking(@Valid @RequestBody BookingRequest bookingRequest) {
-        bookingService.createBooking(bookingRequest);
+    public ResponseEntity<BookingResponse> createBooking(
+            @Valid @RequestBody BookingRequest bookingRequest,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            bookingCoalescer.createBooking(bookingRequest);
+        } else {
+            idempotencyService.createBooking(idempotencyKey, bookingRequest);
+        }
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @PostMapping("/checkout")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<Void> checkout(@Valid @RequestBody CheckoutRequest checkoutRequest) {
+        inventoryRetryService.run("checkout", () -> bookingService.checkout(checkoutRequest));
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    @PostMapping("/queue")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BookingQueueResponse> enqueueBooking(@Valid @RequestBody BookingRequest bookingRequest) {
+        BookingQueueResponse queued = bookingQueueService.enqueue(bookingRequest);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(queued);
+    }
+
+    @GetMapping("/queue/{token}")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BookingQueueResponse> getQueuedBooking(@PathVariable String token) {
+        return ResponseEntity.ok(bookingQueueService.getStatus(token));
+    }
+
+    @PostMapping("/holds")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TicketHoldResponse> createHold(@Valid @RequestBody BookingRequest bookingRequest) {
+        TicketHoldResponse hold = inventoryRetryService.call("hold", () -> ticketHoldService.createHold(bookingRequest));
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<Void> confirmHold(@PathVariable Long holdId) {
+        ticketHoldService.confirmHold(holdId);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<Void> releaseHold(@PathVariable Long holdId) {
+        ticketHoldService.releaseHold(holdId);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/my-bookings")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<Page<BookingResponse>> getMyBookings(
-            @PageableDefault(size = 10, sort = "bookingDateTime") Pageable pageable) {
+    public ResponseEntity<Slice<BookingResponse>> getMyBookings(
+            @PageableDefault(size = 10, sort = "bookingDateTime") Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean slice) {
+        if (slice) {
+            return ResponseEntity.ok(bookingService.getMyBookingSlice(pageable));
+        }
         Page<BookingResponse> bookings = bookingService.getMyBookings(pageable);
         return ResponseEntity.ok(bookings);
     }
@@ -1,32 +1,76 @@
 package org.example.studentsevents.Controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.studentsevents.DTORequest.EventSearchRequest;
+import org.example.studentsevents.DTOResponse.CursorPage;
+import org.example.studentsevents.DTOResponse.EventClusterResponse;
+import org.example.studentsevents.DTOResponse.EventCountResponse;
 import org.example.studentsevents.DTOResponse.EventResponse;
+import org.example.studentsevents.DTOResponse.FacetedPage;
+import org.example.studentsevents.DTOResponse.FacetedSlice;
+import org.example.studentsevents.Service.EventClusterService;
+import org.example.studentsevents.Service.EventCountCache;
+import org.example.studentsevents.Service.EventFacetService;
 import org.example.studentsevents.Service.EventService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/events")
 @RequiredArgsConstructor
 public class EventController {
 
     private final EventService eventService;
+    private final EventCountCache eventCountCache;
+    private final EventClusterService eventClusterService;
+    private final EventFacetService eventFacetService;
 
+    // With slice=true the response has no totals and costs no count query; ask /count for the total when it is shown.
+    // With facets=true it also carries the number of events per category, city and price bucket.
     @GetMapping
-    public ResponseEntity<Page<EventResponse>> searchEvents(
-            @RequestParam(required = false) String eventName,
-            @RequestParam(required = false) String categoryName,
-            @RequestParam(required = false) String cityName,
-            @PageableDefault(size = 9, sort = "eventDateTime") Pageable pageable) {
-
-        Page<EventResponse> eventPage = eventService.searchPublicEvents(
-                eventName, categoryName, cityName, pageable
-        );
-        return ResponseEntity.ok(eventPage);
+    public ResponseEntity<Slice<EventResponse>> searchEvents(
+            EventSearchRequest search,
+            @PageableDefault(size = 9, sort = "eventDateTime") Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean slice,
+            @RequestParam(defaultValue = "false") boolean facets) {
+
+        if (slice) {
+            Slice<EventResponse> eventSlice = eventService.slicePublicEvents(search, pageable);
+            return ResponseEntity.ok(facets ? new FacetedSlice<>(eventSlice, eventFacetService.facets(search)) : eventSlice);
+        }
+        Page<EventResponse> eventPage = eventService.searchPublicEvents(search, pageable);
+        return ResponseEntity.ok(facets ? new FacetedPage<>(eventPage, eventFacetService.facets(search)) : eventPage);
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<EventCountResponse> countEvents(EventSearchRequest search) {
+        return ResponseEntity.ok(eventCountCache.count(search));
+    }
+
+    // Map markers for a viewport, already clustered for the zoom level of the map.
+    @GetMapping("/clusters")
+    public ResponseEntity<List<EventClusterResponse>> getEventClusters(
+            @RequestParam double south, @RequestParam double west,
+            @RequestParam double north, @RequestParam double east,
+            @RequestParam int zoom) {
+
+        return ResponseEntity.ok(eventClusterService.clusters(south, west, north, east, zoom));
+    }
+
+    // Cursor mode for infinite scrolling: ordered by date, and each response carries the token for the next batch.
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<EventResponse>> scrollEvents(
+            EventSearchRequest search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "9") int size) {
+
+        return ResponseEntity.ok(eventService.scrollPublicEvents(search, cursor, size));
     }
 
     @GetMapping("/{id}")
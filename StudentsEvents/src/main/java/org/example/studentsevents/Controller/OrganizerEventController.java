@@ -4,10 +4,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.studentsevents.DTORequest.EventRequest;
 import org.example.studentsevents.DTORequest.TicketTypeRequest;
+import org.example.studentsevents.DTOResponse.ArchivedBookingResponse;
+import org.example.studentsevents.DTOResponse.ArchivedEventResponse;
 import org.example.studentsevents.DTOResponse.OrganizerBookingResponse;
 import org.example.studentsevents.DTOResponse.OrganizerEventResponse;
 import org.example.studentsevents.DTOResponse.OrganizerTicketTypeResponse;
 import org.example.studentsevents.Repository.UserRepository;
+import org.example.studentsevents.Service.EventArchiveService;
 import org.example.studentsevents.Service.EventService;
 import org.example.studentsevents.model.User;
 import org.springframework.data.domain.Page;
@@ -26,6 +29,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class OrganizerEventController {
 
     private final EventService eventService;
+    private final EventArchiveService eventArchiveService;
     private final UserRepository userRepository;
 
     @PostMapping
@@ -43,6 +47,17 @@ public class OrganizerEventController {
         return ResponseEntity.ok(events);
     }
 
+    // Past events moved out by the archiver; they no longer appear under my-events.
+    @GetMapping("/archive")
+    public ResponseEntity<Page<ArchivedEventResponse>> getMyArchivedEvents(Pageable pageable) {
+        return ResponseEntity.ok(eventArchiveService.getArchivedEventsForOrganizer(getCurrentUser(), pageable));
+    }
+
+    @GetMapping("/archive/{eventId}/bookings")
+    public ResponseEntity<Page<ArchivedBookingResponse>> getArchivedEventBookings(@PathVariable Long eventId, Pageable pageable) {
+        return ResponseEntity.ok(eventArchiveService.getArchivedBookingsForEvent(eventId, pageable));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrganizerEventResponse> getEventById(@PathVariable Long id) {
         OrganizerEventResponse event = eventService.getEventForOrganizerById(id);
@@ -0,0 +1,25 @@
+package org.example.studentsevents.Controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.studentsevents.DTOResponse.SearchSuggestionsResponse;
+import org.example.studentsevents.Service.SearchSuggestionIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchSuggestionIndex searchSuggestionIndex;
+
+    // Typeahead for the search bar; served from memory, so it is cheap enough to call on every keystroke.
+    @GetMapping("/suggest")
+    public ResponseEntity<SearchSuggestionsResponse> suggest(@RequestParam(defaultValue = "") String q,
+                                                             @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(searchSuggestionIndex.suggest(q, limit));
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.studentsevents.DTORequest;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CheckoutRequest {
+
+    @NotEmpty(message = "Your cart is empty.")
+    @Size(max = 20, message = "A cart can contain at most 20 items.")
+    private List<@Valid BookingRequest> items = new ArrayList<>();
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.example.studentsevents.model.InventoryStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -38,4 +39,7 @@ public class EventRequest {
 
     @NotEmpty(message = "Event must have at least one ticket type")
     private List<@Valid TicketTypeRequest> ticketTypes;
+
+    private boolean flashSale;
+    private InventoryStrategy inventoryStrategy;
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package org.example.studentsevents.DTORequest;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Query parameters of GET /api/events. Every filter is optional and the ones given are combined.
+@Getter
+@Setter
+@NoArgsConstructor
+public class EventSearchRequest {
+
+    // Free text, matched word by word as prefixes against the name, description, category and city, best match first.
+    private String query;
+
+    // Matched case-insensitively against the start of the event name.
+    private String eventName;
+
+    // Repeatable; an event in any of the given categories matches.
+    private List<String> categoryName = new ArrayList<>();
+
+    private String cityName;
+
+    // Both ends are inclusive days. Events that have already started are never listed, whatever dateFrom says.
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateTo;
+
+    // An event matches when its ticket prices reach into the range: the cheapest is at most maxPrice and the dearest
+    // at least minPrice.
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    // Map area, in degrees: either a bounding box, or a centre with a radius in kilometres. The circle wins when both
+    // are complete; an incomplete one is ignored.
+    private Double south;
+
+    private Double west;
+
+    private Double north;
+
+    private Double east;
+
+    private Double lat;
+
+    private Double lng;
+
+    private Double radiusKm;
+
+    // Lower bound every public search applies: the start of dateFrom, but never earlier than now.
+    public LocalDateTime earliestStart() {
+        LocalDateTime now = LocalDateTime.now();
+        if (dateFrom == null || dateFrom.atStartOfDay().isBefore(now)) {
+            return now;
+        }
+        return dateFrom.atStartOfDay();
+    }
+}
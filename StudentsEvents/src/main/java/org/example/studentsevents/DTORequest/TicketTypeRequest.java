@@ -1,6 +1,7 @@
 package org.example.studentsevents.DTORequest;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -25,4 +26,8 @@ public class TicketTypeRequest {
     @NotNull(message = "Quantity cannot be null.")
     @Min(value = 1, message = "Total available tickets must be at least 1.")
     private Integer totalAvailable;
+
+    @Min(value = 1, message = "A ticket type needs at least 1 inventory bucket.")
+    @Max(value = 64, message = "A ticket type can be split into at most 64 inventory buckets.")
+    private int bucketCount = 1;
 }
@@ -2,6 +2,7 @@ package org.example.studentsevents.DTOResponse;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.example.studentsevents.model.InventoryStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,4 +21,6 @@ public class AdminEventResponse {
     private String eventImageUrl;
     private Double latitude;
     private Double longitude;
+    private boolean flashSale;
+    private InventoryStrategy inventoryStrategy;
 }
\ No newline at end of file
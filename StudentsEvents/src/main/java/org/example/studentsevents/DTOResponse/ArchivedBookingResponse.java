@@ -0,0 +1,22 @@
+package org.example.studentsevents.DTOResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedBookingResponse {
+    private Long id;
+    private LocalDateTime bookingDateTime;
+    private String ticketTypeName;
+    private BigDecimal price;
+    // Null once the user has been deleted.
+    private UserSummaryResponse user;
+}
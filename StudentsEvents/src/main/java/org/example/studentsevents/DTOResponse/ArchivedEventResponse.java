@@ -0,0 +1,29 @@
+package org.example.studentsevents.DTOResponse;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedEventResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private LocalDateTime eventDateTime;
+    private String address;
+    private String externalLink;
+    private String eventImageUrl;
+    private String categoryName;
+    private String cityName;
+    private Double latitude;
+    private Double longitude;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private LocalDateTime archivedAt;
+    private long bookingCount;
+}
@@ -0,0 +1,18 @@
+package org.example.studentsevents.DTOResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.studentsevents.model.BookingQueueStatus;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingQueueResponse {
+    private String token;
+    private BookingQueueStatus status;
+    private long position;
+    private String message;
+}
@@ -0,0 +1,23 @@
+package org.example.studentsevents.DTOResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// One marker of the clustered map: the centroid of its events and the box around them. eventId is set only when the
+// cluster is a single event.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventClusterResponse {
+    private long count;
+    private double latitude;
+    private double longitude;
+    private double south;
+    private double west;
+    private double north;
+    private double east;
+    private Long eventId;
+}
@@ -0,0 +1,17 @@
+package org.example.studentsevents.DTOResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCountResponse {
+    private long total;
+    private LocalDateTime countedAt;
+}
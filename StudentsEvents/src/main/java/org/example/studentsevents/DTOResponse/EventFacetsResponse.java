@@ -0,0 +1,19 @@
+package org.example.studentsevents.DTOResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// How many events each filter option would return, given the other filters of the search.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventFacetsResponse {
+    private List<FacetCountResponse> categories;
+    private List<FacetCountResponse> cities;
+    private List<PriceBucketResponse> prices;
+}
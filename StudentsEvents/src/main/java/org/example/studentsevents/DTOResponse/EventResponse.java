@@ -22,4 +22,6 @@ public class EventResponse {
     private String eventImageUrl;
     private Double latitude;
     private Double longitude;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
 }
\ No newline at end of file
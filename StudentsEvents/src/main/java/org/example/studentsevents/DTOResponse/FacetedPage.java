@@ -0,0 +1,16 @@
+package org.example.studentsevents.DTOResponse;
+
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+// A page of search results serialized with an extra "facets" property.
+@Getter
+public class FacetedPage<T> extends PageImpl<T> {
+    private final EventFacetsResponse facets;
+
+    public FacetedPage(Page<T> page, EventFacetsResponse facets) {
+        super(page.getContent(), page.getPageable(), page.getTotalElements());
+        this.facets = facets;
+    }
+}
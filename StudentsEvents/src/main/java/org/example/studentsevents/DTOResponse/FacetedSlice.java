@@ -0,0 +1,16 @@
+package org.example.studentsevents.DTOResponse;
+
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+// FacetedPage for slice=true listings.
+@Getter
+public class FacetedSlice<T> extends SliceImpl<T> {
+    private final EventFacetsResponse facets;
+
+    public FacetedSlice(Slice<T> slice, EventFacetsResponse facets) {
+        super(slice.getContent(), slice.getPageable(), slice.hasNext());
+        this.facets = facets;
+    }
+}
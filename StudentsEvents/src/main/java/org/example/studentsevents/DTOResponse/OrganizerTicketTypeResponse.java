@@ -14,4 +14,5 @@ public class OrganizerTicketTypeResponse {
     private BigDecimal price;
     private Integer totalAvailable;
     private long ticketsSold;
+    private int bucketCount;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package org.example.studentsevents.DTOResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+// Both ends are inclusive and can be passed back as minPrice and maxPrice; max is null for the open-ended bucket.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceBucketResponse {
+    private BigDecimal min;
+    private BigDecimal max;
+    private long count;
+}
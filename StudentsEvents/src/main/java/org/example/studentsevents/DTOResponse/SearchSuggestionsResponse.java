@@ -0,0 +1,19 @@
+package org.example.studentsevents.DTOResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// Each list is ranked on its own: events by tickets sold, cities and categories by their number of upcoming events.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSuggestionsResponse {
+    private List<SuggestionResponse> events;
+    private List<SuggestionResponse> cities;
+    private List<SuggestionResponse> categories;
+}
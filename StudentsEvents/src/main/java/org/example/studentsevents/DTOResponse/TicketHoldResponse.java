@@ -0,0 +1,19 @@
+package org.example.studentsevents.DTOResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketHoldResponse {
+    private Long id;
+    private Long ticketTypeId;
+    private int quantity;
+    private LocalDateTime expiresAt;
+}
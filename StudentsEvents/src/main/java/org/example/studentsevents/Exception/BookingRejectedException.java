@@ -0,0 +1,10 @@
+package org.example.studentsevents.Exception;
+
+// A booking turned down for good, such as sold out or an invalid quantity; sending the same request again gets the
+// same answer, unlike a timeout or an interrupted retry.
+public class BookingRejectedException extends IllegalStateException {
+
+    public BookingRejectedException(String message) {
+        super(message);
+    }
+}
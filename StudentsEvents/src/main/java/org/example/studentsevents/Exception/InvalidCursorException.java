@@ -0,0 +1,9 @@
+package org.example.studentsevents.Exception;
+
+// A continuation token that was not issued by the server, or was altered on the way back.
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
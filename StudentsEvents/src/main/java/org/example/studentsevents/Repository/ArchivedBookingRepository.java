@@ -0,0 +1,24 @@
+package org.example.studentsevents.Repository;
+
+import org.example.studentsevents.model.ArchivedBooking;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    Page<ArchivedBooking> findByEventId(Long eventId, Pageable pageable);
+
+    Optional<ArchivedBooking> findByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT b.eventId, COUNT(b) FROM ArchivedBooking b WHERE b.eventId IN :eventIds GROUP BY b.eventId")
+    List<Object[]> countByEventIds(@Param("eventIds") Collection<Long> eventIds);
+}
@@ -0,0 +1,13 @@
+package org.example.studentsevents.Repository;
+
+import org.example.studentsevents.model.ArchivedEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long> {
+
+    Page<ArchivedEvent> findByOrganizerId(Long organizerId, Pageable pageable);
+}
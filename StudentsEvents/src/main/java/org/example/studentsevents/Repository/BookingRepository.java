@@ -6,11 +6,13 @@ import org.example.studentsevents.model.TicketType;
 import org.example.studentsevents.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,8 +23,18 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     boolean existsByUserAndTicketType(User user, TicketType ticketType);
 
     Page<Booking> findByUser(User user, Pageable pageable);
+    // The organizer's list of an event's bookings shows the buyer and the ticket type of each.
+    @EntityGraph(attributePaths = {"user", "ticketType"})
     Page<Booking> findByTicketType_Event_Id(Long eventId, Pageable pageable);
+    @EntityGraph(attributePaths = "ticketType.event")
     Optional<Booking> findByIdAndUser(Long bookingId, User user);
-    @Query("SELECT b FROM Booking b JOIN FETCH b.ticketType tt JOIN FETCH tt.event WHERE b.user = :user")
-    Page<Booking> findBookingsForUserWithDetails(@Param("user") User user, Pageable pageable);
+    // One page of a user's booking history, picked by UserBookingHistory.
+    @Query("SELECT b FROM Booking b JOIN FETCH b.ticketType tt JOIN FETCH tt.event WHERE b.id IN :ids")
+    List<Booking> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b.ticketType.id, COUNT(b) FROM Booking b WHERE b.user.id = :userId GROUP BY b.ticketType.id")
+    List<Object[]> countByTicketTypeForUser(@Param("userId") Long userId);
+
+    @Query("SELECT b.ticketType.id, COUNT(b) FROM Booking b WHERE b.ticketType.id IN :ticketTypeIds GROUP BY b.ticketType.id")
+    List<Object[]> countByTicketTypeIds(@Param("ticketTypeIds") Collection<Long> ticketTypeIds);
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package org.example.studentsevents.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves events and their bookings into events_archive and bookings_archive with set-based statements, so a batch
+ * costs the same handful of statements however many rows it holds. Ticket types, holds and inventory buckets of the
+ * events are deleted; the archived bookings keep the name and price of their ticket type. Call it inside a
+ * transaction, so that a batch is either copied and deleted as a whole or not at all.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventArchiveWriter {
+
+    private static final String TICKET_TYPES = "(SELECT t.id FROM ticket_types t WHERE t.event_id IN (:eventIds))";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void archive(List<Long> eventIds, LocalDateTime archivedAt) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("eventIds", eventIds)
+                .addValue("archivedAt", archivedAt);
+        jdbcTemplate.update("INSERT INTO events_archive (id, name, description, event_date_time, address, external_link,"
+                + " event_image_url, organizer_id, category_id, category_name, city_id, city_name, latitude, longitude,"
+                + " min_price, max_price, archived_at)"
+                + " SELECT e.id, e.name, e.description, e.event_date_time, e.address, e.external_link,"
+                + " e.event_image_url, e.organizer_id, e.category_id, c.name, e.city_id, ci.name, e.latitude, e.longitude,"
+                + " e.min_price, e.max_price, :archivedAt"
+                + " FROM events e LEFT JOIN categories c ON c.id = e.category_id LEFT JOIN cities ci ON ci.id = e.city_id"
+                + " WHERE e.id IN (:eventIds)", params);
+        jdbcTemplate.update("INSERT INTO bookings_archive (id, booking_date_time, user_id, event_id, ticket_type_id,"
+                + " ticket_type_name, price, archived_at)"
+                + " SELECT b.id, b.booking_date_time, b.user_id, t.event_id, t.id, t.name, t.price, :archivedAt"
+                + " FROM bookings b JOIN ticket_types t ON t.id = b.ticket_type_id"
+                + " WHERE t.event_id IN (:eventIds)", params);
+        jdbcTemplate.update("DELETE FROM bookings WHERE ticket_type_id IN " + TICKET_TYPES, params);
+        jdbcTemplate.update("DELETE FROM ticket_holds WHERE ticket_type_id IN " + TICKET_TYPES, params);
+        jdbcTemplate.update("DELETE FROM ticket_inventory_buckets WHERE ticket_type_id IN " + TICKET_TYPES, params);
+        jdbcTemplate.update("DELETE FROM ticket_types WHERE event_id IN (:eventIds)", params);
+        jdbcTemplate.update("DELETE FROM events WHERE id IN (:eventIds)", params);
+    }
+}
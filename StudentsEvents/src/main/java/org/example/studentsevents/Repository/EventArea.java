@@ -0,0 +1,66 @@
+package org.example.studentsevents.Repository;
+
+import org.example.studentsevents.DTORequest.EventSearchRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The part of the map a search is limited to: either the bounding box of the request, or the circle given by its
+ * centre and radius. A circle is searched through its bounding box and then filtered by distance, measured on a flat
+ * projection around the centre, which is plenty for city-sized radii. A circle is cut off at the poles and at the
+ * antimeridian. A box whose west edge is east of its east edge does cross the antimeridian, as map viewports can.
+ */
+public record EventArea(double south, double west, double north, double east,
+                        Double centerLatitude, Double centerLongitude, Double radiusKm) {
+
+    public static final double KM_PER_DEGREE = 111.195;
+
+    public record Box(double south, double west, double north, double east) {
+    }
+
+    public static Optional<EventArea> of(EventSearchRequest search) {
+        if (search.getLat() != null && search.getLng() != null && search.getRadiusKm() != null) {
+            return Optional.of(circle(search.getLat(), search.getLng(), Math.max(0, search.getRadiusKm())));
+        }
+        if (search.getSouth() != null && search.getWest() != null && search.getNorth() != null && search.getEast() != null) {
+            return Optional.of(new EventArea(Math.min(search.getSouth(), search.getNorth()), search.getWest(),
+                    Math.max(search.getSouth(), search.getNorth()), search.getEast(), null, null, null));
+        }
+        return Optional.empty();
+    }
+
+    private static EventArea circle(double latitude, double longitude, double radiusKm) {
+        double latitudeSpan = radiusKm / KM_PER_DEGREE;
+        double south = Math.max(-90, latitude - latitudeSpan);
+        double north = Math.min(90, latitude + latitudeSpan);
+        double longitudeSpan = latitudeSpan / Math.cos(Math.toRadians(latitude));
+        double west = -180;
+        double east = 180;
+        if (south > -90 && north < 90 && longitudeSpan < 180) {
+            west = Math.max(-180, longitude - longitudeSpan);
+            east = Math.min(180, longitude + longitudeSpan);
+        }
+        return new EventArea(south, west, north, east, latitude, longitude, radiusKm);
+    }
+
+    public boolean isCircle() {
+        return radiusKm != null;
+    }
+
+    public List<Box> boxes() {
+        if (west <= east) {
+            return List.of(new Box(south, west, north, east));
+        }
+        return List.of(new Box(south, west, north, 180), new Box(south, -180, north, east));
+    }
+
+    // How far one degree of longitude is, relative to one of latitude, at the centre of the circle.
+    public double longitudeScale() {
+        return Math.cos(Math.toRadians(centerLatitude));
+    }
+
+    public double radiusDegrees() {
+        return radiusKm / KM_PER_DEGREE;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.studentsevents.Repository;
+
+import org.example.studentsevents.Exception.InvalidCursorException;
+import org.example.studentsevents.model.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last event a client has seen in a listing ordered by {@code (eventDateTime, id)}. Clients only get
+ * it as an opaque token from {@link #encode()} and hand it back unchanged to ask for the events after it.
+ */
+public record EventCursor(LocalDateTime eventDateTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static EventCursor of(Event event) {
+        return new EventCursor(event.getEventDateTime(), event.getId());
+    }
+
+    public String encode() {
+        String position = eventDateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(SEPARATOR);
+            return new EventCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.valueOf(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.studentsevents.Repository;
+
+import org.example.studentsevents.model.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface EventFacetRepository {
+
+    // The events matching the specification, grouped by category and city and counted per price range in one query.
+    List<EventFacetRow> findFacetRows(Specification<Event> specification, PriceRange searched, List<PriceRange> buckets);
+}
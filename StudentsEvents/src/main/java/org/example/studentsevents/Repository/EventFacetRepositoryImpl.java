@@ -0,0 +1,67 @@
+package org.example.studentsevents.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.example.studentsevents.model.Category;
+import org.example.studentsevents.model.City;
+import org.example.studentsevents.model.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class EventFacetRepositoryImpl implements EventFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EventFacetRow> findFacetRows(Specification<Event> specification, PriceRange searched,
+                                             List<PriceRange> buckets) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> root = query.from(Event.class);
+        Join<Event, Category> category = root.join("category", JoinType.LEFT);
+        Join<Event, City> city = root.join("city", JoinType.LEFT);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<Selection<?>> selections = new ArrayList<>(List.of(category.get("id"), category.get("name"),
+                city.get("id"), city.get("name"), countIn(root, cb, searched)));
+        for (PriceRange bucket : buckets) {
+            selections.add(countIn(root, cb, bucket));
+        }
+        query.multiselect(selections)
+                .groupBy(category.get("id"), category.get("name"), city.get("id"), city.get("name"));
+
+        List<EventFacetRow> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            List<Long> inBuckets = new ArrayList<>(buckets.size());
+            for (int i = 0; i < buckets.size(); i++) {
+                inBuckets.add(((Number) tuple.get(5 + i)).longValue());
+            }
+            rows.add(new EventFacetRow(tuple.get(0, Long.class), tuple.get(1, String.class), tuple.get(2, Long.class),
+                    tuple.get(3, String.class), ((Number) tuple.get(4)).longValue(), inBuckets));
+        }
+        return rows;
+    }
+
+    // SUM(CASE WHEN <in range> THEN 1 ELSE 0 END), or COUNT(*) for an open range.
+    private static Expression<? extends Number> countIn(Root<Event> root, CriteriaBuilder cb, PriceRange range) {
+        List<Predicate> inRange = EventSpecifications.reachingInto(root, cb, range);
+        if (inRange.isEmpty()) {
+            return cb.count(root);
+        }
+        return cb.sum(cb.<Long>selectCase().when(cb.and(inRange.toArray(Predicate[]::new)), 1L).otherwise(0L));
+    }
+}
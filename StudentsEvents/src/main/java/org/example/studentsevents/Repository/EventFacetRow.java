@@ -0,0 +1,9 @@
+package org.example.studentsevents.Repository;
+
+import java.util.List;
+
+// The matching events of one category and city: how many reach into the searched price range, and how many into each
+// price bucket, in bucket order. The facet counts are sums of these.
+public record EventFacetRow(Long categoryId, String categoryName, Long cityId, String cityName,
+                            long inPriceRange, List<Long> inBuckets) {
+}
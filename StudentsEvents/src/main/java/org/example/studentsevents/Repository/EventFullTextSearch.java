@@ -0,0 +1,216 @@
+package org.example.studentsevents.Repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.studentsevents.DTORequest.EventSearchRequest;
+import org.example.studentsevents.model.GeoHash;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over {@code events.search_vector} (see {@code EventSearchIndexInitializer}), ranked with
+ * {@code ts_rank} and matching every word of the query as a prefix. The other filters of the request are applied in
+ * the same statement, the same way {@link EventSpecifications} applies them.
+ * <p>
+ * Only PostgreSQL has the column; callers check {@link #appliesTo} and otherwise search through
+ * {@link EventSpecifications}, which falls back to substring matching.
+ */
+@Repository
+public class EventFullTextSearch {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean supported;
+
+    public EventFullTextSearch(NamedParameterJdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.supported = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    // Blank queries, or ones without a single word, are plain filtered listings.
+    public boolean appliesTo(EventSearchRequest search) {
+        return supported && !words(search.getQuery()).isEmpty();
+    }
+
+    // Ids of the requested page, best match first; the order of the pageable is not used.
+    public Page<Long> search(EventSearchRequest search, Pageable pageable) {
+        long total = count(search);
+        if (total == 0 || pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+        return new PageImpl<>(rankedIds(search, pageable.getOffset(), pageable.getPageSize()), pageable, total);
+    }
+
+    // The same ids without the count: one extra row tells whether there is a next slice.
+    public Slice<Long> slice(EventSearchRequest search, Pageable pageable) {
+        List<Long> ids = rankedIds(search, pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? ids.subList(0, pageable.getPageSize()) : ids, pageable, hasNext);
+    }
+
+    public long count(EventSearchRequest search) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tsquery", toPrefixQuery(search.getQuery()));
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events e, to_tsquery('simple', :tsquery) q"
+                + filters(search, params), params, Long.class);
+        return total == null ? 0 : total;
+    }
+
+    // EventFacetRepository.findFacetRows for a text query.
+    public List<EventFacetRow> facetRows(EventSearchRequest search, PriceRange searched, List<PriceRange> buckets) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tsquery", toPrefixQuery(search.getQuery()));
+        StringBuilder sql = new StringBuilder("SELECT e.category_id, c.name AS category_name, e.city_id, ci.name AS city_name, ")
+                .append(countIn(searched, "searched", params));
+        for (int i = 0; i < buckets.size(); i++) {
+            sql.append(", ").append(countIn(buckets.get(i), "bucket" + i, params));
+        }
+        sql.append(" FROM events e CROSS JOIN to_tsquery('simple', :tsquery) q")
+                .append(" LEFT JOIN categories c ON c.id = e.category_id LEFT JOIN cities ci ON ci.id = e.city_id")
+                .append(filters(search, params))
+                .append(" GROUP BY e.category_id, c.name, e.city_id, ci.name");
+        return jdbcTemplate.query(sql.toString(), params, (row, rowNum) -> {
+            List<Long> inBuckets = new ArrayList<>(buckets.size());
+            for (int i = 0; i < buckets.size(); i++) {
+                inBuckets.add(row.getLong(6 + i));
+            }
+            return new EventFacetRow(row.getObject("category_id", Long.class), row.getString("category_name"),
+                    row.getObject("city_id", Long.class), row.getString("city_name"), row.getLong(5), inBuckets);
+        });
+    }
+
+    private List<Long> rankedIds(EventSearchRequest search, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tsquery", toPrefixQuery(search.getQuery()));
+        String filters = filters(search, params);
+        params.addValue("limit", limit);
+        params.addValue("offset", offset);
+        return jdbcTemplate.queryForList("SELECT e.id FROM events e, to_tsquery('simple', :tsquery) q" + filters
+                + " ORDER BY ts_rank(e.search_vector, q) DESC, e.event_date_time, e.id LIMIT :limit OFFSET :offset",
+                params, Long.class);
+    }
+
+    // Ids of up to limit matches after the cursor, in (eventDateTime, id) order instead of by rank, so that a client
+    // can keep scrolling without the offset growing.
+    public List<Long> scroll(EventSearchRequest search, EventCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tsquery", toPrefixQuery(search.getQuery()));
+        StringBuilder sql = new StringBuilder("SELECT e.id FROM events e, to_tsquery('simple', :tsquery) q")
+                .append(filters(search, params));
+        if (after != null) {
+            sql.append(" AND (e.event_date_time, e.id) > (:afterDate, :afterId)");
+            params.addValue("afterDate", after.eventDateTime());
+            params.addValue("afterId", after.id());
+        }
+        params.addValue("limit", limit);
+        return jdbcTemplate.queryForList(sql.append(" ORDER BY e.event_date_time, e.id LIMIT :limit").toString(),
+                params, Long.class);
+    }
+
+    // Every word becomes a prefix term and all of them have to match: "jaz nig" finds "Jazz Night".
+    private static String toPrefixQuery(String text) {
+        return words(text).stream().map(word -> word + ":*").collect(Collectors.joining(" & "));
+    }
+
+    // Anything that is not a letter or digit only separates words, so user input never reaches the tsquery syntax.
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    private static String filters(EventSearchRequest search, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder(" WHERE e.search_vector @@ q");
+        if (hasText(search.getEventName())) {
+            where.append(" AND lower(e.name) LIKE :namePrefix ESCAPE '\\'");
+            params.addValue("namePrefix", EventSpecifications.namePrefixPattern(search.getEventName()));
+        }
+        List<String> categoryNames = EventSpecifications.categoryNames(search);
+        if (!categoryNames.isEmpty()) {
+            where.append(" AND e.category_id IN (SELECT c.id FROM categories c WHERE lower(c.name) IN (:categoryNames))");
+            params.addValue("categoryNames", categoryNames);
+        }
+        if (hasText(search.getCityName())) {
+            where.append(" AND e.city_id IN (SELECT ci.id FROM cities ci WHERE lower(ci.name) = :cityName)");
+            params.addValue("cityName", EventSpecifications.normalize(search.getCityName()));
+        }
+        where.append(" AND e.event_date_time >= :dateFrom");
+        params.addValue("dateFrom", search.earliestStart());
+        if (search.getDateTo() != null) {
+            where.append(" AND e.event_date_time < :dateTo");
+            params.addValue("dateTo", search.getDateTo().plusDays(1).atStartOfDay());
+        }
+        if (search.getMinPrice() != null) {
+            where.append(" AND e.max_price >= :minPrice");
+            params.addValue("minPrice", search.getMinPrice());
+        }
+        if (search.getMaxPrice() != null) {
+            where.append(" AND e.min_price <= :maxPrice");
+            params.addValue("maxPrice", search.getMaxPrice());
+        }
+        EventArea.of(search).ifPresent(area -> where.append(within(area, params)));
+        return where.toString();
+    }
+
+    // SUM(CASE WHEN <in range> THEN 1 ELSE 0 END), or COUNT(*) for an open range.
+    private static String countIn(PriceRange range, String name, MapSqlParameterSource params) {
+        List<String> inRange = new ArrayList<>(2);
+        if (range.min() != null) {
+            inRange.add("e.max_price >= :" + name + "Min");
+            params.addValue(name + "Min", range.min());
+        }
+        if (range.max() != null) {
+            inRange.add("e.min_price <= :" + name + "Max");
+            params.addValue(name + "Max", range.max());
+        }
+        return inRange.isEmpty() ? "COUNT(*)" : "SUM(CASE WHEN " + String.join(" AND ", inRange) + " THEN 1 ELSE 0 END)";
+    }
+
+    // Mirrors EventSpecifications: geohash prefixes for the index, then the coordinates for the exact area.
+    private static String within(EventArea area, MapSqlParameterSource params) {
+        List<String> boxes = new ArrayList<>();
+        for (EventArea.Box box : area.boxes()) {
+            List<String> cells = new ArrayList<>();
+            for (String cell : GeoHash.cover(box.south(), box.west(), box.north(), box.east())) {
+                String name = "geohash" + params.getParameterNames().length;
+                params.addValue(name, cell + "%");
+                cells.add("e.geohash LIKE :" + name);
+            }
+            String prefix = "box" + boxes.size();
+            params.addValue(prefix + "South", box.south());
+            params.addValue(prefix + "North", box.north());
+            params.addValue(prefix + "West", box.west());
+            params.addValue(prefix + "East", box.east());
+            boxes.add("((" + String.join(" OR ", cells) + ")"
+                    + " AND e.latitude BETWEEN :" + prefix + "South AND :" + prefix + "North"
+                    + " AND e.longitude BETWEEN :" + prefix + "West AND :" + prefix + "East)");
+        }
+        String sql = " AND (" + String.join(" OR ", boxes) + ")";
+        if (area.isCircle()) {
+            params.addValue("centerLatitude", area.centerLatitude());
+            params.addValue("centerLongitude", area.centerLongitude());
+            params.addValue("longitudeScale", area.longitudeScale());
+            params.addValue("radiusDegrees", area.radiusDegrees());
+            sql += " AND (e.latitude - :centerLatitude) * (e.latitude - :centerLatitude)"
+                    + " + ((e.longitude - :centerLongitude) * :longitudeScale) * ((e.longitude - :centerLongitude) * :longitudeScale)"
+                    + " <= :radiusDegrees * :radiusDegrees";
+        }
+        return sql;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
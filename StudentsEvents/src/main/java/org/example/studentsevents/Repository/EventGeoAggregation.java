@@ -0,0 +1,47 @@
+package org.example.studentsevents.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.studentsevents.model.GeoHash;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Groups upcoming events by geohash cell in the database, so that a map can be drawn from one row per cell instead of
+ * one per event. The tile is read through the geohash index as a single prefix range.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventGeoAggregation {
+
+    public record Cell(String geohash, long count, double latitude, double longitude,
+                       double south, double west, double north, double east, long lowestId,
+                       LocalDateTime nextStart) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Events starting at or after from; nextStart is when the first of them in the cell starts.
+    public List<Cell> cellsInTile(String tile, int precision, LocalDateTime from) {
+        if (precision < 1 || precision > GeoHash.PRECISION) {
+            throw new IllegalStateException("Geohash precision must be between 1 and " + GeoHash.PRECISION + ": " + precision);
+        }
+        // The precision is inlined: as a parameter it would appear twice, and PostgreSQL does not accept two separate
+        // parameters as the same GROUP BY expression.
+        String cell = "substring(e.geohash, 1, " + precision + ")";
+        return jdbcTemplate.query("SELECT " + cell + " AS cell, COUNT(*) AS events,"
+                        + " AVG(e.latitude) AS latitude, AVG(e.longitude) AS longitude,"
+                        + " MIN(e.latitude) AS south, MIN(e.longitude) AS west, MAX(e.latitude) AS north, MAX(e.longitude) AS east,"
+                        + " MIN(e.id) AS lowest_id, MIN(e.event_date_time) AS next_start"
+                        + " FROM events e WHERE e.geohash LIKE :tilePrefix AND e.event_date_time >= :from"
+                        + " GROUP BY " + cell,
+                new MapSqlParameterSource("tilePrefix", tile + "%").addValue("from", from),
+                (row, rowNum) -> new Cell(row.getString("cell"), row.getLong("events"),
+                        row.getDouble("latitude"), row.getDouble("longitude"),
+                        row.getDouble("south"), row.getDouble("west"), row.getDouble("north"), row.getDouble("east"),
+                        row.getLong("lowest_id"), row.getTimestamp("next_start").toLocalDateTime()));
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.studentsevents.Repository;
+
+import java.time.LocalDateTime;
+
+// Where and when an event takes place, as far as the map clusters are concerned.
+public record EventPosition(Long id, String geohash, LocalDateTime startsAt) {
+}
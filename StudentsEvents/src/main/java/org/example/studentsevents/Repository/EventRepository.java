@@ -4,17 +4,78 @@ import org.example.studentsevents.model.Event;
 import org.example.studentsevents.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>,
+        EventSliceRepository, EventFacetRepository {
+
+    // Listings: the public search, the organizer's and the admin's event lists, and the search index.
+    @Override
+    @EntityGraph("Event.summary")
+    Page<Event> findAll(Specification<Event> specification, Pageable pageable);
+
+    @Override
+    @EntityGraph("Event.summary")
+    Page<Event> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph("Event.summary")
+    List<Event> findAllById(Iterable<Long> ids);
 
-    Page<Event> findByNameContainingIgnoreCase(String eventName, Pageable pageable);
-    Page<Event> findByCategoryNameIgnoreCase(String categoryName, Pageable pageable);
-    Page<Event> findByCityNameIgnoreCase(String cityName, Pageable pageable);
-    Page<Event> findByCategoryNameIgnoreCaseAndCityNameIgnoreCase(String categoryName, String cityName, Pageable pageable);
+    @EntityGraph("Event.summary")
     Page<Event> findByOrganizer(User organizer, Pageable pageable);
+
+    // One event with everything its public, organizer and admin views show, in a single query.
+    @EntityGraph("Event.detail")
+    Optional<Event> findDetailById(Long id);
+
     boolean existsByCategoryId(Long categoryId);
     boolean existsByCityId(Long cityId);
+
+    @Query("SELECT e.id FROM Event e ORDER BY e.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT e.id FROM Event e WHERE e.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT e.id FROM Event e WHERE e.city.id = :cityId")
+    List<Long> findIdsByCityId(@Param("cityId") Long cityId);
+
+    // Oldest first, through idx_events_date_id.
+    @Query("SELECT e.id FROM Event e WHERE e.eventDateTime < :before ORDER BY e.eventDateTime, e.id")
+    List<Long> findIdsStartedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+    // What the search suggestions keep of each upcoming event: id, name, city id, category id and tickets sold.
+    @Query("SELECT e.id, e.name, e.city.id, e.category.id, COALESCE(SUM(t.sold), 0) FROM Event e LEFT JOIN e.ticketTypes t"
+            + " WHERE e.eventDateTime >= :from GROUP BY e.id, e.name, e.city.id, e.category.id")
+    List<Object[]> findSuggestionRows(@Param("from") LocalDateTime from);
+
+    @Query("SELECT e.id, e.name, e.city.id, e.category.id, COALESCE(SUM(t.sold), 0) FROM Event e LEFT JOIN e.ticketTypes t"
+            + " WHERE e.id = :id AND e.eventDateTime >= :from GROUP BY e.id, e.name, e.city.id, e.category.id")
+    List<Object[]> findSuggestionRow(@Param("id") Long id, @Param("from") LocalDateTime from);
+
+    @Query("SELECT new org.example.studentsevents.Repository.EventPosition(e.id, e.geohash, e.eventDateTime)"
+            + " FROM Event e WHERE e.geohash IS NOT NULL")
+    List<EventPosition> findAllPositions();
+
+    @Query("SELECT new org.example.studentsevents.Repository.EventPosition(e.id, e.geohash, e.eventDateTime)"
+            + " FROM Event e WHERE e.id = :id AND e.geohash IS NOT NULL")
+    Optional<EventPosition> findPositionById(@Param("id") Long id);
+
+    // Initializes the ticket types of an already loaded page of events in one query; the page itself cannot join
+    // fetch a collection without Hibernate paginating in memory.
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.ticketTypes WHERE e IN :events")
+    List<Event> fetchTicketTypes(@Param("events") Collection<Event> events);
 }
\ No newline at end of file
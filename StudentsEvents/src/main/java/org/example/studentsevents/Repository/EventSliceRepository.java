@@ -0,0 +1,13 @@
+package org.example.studentsevents.Repository;
+
+import org.example.studentsevents.model.Event;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EventSliceRepository {
+
+    // Like JpaSpecificationExecutor.findAll(spec, pageable), but without the count query: one extra row is read to
+    // tell whether there is a next slice.
+    Slice<Event> findSlice(Specification<Event> specification, Pageable pageable);
+}
@@ -0,0 +1,153 @@
+package org.example.studentsevents.Repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.studentsevents.DTORequest.EventSearchRequest;
+import org.example.studentsevents.model.Category;
+import org.example.studentsevents.model.City;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.GeoHash;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds the public event search as one query. Each predicate is written so that an index can answer it:
+ * the name as a prefix of {@code lower(name)}, category and city through their ids next to the event date, and the
+ * price range against the {@code minPrice} and {@code maxPrice} columns the event keeps for its ticket types. The
+ * indexes themselves are declared on {@link Event}, except the expression index on {@code lower(name)}, which is
+ * created by {@code EventSearchIndexInitializer}.
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> matching(EventSearchRequest search) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (!EventFullTextSearch.words(search.getQuery()).isEmpty()) {
+                predicates.add(containingWords(root, cb, search.getQuery()));
+            }
+            if (hasText(search.getEventName())) {
+                predicates.add(cb.like(cb.lower(root.get("name")), namePrefixPattern(search.getEventName()), '\\'));
+            }
+            List<String> categoryNames = categoryNames(search);
+            if (!categoryNames.isEmpty()) {
+                predicates.add(cb.lower(root.join("category").get("name")).in(categoryNames));
+            }
+            if (hasText(search.getCityName())) {
+                predicates.add(cb.equal(cb.lower(root.join("city").get("name")), normalize(search.getCityName())));
+            }
+            predicates.add(cb.greaterThanOrEqualTo(root.get("eventDateTime"), search.earliestStart()));
+            if (search.getDateTo() != null) {
+                predicates.add(cb.lessThan(root.get("eventDateTime"), search.getDateTo().plusDays(1).atStartOfDay()));
+            }
+            predicates.addAll(reachingInto(root, cb, new PriceRange(search.getMinPrice(), search.getMaxPrice())));
+            EventArea.of(search).ifPresent(area -> predicates.add(within(root, cb, area)));
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // Events whose ticket prices reach into the range: the cheapest at most its max and the dearest at least its min.
+    static List<Predicate> reachingInto(Root<Event> root, CriteriaBuilder cb, PriceRange range) {
+        List<Predicate> predicates = new ArrayList<>(2);
+        if (range.min() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("maxPrice"), range.min()));
+        }
+        if (range.max() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("minPrice"), range.max()));
+        }
+        return predicates;
+    }
+
+    // Events strictly after the cursor in (eventDateTime, id) order; idx_events_date_id serves it together with the sort.
+    public static Specification<Event> after(EventCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("eventDateTime"), cursor.eventDateTime()),
+                cb.and(cb.equal(root.get("eventDateTime"), cursor.eventDateTime()),
+                        cb.greaterThan(root.get("id"), cursor.id())));
+    }
+
+    // The geohash prefixes narrow the search to a few index ranges; the coordinates then trim it to the exact area.
+    private static Predicate within(Root<Event> root, CriteriaBuilder cb, EventArea area) {
+        Path<Double> latitude = root.get("latitude");
+        Path<Double> longitude = root.get("longitude");
+        List<Predicate> boxes = new ArrayList<>();
+        for (EventArea.Box box : area.boxes()) {
+            List<Predicate> cells = new ArrayList<>();
+            for (String cell : GeoHash.cover(box.south(), box.west(), box.north(), box.east())) {
+                cells.add(cb.like(root.get("geohash"), cell + "%"));
+            }
+            boxes.add(cb.and(
+                    cb.or(cells.toArray(Predicate[]::new)),
+                    cb.between(latitude, box.south(), box.north()),
+                    cb.between(longitude, box.west(), box.east())));
+        }
+        Predicate inBoxes = cb.or(boxes.toArray(Predicate[]::new));
+        if (!area.isCircle()) {
+            return inBoxes;
+        }
+        // (lat - c)^2 + (k * (lng - d))^2 <= r^2, multiplied out so that no parameter is combined directly with a
+        // column: Hibernate would cast it to the column type, which it renders without a precision on H2.
+        double c = area.centerLatitude();
+        double d = area.centerLongitude();
+        double k2 = area.longitudeScale() * area.longitudeScale();
+        double r = area.radiusDegrees();
+        Expression<Double> squares = cb.sum(cb.prod(latitude, latitude), cb.prod(cb.prod(longitude, longitude), k2));
+        Expression<Double> linear = cb.sum(cb.prod(cb.sum(latitude, latitude), -c), cb.prod(cb.sum(longitude, longitude), -d * k2));
+        return cb.and(inBoxes, cb.le(cb.sum(squares, linear), r * r - c * c - k2 * d * d));
+    }
+
+    // Fallback for databases without the full-text column: every word has to occur somewhere in the searchable text.
+    // No index helps here, which is acceptable for the test database it exists for.
+    private static Predicate containingWords(Root<Event> root, CriteriaBuilder cb, String text) {
+        Join<Event, Category> category = root.join("category", JoinType.LEFT);
+        Join<Event, City> city = root.join("city", JoinType.LEFT);
+        List<Predicate> words = new ArrayList<>();
+        for (String word : EventFullTextSearch.words(text)) {
+            String pattern = "%" + escapeLike(word) + "%";
+            words.add(cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("description")), pattern, '\\'),
+                    cb.like(cb.lower(category.get("name")), pattern, '\\'),
+                    cb.like(cb.lower(city.get("name")), pattern, '\\')));
+        }
+        return cb.and(words.toArray(Predicate[]::new));
+    }
+
+    // The requested categories, normalized, without blanks or repeats.
+    public static List<String> categoryNames(EventSearchRequest search) {
+        if (search.getCategoryName() == null) {
+            return List.of();
+        }
+        return search.getCategoryName().stream()
+                .filter(EventSpecifications::hasText)
+                .map(EventSpecifications::normalize)
+                .distinct()
+                .toList();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    public static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String namePrefixPattern(String name) {
+        return escapeLike(name) + "%";
+    }
+
+    private static String escapeLike(String value) {
+        return normalize(value).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.studentsevents.Repository;
+
+import java.math.BigDecimal;
+
+// Both ends inclusive, either one open when null. An event lies in the range when its ticket prices reach into it.
+public record PriceRange(BigDecimal min, BigDecimal max) {
+}
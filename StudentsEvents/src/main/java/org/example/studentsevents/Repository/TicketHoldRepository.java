@@ -0,0 +1,35 @@
+package org.example.studentsevents.Repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.studentsevents.model.TicketHold;
+import org.example.studentsevents.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TicketHoldRepository extends JpaRepository<TicketHold, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM TicketHold h JOIN FETCH h.ticketType WHERE h.id = :id AND h.user = :user")
+    Optional<TicketHold> findByIdAndUserForUpdate(@Param("id") Long id, @Param("user") User user);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM TicketHold h WHERE h.id IN :ids AND h.expiresAt <= :now ORDER BY h.id")
+    List<TicketHold> findExpiredForUpdate(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT h.id, h.expiresAt FROM TicketHold h")
+    List<Object[]> findAllExpiries();
+
+    boolean existsByTicketTypeId(Long ticketTypeId);
+
+    @Query("SELECT h.ticketType.id, SUM(h.quantity) FROM TicketHold h WHERE h.user.id = :userId GROUP BY h.ticketType.id")
+    List<Object[]> sumQuantityByTicketTypeForUser(@Param("userId") Long userId);
+}
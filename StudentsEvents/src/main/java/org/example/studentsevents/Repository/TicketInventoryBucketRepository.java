@@ -0,0 +1,55 @@
+package org.example.studentsevents.Repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.studentsevents.model.TicketInventoryBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TicketInventoryBucketRepository extends JpaRepository<TicketInventoryBucket, Long> {
+
+    @Modifying
+    @Query("UPDATE TicketInventoryBucket b SET b.sold = b.sold + :quantity"
+            + " WHERE b.ticketType.id = :ticketTypeId AND b.bucketIndex = :bucketIndex AND b.sold + :quantity <= b.capacity")
+    int incrementSold(@Param("ticketTypeId") Long ticketTypeId, @Param("bucketIndex") int bucketIndex, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE TicketInventoryBucket b SET b.sold = b.sold - :quantity"
+            + " WHERE b.ticketType.id = :ticketTypeId AND b.bucketIndex = :bucketIndex AND b.sold >= :quantity")
+    int decrementSold(@Param("ticketTypeId") Long ticketTypeId, @Param("bucketIndex") int bucketIndex, @Param("quantity") int quantity);
+
+    // Picks the first bucket at or after :start (wrapping around) that can take :quantity more seats. Buckets locked
+    // by other buyers are skipped rather than waited on, so a buyer never blocks while probing.
+    @Query(value = "SELECT bucket_index FROM ticket_inventory_buckets"
+            + " WHERE ticket_type_id = :ticketTypeId AND capacity - sold >= :quantity"
+            + " ORDER BY CASE WHEN bucket_index >= :start THEN 0 ELSE 1 END, bucket_index"
+            + " LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Integer> findIndexWithRoom(@Param("ticketTypeId") Long ticketTypeId, @Param("quantity") int quantity, @Param("start") int start);
+
+    @Query(value = "SELECT bucket_index FROM ticket_inventory_buckets"
+            + " WHERE ticket_type_id = :ticketTypeId AND sold >= :quantity"
+            + " ORDER BY CASE WHEN bucket_index >= :start THEN 0 ELSE 1 END, bucket_index"
+            + " LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Integer> findIndexWithSold(@Param("ticketTypeId") Long ticketTypeId, @Param("quantity") int quantity, @Param("start") int start);
+
+    boolean existsByTicketTypeId(Long ticketTypeId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM TicketInventoryBucket b WHERE b.ticketType.id = :ticketTypeId AND b.bucketIndex = :bucketIndex")
+    Optional<TicketInventoryBucket> findForUpdate(@Param("ticketTypeId") Long ticketTypeId, @Param("bucketIndex") int bucketIndex);
+
+    @Query("SELECT MAX(b.bucketIndex) FROM TicketInventoryBucket b WHERE b.ticketType.id = :ticketTypeId")
+    Optional<Integer> findMaxBucketIndex(@Param("ticketTypeId") Long ticketTypeId);
+
+    @Query("SELECT b.ticketType.id, SUM(b.sold), SUM(b.capacity) FROM TicketInventoryBucket b"
+            + " WHERE b.ticketType.id IN :ticketTypeIds GROUP BY b.ticketType.id")
+    List<Object[]> sumByTicketTypeIds(@Param("ticketTypeIds") Collection<Long> ticketTypeIds);
+}
@@ -1,11 +1,16 @@
 package org.example.studentsevents.Repository;
 
 import jakarta.persistence.LockModeType; // <-- Import this
+import org.example.studentsevents.model.InventoryStrategy;
 import org.example.studentsevents.model.TicketType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock; // <-- Import this
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional; // <-- Make sure this is imported
 
 @Repository
@@ -13,4 +18,47 @@ public interface TicketTypeRepository extends JpaRepository<TicketType, Long> {
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<TicketType> findById(Long id);
-}
\ No newline at end of file
+
+    @Query("SELECT t FROM TicketType t WHERE t.id = :id")
+    Optional<TicketType> findUnlockedById(@Param("id") Long id);
+
+    @Query("SELECT t FROM TicketType t JOIN FETCH t.event WHERE t.id = :id")
+    Optional<TicketType> findWithEventById(@Param("id") Long id);
+
+    // Leaves `reserved` seats unsold: flash-sale reservations still waiting to be written behind.
+    @Modifying
+    @Query("UPDATE TicketType t SET t.sold = t.sold + :quantity, t.version = t.version + 1 WHERE t.id = :id AND t.sold + :quantity + :reserved <= t.totalAvailable")
+    int incrementSold(@Param("id") Long id, @Param("quantity") int quantity, @Param("reserved") int reserved);
+
+    @Modifying
+    @Query("UPDATE TicketType t SET t.sold = t.sold - :quantity, t.version = t.version + 1 WHERE t.id = :id AND t.sold >= :quantity")
+    int decrementSold(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Flash-sale events always sell from the single counter, whatever bucketCount says.
+    @Query("SELECT CASE WHEN t.event.flashSale = true THEN 1 ELSE t.bucketCount END FROM TicketType t WHERE t.id = :id")
+    Optional<Integer> findEffectiveBucketCount(@Param("id") Long id);
+
+    @Query("SELECT t.event.inventoryStrategy FROM TicketType t WHERE t.id = :id")
+    Optional<InventoryStrategy> findInventoryStrategy(@Param("id") Long id);
+
+    @Query("SELECT t.event.id FROM TicketType t WHERE t.id = :id")
+    Optional<Long> findEventIdById(@Param("id") Long id);
+
+    @Query("SELECT t.id FROM TicketType t WHERE (t.bucketCount <= 1 OR t.event.flashSale = true)"
+            + " AND t.sold <> (SELECT COUNT(b) FROM Booking b WHERE b.ticketType = t)"
+            + " + (SELECT COALESCE(SUM(h.quantity), 0) FROM TicketHold h WHERE h.ticketType = t)")
+    List<Long> findIdsWithSoldDrift();
+
+    @Query("SELECT t.id FROM TicketType t WHERE t.bucketCount > 1 AND t.event.flashSale = false"
+            + " AND EXISTS (SELECT 1 FROM TicketInventoryBucket ib WHERE ib.ticketType = t)"
+            + " AND (SELECT SUM(ib.sold) FROM TicketInventoryBucket ib WHERE ib.ticketType = t)"
+            + " <> (SELECT COUNT(b) FROM Booking b WHERE b.ticketType = t)"
+            + " + (SELECT COALESCE(SUM(h.quantity), 0) FROM TicketHold h WHERE h.ticketType = t)")
+    List<Long> findBucketedIdsWithSoldDrift();
+
+    // Bookings plus held seats, read in one statement so a hold being confirmed is never counted twice or missed.
+    @Query("SELECT (SELECT COUNT(b) FROM Booking b WHERE b.ticketType = t)"
+            + " + (SELECT COALESCE(SUM(h.quantity), 0) FROM TicketHold h WHERE h.ticketType = t)"
+            + " FROM TicketType t WHERE t.id = :id")
+    long countClaimedSeats(@Param("id") Long id);
+}
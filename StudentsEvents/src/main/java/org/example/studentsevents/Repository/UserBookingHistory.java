@@ -0,0 +1,46 @@
+package org.example.studentsevents.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * A user's bookings across the bookings table and bookings_archive, in booking time order, so a student's history
+ * does not end where the archiver moved their past events. Only the ids of one page come back; the rows are then
+ * loaded from their own tables.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBookingHistory {
+
+    public record Entry(long id, boolean archived) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<Entry> page(long userId, boolean newestFirst, long offset, int limit) {
+        String direction = newestFirst ? "DESC" : "ASC";
+        MapSqlParameterSource parameters = new MapSqlParameterSource("userId", userId)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        // Archived bookings keep their ids, so the id breaks ties across both tables.
+        return jdbcTemplate.query("SELECT id, archived FROM ("
+                        + " SELECT b.id, b.booking_date_time, FALSE AS archived FROM bookings b WHERE b.user_id = :userId"
+                        + " UNION ALL"
+                        + " SELECT a.id, a.booking_date_time, TRUE AS archived FROM bookings_archive a WHERE a.user_id = :userId"
+                        + ") history ORDER BY booking_date_time " + direction + ", id " + direction
+                        + " LIMIT :limit OFFSET :offset",
+                parameters,
+                (row, rowNum) -> new Entry(row.getLong("id"), row.getBoolean("archived")));
+    }
+
+    public long count(long userId) {
+        Long count = jdbcTemplate.queryForObject("SELECT (SELECT COUNT(*) FROM bookings WHERE user_id = :userId)"
+                        + " + (SELECT COUNT(*) FROM bookings_archive WHERE user_id = :userId)",
+                new MapSqlParameterSource("userId", userId), Long.class);
+        return count == null ? 0 : count;
+    }
+}
@@ -1,15 +1,30 @@
 package org.example.studentsevents.Repository;
 
 import org.example.studentsevents.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
+
+    // For authentication, permission checks and the user's own profile, which all read the roles.
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByEmail(String email);
+
+    // The admin user list, which shows every user's roles.
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM User u")
+    List<User> findAllWithRoles();
+
+    List<User> findByEmailIn(Collection<String> emails);
     boolean existsByEmail(String email);
     Optional<User> findByVerificationToken(String token);
     Optional<User> findByPasswordResetToken(String token);
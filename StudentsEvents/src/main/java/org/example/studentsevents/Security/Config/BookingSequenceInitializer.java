@@ -0,0 +1,39 @@
+package org.example.studentsevents.Security.Config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BookingSequenceInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(BookingSequenceInitializer.class);
+
+    private static final String SEQUENCE_NAME = "bookings_seq";
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Bookings used to be IDENTITY-keyed. A freshly created sequence starts at 1, so move it past the
+    // existing ids before the first pooled block is handed out.
+    @PostConstruct
+    public void alignWithExistingIds() {
+        SequenceSupport sequenceSupport = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport();
+        Long next = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(SEQUENCE_NAME), Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM bookings", Long.class);
+        if (next == null || maxId == null || next - ALLOCATION_SIZE >= maxId) {
+            return;
+        }
+        long restartWith = Math.max(maxId, next) + ALLOCATION_SIZE;
+        jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE_NAME + " RESTART WITH " + restartWith);
+        logger.info("Restarted {} at {} to clear existing booking ids (max id {})", SEQUENCE_NAME, restartWith, maxId);
+    }
+}
@@ -2,16 +2,13 @@ package org.example.studentsevents.Security.Config;
 
 import lombok.RequiredArgsConstructor;
 import org.example.studentsevents.DTORequest.EventRequest;
-import org.example.studentsevents.DTOResponse.BookingResponse;
 import org.example.studentsevents.Security.JWT.AuthTokenFilter;
 import org.example.studentsevents.Security.JWT.JwtAuthEntryPoint;
 import org.example.studentsevents.Security.OAuth.CustomOAuth2UserService;
 import org.example.studentsevents.Security.OAuth.OAuth2LoginSuccessHandler;
 import org.example.studentsevents.Security.User.UserDetailsServiceImpl;
-import org.example.studentsevents.model.Booking;
 import org.example.studentsevents.model.Event;
 import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeMap;
 import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -64,12 +61,6 @@ public class EventConfig {
                     mapper.skip(Event::setId);
                     mapper.skip(Event::setTicketTypes);
                 });
-        TypeMap<Booking, BookingResponse> bookingMap = modelMapper.createTypeMap(Booking.class, BookingResponse.class);
-        bookingMap.addMappings(mapper -> {
-
-            mapper.map(src -> src.getTicketType().getEvent(), BookingResponse::setEvent);
-        });
-
         return modelMapper;
     }
 
@@ -142,6 +133,7 @@ public class EventConfig {
                         .requestMatchers(HttpMethod.GET, "/categories/**", "/api/categories/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/cities/**", "/api/cities/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/images/**", "/api/images/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/search/**").permitAll()
 
                         .requestMatchers("/auth/register", "/api/auth/register").permitAll()
                         .requestMatchers("/auth/login", "/api/auth/login").permitAll()
@@ -151,6 +143,9 @@ public class EventConfig {
 
                         .requestMatchers("/api/debug/**", "/debug/**").permitAll()
 
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/categories", "/api/cities").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/categories/**", "/api/cities/**").hasRole("ADMIN")
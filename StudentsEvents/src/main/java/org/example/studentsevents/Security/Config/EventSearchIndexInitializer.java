@@ -0,0 +1,106 @@
+package org.example.studentsevents.Security.Config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.example.studentsevents.model.GeoHash;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class EventSearchIndexInitializer {
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Search structures Hibernate cannot declare: expression indexes and the full-text column with its triggers.
+    // H2 has neither, so there the search falls back to plain predicates (see EventSpecifications).
+    @PostConstruct
+    public void createSearchStructures() {
+        backfillPriceRanges();
+        backfillGeohashes();
+        // Replaced by idx_events_date_id, which also covers the id tie-break of cursor listings.
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_events_date");
+        if (!isPostgres()) {
+            return;
+        }
+        // varchar_pattern_ops lets LIKE 'prefix%' use the index whatever the database collation is.
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_events_lower_name ON events (lower(name) varchar_pattern_ops)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_events_geohash_pattern ON events (geohash varchar_pattern_ops)");
+        createFullTextColumn();
+    }
+
+    // Events stored before events.min_price and max_price existed; Event keeps them current from then on.
+    private void backfillPriceRanges() {
+        jdbcTemplate.update("""
+                UPDATE events SET
+                    min_price = (SELECT MIN(t.price) FROM ticket_types t WHERE t.event_id = events.id),
+                    max_price = (SELECT MAX(t.price) FROM ticket_types t WHERE t.event_id = events.id)
+                WHERE min_price IS NULL AND EXISTS (SELECT 1 FROM ticket_types t WHERE t.event_id = events.id)""");
+    }
+
+    // Same for events.geohash, which only Java computes.
+    private void backfillGeohashes() {
+        List<Object[]> updates = jdbcTemplate.query(
+                "SELECT id, latitude, longitude FROM events WHERE geohash IS NULL AND latitude IS NOT NULL AND longitude IS NOT NULL",
+                (row, rowNum) -> new Object[]{
+                        GeoHash.encode(row.getDouble("latitude"), row.getDouble("longitude"), GeoHash.PRECISION),
+                        row.getLong("id")});
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE events SET geohash = ? WHERE id = ?", updates);
+        }
+    }
+
+    private boolean isPostgres() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        return dialect instanceof PostgreSQLDialect;
+    }
+
+    // events.search_vector is not mapped on the entity: the trigger below keeps it in step with the name, description,
+    // category and city of the row, and renaming a category or city re-touches the events that use it.
+    private void createFullTextColumn() {
+        jdbcTemplate.execute("ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector tsvector");
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION events_search_vector_refresh() RETURNS trigger AS $$
+                BEGIN
+                    NEW.search_vector :=
+                            setweight(to_tsvector('simple', coalesce(NEW.name, '')), 'A')
+                            || setweight(to_tsvector('simple', coalesce((SELECT name FROM categories WHERE id = NEW.category_id), '')), 'B')
+                            || setweight(to_tsvector('simple', coalesce((SELECT name FROM cities WHERE id = NEW.city_id), '')), 'B')
+                            || setweight(to_tsvector('simple', coalesce(NEW.description, '')), 'C');
+                    RETURN NEW;
+                END
+                $$ LANGUAGE plpgsql""");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS events_search_vector ON events");
+        jdbcTemplate.execute("""
+                CREATE TRIGGER events_search_vector
+                BEFORE INSERT OR UPDATE OF name, description, category_id, city_id ON events
+                FOR EACH ROW EXECUTE FUNCTION events_search_vector_refresh()""");
+
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION events_search_vector_rename() RETURNS trigger AS $$
+                BEGIN
+                    IF TG_TABLE_NAME = 'categories' THEN
+                        UPDATE events SET name = name WHERE category_id = NEW.id;
+                    ELSE
+                        UPDATE events SET name = name WHERE city_id = NEW.id;
+                    END IF;
+                    RETURN NULL;
+                END
+                $$ LANGUAGE plpgsql""");
+        for (String table : new String[]{"categories", "cities"}) {
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + table + "_search_vector_rename ON " + table);
+            jdbcTemplate.execute("CREATE TRIGGER " + table + "_search_vector_rename AFTER UPDATE OF name ON " + table
+                    + " FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name) EXECUTE FUNCTION events_search_vector_rename()");
+        }
+
+        // Rows written before the trigger existed.
+        jdbcTemplate.execute("UPDATE events SET name = name WHERE search_vector IS NULL");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector)");
+    }
+}
@@ -69,6 +69,7 @@ public class ApplicationService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public void approveApplication(Long applicationId) {
         OrganizerApplication application = applicationRepository.findById(applicationId)
                 .orElseThrow(() -> new RuntimeException("Application not found with id: " + applicationId));
@@ -121,7 +121,7 @@ public class AuthService {
     @Transactional(readOnly = true)
     public UserResponse getAuthenticatedUser() {
         String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(userEmail)
+        User user = userRepository.findWithRolesByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("Authenticated user not found in database"));
         return userService.mapUserToUserResponse(user);
     }
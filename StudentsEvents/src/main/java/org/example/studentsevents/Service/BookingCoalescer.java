@@ -0,0 +1,349 @@
+package org.example.studentsevents.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.Exception.BookingRejectedException;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.IdempotencyKeyRepository;
+import org.example.studentsevents.Repository.UserRepository;
+import org.example.studentsevents.model.Booking;
+import org.example.studentsevents.model.IdempotencyKey;
+import org.example.studentsevents.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Group commit for {@link BookingService#createBooking}. Requests for the same ticket type that arrive within a short
+ * window are written together: one transaction locks the ticket type row once, admits the requests that still fit
+ * in arrival order, bumps the sold counter once and inserts all their bookings in one batch. Each caller still gets
+ * its own outcome, and only after the batch has committed.
+ * <p>
+ * Only ticket types selling from their single sold counter under row locks are coalesced. Flash sales have their own
+ * ledger, bucketed ticket types already spread buyers over several rows and optimistic events must not take the row
+ * lock at all, so those go straight to {@link BookingService}. Bookings made under an Idempotency-Key are coalesced
+ * like the others: their key rows are written first in the batch transaction, and the rows of requests the batch
+ * turns down are deleted again before it commits, so a key is stored together with its bookings or not at all.
+ * <p>
+ * A batch that cannot be written, for instance because its lock wait timed out, is handed back: every caller then
+ * books on its own through the direct path and its retries. The same happens to requests still waiting for a
+ * window when the service shuts down. A caller waits for its outcome at most {@code await-timeout-ms}.
+ */
+@Service
+public class BookingCoalescer {
+    private static final Logger logger = LoggerFactory.getLogger(BookingCoalescer.class);
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final UserRepository userRepository;
+    private final TicketInventoryService ticketInventoryService;
+    private final FlashSaleService flashSaleService;
+    private final InventoryRetryService inventoryRetryService;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final long awaitTimeoutMs;
+    private final ScheduledExecutorService flushers;
+    private final DistributionSummary batchSizes;
+    private final Counter handedBack;
+
+    // Guarded by openBatches, like closed.
+    private final Map<Long, Batch> openBatches = new HashMap<>();
+    private boolean closed;
+
+    public BookingCoalescer(BookingService bookingService,
+                            BookingRepository bookingRepository,
+                            IdempotencyKeyRepository idempotencyKeyRepository,
+                            UserRepository userRepository,
+                            TicketInventoryService ticketInventoryService,
+                            FlashSaleService flashSaleService,
+                            InventoryRetryService inventoryRetryService,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.booking.coalesce.window-ms:2}") long windowMs,
+                            @Value("${app.booking.coalesce.max-batch-size:200}") int maxBatchSize,
+                            @Value("${app.booking.coalesce.workers:4}") int workers,
+                            @Value("${app.booking.coalesce.await-timeout-ms:30000}") long awaitTimeoutMs) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.userRepository = userRepository;
+        this.ticketInventoryService = ticketInventoryService;
+        this.flashSaleService = flashSaleService;
+        this.inventoryRetryService = inventoryRetryService;
+        this.transactionTemplate = transactionTemplate;
+        this.windowMs = windowMs;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.awaitTimeoutMs = awaitTimeoutMs;
+        this.flushers = Executors.newScheduledThreadPool(workers);
+        this.batchSizes = DistributionSummary.builder("booking.coalescer.batch.size")
+                .description("Booking requests written per coalesced transaction")
+                .register(meterRegistry);
+        this.handedBack = Counter.builder("booking.coalescer.handed.back")
+                .description("Coalesced booking requests that were not written in a batch and booked on their own")
+                .register(meterRegistry);
+    }
+
+    public void createBooking(BookingRequest bookingRequest) {
+        createBooking(bookingRequest, null);
+    }
+
+    // The idempotency key row, when there is one, is committed with the bookings. The supplier builds a fresh,
+    // unsaved row for every transaction that writes it.
+    public void createBooking(BookingRequest bookingRequest, Supplier<IdempotencyKey> idempotencyKey) {
+        Long ticketTypeId = bookingRequest.getTicketTypeId();
+        Integer quantity = bookingRequest.getQuantity();
+        if (windowMs <= 0 || quantity == null || quantity <= 0
+                || flashSaleService.isFlashSale(ticketTypeId)
+                || !ticketInventoryService.sellsFromLockedCounter(ticketTypeId)) {
+            bookDirectly(bookingRequest, idempotencyKey);
+            return;
+        }
+
+        PendingBooking pending = new PendingBooking(
+                SecurityContextHolder.getContext().getAuthentication().getName(), quantity, idempotencyKey);
+        if (!enqueue(ticketTypeId, pending) || !await(pending)) {
+            bookDirectly(bookingRequest, idempotencyKey);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Batch> abandoned;
+        synchronized (openBatches) {
+            closed = true;
+            abandoned = List.copyOf(openBatches.values());
+            openBatches.clear();
+        }
+        RuntimeException cause = new IllegalStateException("Booking coalescer is shutting down");
+        abandoned.forEach(batch -> handBack(batch.bookings, cause));
+        // Batches already sealed still run; the windows still scheduled find nothing left to close.
+        flushers.shutdown();
+    }
+
+    private void bookDirectly(BookingRequest bookingRequest, Supplier<IdempotencyKey> idempotencyKey) {
+        if (idempotencyKey == null) {
+            inventoryRetryService.run("booking", () -> bookingService.createBooking(bookingRequest));
+            return;
+        }
+        inventoryRetryService.run("booking", () -> transactionTemplate.executeWithoutResult(status -> {
+            // The key row goes in first: a duplicate from another instance blocks on the unique index here,
+            // before any ticket type row is touched.
+            idempotencyKeyRepository.saveAndFlush(idempotencyKey.get());
+            bookingService.createBooking(bookingRequest);
+        }));
+    }
+
+    // Returns false when the request could not join a batch and has to be booked directly.
+    private boolean enqueue(Long ticketTypeId, PendingBooking pending) {
+        Batch full = null;
+        synchronized (openBatches) {
+            if (closed) {
+                return false;
+            }
+            Batch batch = openBatches.get(ticketTypeId);
+            if (batch == null) {
+                Batch opened = new Batch(ticketTypeId);
+                try {
+                    flushers.schedule(() -> close(opened), windowMs, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    return false;
+                }
+                openBatches.put(ticketTypeId, opened);
+                batch = opened;
+            }
+            batch.bookings.add(pending);
+            if (batch.bookings.size() >= maxBatchSize) {
+                openBatches.remove(ticketTypeId);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            Batch sealed = full;
+            try {
+                flushers.execute(() -> flush(sealed));
+            } catch (RejectedExecutionException e) {
+                handBack(sealed.bookings, e);
+            }
+        }
+        return true;
+    }
+
+    private void close(Batch batch) {
+        synchronized (openBatches) {
+            // Already taken out and flushed when it filled up before the window ended.
+            if (!openBatches.remove(batch.ticketTypeId, batch)) {
+                return;
+            }
+        }
+        flush(batch);
+    }
+
+    private void flush(Batch batch) {
+        // Requests whose callers stopped waiting are left out, so a caller that timed out never gets a booking.
+        List<PendingBooking> pending = batch.bookings.stream().filter(PendingBooking::take).toList();
+        if (pending.isEmpty()) {
+            return;
+        }
+        batchSizes.record(pending.size());
+        RuntimeException[] failures;
+        try {
+            failures = transactionTemplate.execute(status -> write(batch.ticketTypeId, pending));
+        } catch (RuntimeException e) {
+            logger.warn("Could not write {} coalesced bookings of ticket type {}, booking them one by one",
+                    pending.size(), batch.ticketTypeId, e);
+            handedBack.increment(pending.size());
+            pending.forEach(booking -> booking.result.completeExceptionally(new HandedBack(e)));
+            return;
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            if (failures[i] == null) {
+                pending.get(i).result.complete(null);
+            } else {
+                pending.get(i).result.completeExceptionally(failures[i]);
+            }
+        }
+    }
+
+    private void handBack(List<PendingBooking> pending, RuntimeException cause) {
+        List<PendingBooking> taken = pending.stream().filter(PendingBooking::take).toList();
+        handedBack.increment(taken.size());
+        taken.forEach(booking -> booking.result.completeExceptionally(new HandedBack(cause)));
+    }
+
+    // Decides every request of the batch; the outcomes are handed to the callers only once this has committed.
+    private RuntimeException[] write(Long ticketTypeId, List<PendingBooking> pending) {
+        Map<String, User> users = new HashMap<>();
+        for (User user : userRepository.findByEmailIn(pending.stream().map(PendingBooking::userEmail).distinct().toList())) {
+            users.put(user.getEmail(), user);
+        }
+        // As on the direct path, the key rows go in before the ticket type row is locked. A duplicate key fails the
+        // whole batch, which is then handed back and each request books on its own.
+        IdempotencyKey[] keys = new IdempotencyKey[pending.size()];
+        for (int i = 0; i < pending.size(); i++) {
+            if (pending.get(i).idempotencyKey() != null) {
+                keys[i] = idempotencyKeyRepository.save(pending.get(i).idempotencyKey().get());
+            }
+        }
+        idempotencyKeyRepository.flush();
+
+        RuntimeException[] failures = new RuntimeException[pending.size()];
+        int[] quantities = new int[pending.size()];
+        for (int i = 0; i < pending.size(); i++) {
+            if (users.containsKey(pending.get(i).userEmail())) {
+                quantities[i] = pending.get(i).quantity();
+            } else {
+                failures[i] = new RuntimeException("Authenticated user not found in database");
+                quantities[i] = Integer.MAX_VALUE;
+            }
+        }
+
+        TicketInventoryService.BatchClaim claim = ticketInventoryService.reserveEach(ticketTypeId, quantities);
+        LocalDateTime bookingDateTime = LocalDateTime.now();
+        List<Booking> newBookings = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i++) {
+            if (failures[i] != null) {
+                continue;
+            }
+            if (!claim.claimed()[i]) {
+                failures[i] = new BookingRejectedException("Sorry, only " + claim.remaining() + " tickets are left, but you requested " + quantities[i] + ".");
+                continue;
+            }
+            User user = users.get(pending.get(i).userEmail());
+            for (int seat = 0; seat < quantities[i]; seat++) {
+                Booking newBooking = new Booking();
+                newBooking.setUser(user);
+                newBooking.setTicketType(claim.ticketType());
+                newBooking.setBookingDateTime(bookingDateTime);
+                newBookings.add(newBooking);
+            }
+        }
+        bookingRepository.saveAll(newBookings);
+        for (int i = 0; i < pending.size(); i++) {
+            if (failures[i] != null && keys[i] != null) {
+                idempotencyKeyRepository.delete(keys[i]);
+            }
+        }
+        return failures;
+    }
+
+    // Returns false when the batch handed the request back to be booked directly.
+    private boolean await(PendingBooking pending) {
+        try {
+            pending.result.get(awaitTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof HandedBack) {
+                return false;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw giveUp(pending, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw giveUp(pending, e);
+        }
+    }
+
+    private static IllegalStateException giveUp(PendingBooking pending, Exception cause) {
+        if (pending.take()) {
+            return new IllegalStateException("The booking could not be processed in time. Nothing was booked, please try again.", cause);
+        }
+        // Its batch is being written right now; whether it commits is not known yet.
+        return new IllegalStateException("The booking is taking longer than expected. Please check your bookings before trying again.", cause);
+    }
+
+    // Exactly one of the flushing batch and the waiting caller takes a request: the batch to write it, the caller to
+    // withdraw it after waiting too long.
+    private record PendingBooking(String userEmail, int quantity, Supplier<IdempotencyKey> idempotencyKey,
+                                  CompletableFuture<Void> result, AtomicBoolean taken) {
+        private PendingBooking(String userEmail, int quantity, Supplier<IdempotencyKey> idempotencyKey) {
+            this(userEmail, quantity, idempotencyKey, new CompletableFuture<>(), new AtomicBoolean());
+        }
+
+        private boolean take() {
+            return taken.compareAndSet(false, true);
+        }
+    }
+
+    // Marks a request the batch did not write; its caller books it directly instead.
+    private static final class HandedBack extends RuntimeException {
+        private HandedBack(RuntimeException cause) {
+            super(cause);
+        }
+    }
+
+    private static final class Batch {
+        private final Long ticketTypeId;
+        private final List<PendingBooking> bookings = new ArrayList<>();
+
+        private Batch(Long ticketTypeId) {
+            this.ticketTypeId = ticketTypeId;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.studentsevents.Service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.DTOResponse.BookingQueueResponse;
+import org.example.studentsevents.model.BookingQueueStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Waiting room in front of {@link BookingService#createBooking}. Requests are accepted immediately with a token and
+ * a queue position, then admitted to a small worker pool at a fixed rate, so an on-sale spike queues here instead
+ * of tying up request threads and database connections behind the ticket type row.
+ */
+@Service
+public class BookingQueueService {
+
+    private final BookingService bookingService;
+    private final InventoryRetryService inventoryRetryService;
+    private final int admissionsPerTick;
+    private final int capacity;
+    private final Duration resultTtl;
+    private final ExecutorService workers;
+
+    private final ConcurrentLinkedQueue<QueuedBooking> waiting = new ConcurrentLinkedQueue<>();
+    private final Map<String, QueuedBooking> bookingsByToken = new ConcurrentHashMap<>();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final AtomicLong enqueuedSequence = new AtomicLong();
+    private final AtomicLong admittedSequence = new AtomicLong();
+
+    public BookingQueueService(BookingService bookingService,
+                               InventoryRetryService inventoryRetryService,
+                               @Value("${app.booking.queue.admissions-per-second:50}") int admissionsPerSecond,
+                               @Value("${app.booking.queue.drain-interval-ms:100}") long drainIntervalMs,
+                               @Value("${app.booking.queue.capacity:20000}") int capacity,
+                               @Value("${app.booking.queue.workers:4}") int workers,
+                               @Value("${app.booking.queue.result-ttl-minutes:15}") long resultTtlMinutes) {
+        this.bookingService = bookingService;
+        this.inventoryRetryService = inventoryRetryService;
+        this.admissionsPerTick = (int) Math.max(1, admissionsPerSecond * drainIntervalMs / 1000);
+        this.capacity = capacity;
+        this.resultTtl = Duration.ofMinutes(resultTtlMinutes);
+        this.workers = Executors.newFixedThreadPool(workers);
+    }
+
+    public BookingQueueResponse enqueue(BookingRequest bookingRequest) {
+        if (waitingCount.incrementAndGet() > capacity) {
+            waitingCount.decrementAndGet();
+            throw new IllegalStateException("The waiting room is full. Please try again in a few minutes.");
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        QueuedBooking queued = new QueuedBooking(UUID.randomUUID().toString(), enqueuedSequence.incrementAndGet(),
+                authentication, bookingRequest);
+        bookingsByToken.put(queued.token, queued);
+        waiting.add(queued);
+        return toResponse(queued);
+    }
+
+    public BookingQueueResponse getStatus(String token) {
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        QueuedBooking queued = bookingsByToken.get(token);
+        if (queued == null || !queued.authentication.getName().equals(userEmail)) {
+            throw new RuntimeException("Queued booking not found with token: " + token);
+        }
+        return toResponse(queued);
+    }
+
+    @Scheduled(fixedRateString = "${app.booking.queue.drain-interval-ms:100}")
+    public void admit() {
+        for (int i = 0; i < admissionsPerTick; i++) {
+            QueuedBooking queued = waiting.poll();
+            if (queued == null) {
+                return;
+            }
+            waitingCount.decrementAndGet();
+            admittedSequence.set(queued.sequence);
+            queued.status = BookingQueueStatus.PROCESSING;
+            workers.execute(() -> process(queued));
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpiredResults() {
+        Instant cutoff = Instant.now().minus(resultTtl);
+        bookingsByToken.values().removeIf(queued -> queued.completedAt != null && queued.completedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void process(QueuedBooking queued) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(queued.authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            inventoryRetryService.run("queued-booking", () -> bookingService.createBooking(queued.request));
+            queued.status = BookingQueueStatus.CONFIRMED;
+        } catch (RuntimeException e) {
+            queued.message = e.getMessage();
+            queued.status = BookingQueueStatus.FAILED;
+        } finally {
+            queued.completedAt = Instant.now();
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private BookingQueueResponse toResponse(QueuedBooking queued) {
+        long position = queued.status == BookingQueueStatus.QUEUED
+                ? Math.max(1, queued.sequence - admittedSequence.get())
+                : 0;
+        return new BookingQueueResponse(queued.token, queued.status, position, queued.message);
+    }
+
+    private static final class QueuedBooking {
+        private final String token;
+        private final long sequence;
+        private final Authentication authentication;
+        private final BookingRequest request;
+        private volatile BookingQueueStatus status = BookingQueueStatus.QUEUED;
+        private volatile String message;
+        private volatile Instant completedAt;
+
+        private QueuedBooking(String token, long sequence, Authentication authentication, BookingRequest request) {
+            this.token = token;
+            this.sequence = sequence;
+            this.authentication = authentication;
+            this.request = request;
+        }
+    }
+}
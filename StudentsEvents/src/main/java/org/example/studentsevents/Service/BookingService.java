@@ -2,21 +2,38 @@ package org.example.studentsevents.Service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.DTORequest.CheckoutRequest;
 import org.example.studentsevents.DTOResponse.BookingResponse;
+import org.example.studentsevents.Exception.BookingRejectedException;
+import org.example.studentsevents.Repository.ArchivedBookingRepository;
+import org.example.studentsevents.Repository.ArchivedEventRepository;
 import org.example.studentsevents.Repository.BookingRepository;
-import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.Repository.UserBookingHistory;
 import org.example.studentsevents.Repository.UserRepository;
+import org.example.studentsevents.model.ArchivedBooking;
+import org.example.studentsevents.model.ArchivedEvent;
 import org.example.studentsevents.model.Booking;
 import org.example.studentsevents.model.TicketType;
 import org.example.studentsevents.model.User;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,8 +41,11 @@ public class BookingService {
 
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
-    private final TicketTypeRepository ticketTypeRepository;
-    private final ModelMapper modelMapper;
+    private final TicketInventoryService ticketInventoryService;
+    private final FlashSaleService flashSaleService;
+    private final UserBookingHistory bookingHistory;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final ArchivedEventRepository archivedEventRepository;
 
     @Transactional
     public void createBooking(BookingRequest bookingRequest) {
@@ -33,30 +53,62 @@ public class BookingService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("Authenticated user not found in database"));
 
-        TicketType ticketType = ticketTypeRepository.findById(bookingRequest.getTicketTypeId())
-                .orElseThrow(() -> new RuntimeException("TicketType not found with id: " + bookingRequest.getTicketTypeId()));
-
         Integer quantityToBook = bookingRequest.getQuantity();
         if (quantityToBook == null || quantityToBook <= 0) {
-            throw new IllegalStateException("You must specify a quantity greater than zero.");
+            throw new BookingRejectedException("You must specify a quantity greater than zero.");
         }
 
-        long ticketsSold = bookingRepository.countByTicketTypeId(ticketType.getId());
-        if ((ticketsSold + quantityToBook) > ticketType.getTotalAvailable()) {
-            long available = ticketType.getTotalAvailable() - ticketsSold;
-            throw new IllegalStateException("Sorry, only " + available + " tickets are left, but you requested " + quantityToBook + ".");
+        if (flashSaleService.isFlashSale(bookingRequest.getTicketTypeId())) {
+            flashSaleService.reserve(user, bookingRequest.getTicketTypeId(), quantityToBook);
+            return;
         }
 
-        for (int i = 0; i < quantityToBook; i++) {
+        TicketType ticketType = ticketInventoryService.reserve(bookingRequest.getTicketTypeId(), quantityToBook);
+
+        List<Booking> newBookings = new ArrayList<>(quantityToBook);
+        addBookings(newBookings, user, ticketType, quantityToBook, LocalDateTime.now());
+        bookingRepository.saveAll(newBookings);
+    }
+
+    @Transactional
+    public void checkout(CheckoutRequest checkoutRequest) {
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("Authenticated user not found in database"));
+
+        // Sorted by ticket type id: every cart takes its row locks in the same order, so overlapping carts
+        // wait for each other instead of deadlocking.
+        Map<Long, Integer> quantitiesByTicketType = new TreeMap<>();
+        for (BookingRequest item : checkoutRequest.getItems()) {
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new BookingRejectedException("You must specify a quantity greater than zero.");
+            }
+            quantitiesByTicketType.merge(item.getTicketTypeId(), item.getQuantity(), Integer::sum);
+        }
+        for (Long ticketTypeId : quantitiesByTicketType.keySet()) {
+            if (flashSaleService.isFlashSale(ticketTypeId)) {
+                throw new BookingRejectedException("Flash-sale tickets cannot be bought as part of a cart. Please book them separately.");
+            }
+        }
+
+        LocalDateTime bookingDateTime = LocalDateTime.now();
+        List<Booking> newBookings = new ArrayList<>();
+        quantitiesByTicketType.forEach((ticketTypeId, quantity) -> {
+            TicketType ticketType = ticketInventoryService.reserve(ticketTypeId, quantity);
+            addBookings(newBookings, user, ticketType, quantity, bookingDateTime);
+        });
+        bookingRepository.saveAll(newBookings);
+    }
+
+    private void addBookings(List<Booking> newBookings, User user, TicketType ticketType, int quantity, LocalDateTime bookingDateTime) {
+        for (int i = 0; i < quantity; i++) {
             Booking newBooking = new Booking();
             newBooking.setUser(user);
             newBooking.setTicketType(ticketType);
-            newBooking.setBookingDateTime(LocalDateTime.now());
+            newBooking.setBookingDateTime(bookingDateTime);
 
             user.getBookings().add(newBooking);
-            ticketType.getBookings().add(newBooking);
-
-            bookingRepository.save(newBooking);
+            newBookings.add(newBooking);
         }
     }
 
@@ -66,19 +118,58 @@ public class BookingService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("Authenticated user not found in database"));
 
-        Page<Booking> userBookings = bookingRepository.findBookingsForUserWithDetails(user, pageable);
+        List<BookingResponse> bookings = loadHistory(user, pageable, pageable.getPageSize());
+        return new PageImpl<>(bookings, pageable, bookingHistory.count(user.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<BookingResponse> getMyBookingSlice(Pageable pageable) {
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("Authenticated user not found in database"));
 
-        return userBookings.map(booking -> modelMapper.map(booking, BookingResponse.class));
+        // One extra row decides hasNext, without the count query.
+        List<BookingResponse> bookings = loadHistory(user, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = bookings.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? bookings.subList(0, pageable.getPageSize()) : bookings, pageable, hasNext);
     }
+
     @Transactional(readOnly = true)
     public BookingResponse getMyBookingById(Long bookingId) {
         String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("Authenticated user not found in database"));
 
-        Booking booking = bookingRepository.findByIdAndUser(bookingId, user)
+        return bookingRepository.findByIdAndUser(bookingId, user)
+                .map(ResponseMapper::toBookingResponse)
+                .or(() -> archivedBookingRepository.findByIdAndUserId(bookingId, user.getId())
+                        .map(booking -> ResponseMapper.toBookingResponse(booking,
+                                archivedEventRepository.getReferenceById(booking.getEventId()))))
                 .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId + " for the current user."));
+    }
 
-        return modelMapper.map(booking, BookingResponse.class);
+    // The booking history runs on into the archive, sorted by booking time only.
+    private List<BookingResponse> loadHistory(User user, Pageable pageable, int limit) {
+        Sort.Order order = pageable.getSort().getOrderFor("bookingDateTime");
+        List<UserBookingHistory.Entry> entries = bookingHistory.page(user.getId(),
+                order != null && order.isDescending(), pageable.getOffset(), limit);
+
+        Map<Long, BookingResponse> byId = new HashMap<>();
+        List<Long> liveIds = entries.stream().filter(entry -> !entry.archived()).map(UserBookingHistory.Entry::id).toList();
+        if (!liveIds.isEmpty()) {
+            bookingRepository.findWithDetailsByIdIn(liveIds)
+                    .forEach(booking -> byId.put(booking.getId(), ResponseMapper.toBookingResponse(booking)));
+        }
+        List<Long> archivedIds = entries.stream().filter(UserBookingHistory.Entry::archived).map(UserBookingHistory.Entry::id).toList();
+        if (!archivedIds.isEmpty()) {
+            List<ArchivedBooking> archived = archivedBookingRepository.findAllById(archivedIds);
+            Map<Long, ArchivedEvent> events = archivedEventRepository
+                    .findAllById(archived.stream().map(ArchivedBooking::getEventId).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(ArchivedEvent::getId, Function.identity()));
+            archived.forEach(booking -> byId.put(booking.getId(),
+                    ResponseMapper.toBookingResponse(booking, events.get(booking.getEventId()))));
+        }
+        // A booking archived between the two reads is left out of this page rather than shown twice.
+        return entries.stream().map(entry -> byId.get(entry.id())).filter(Objects::nonNull).toList();
     }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package org.example.studentsevents.Service;
+
+// Published by CategoryService when a category is created, renamed or deleted. Its events get their own EventChangedEvent.
+public record CategoryChangedEvent(Long categoryId, boolean deleted) {
+
+    public static CategoryChangedEvent saved(Long categoryId) {
+        return new CategoryChangedEvent(categoryId, false);
+    }
+
+    public static CategoryChangedEvent deleted(Long categoryId) {
+        return new CategoryChangedEvent(categoryId, true);
+    }
+}
@@ -7,6 +7,7 @@ import org.example.studentsevents.Repository.CategoryRepository;
 import org.example.studentsevents.Repository.EventRepository;
 import org.example.studentsevents.model.Category;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +21,7 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final ModelMapper modelMapper;
     private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly=true)
     public CategoryResponse getCategoryById(Long id) {
@@ -43,6 +45,7 @@ public class CategoryService {
         }
         Category category = modelMapper.map(categoryRequest, Category.class);
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(CategoryChangedEvent.saved(savedCategory.getId()));
         return modelMapper.map(savedCategory, CategoryResponse.class);
     }
 
@@ -52,6 +55,8 @@ public class CategoryService {
                .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
        existingCategory.setName(categoryRequest.getName());
        Category savedCategory = categoryRepository.save(existingCategory);
+       eventPublisher.publishEvent(CategoryChangedEvent.saved(id));
+       eventRepository.findIdsByCategoryId(id).forEach(eventId -> eventPublisher.publishEvent(EventChangedEvent.saved(eventId)));
        return modelMapper.map(savedCategory, CategoryResponse.class);
     }
 
@@ -66,5 +71,6 @@ public class CategoryService {
         }
 
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(CategoryChangedEvent.deleted(id));
     }
 }
@@ -0,0 +1,13 @@
+package org.example.studentsevents.Service;
+
+// Published by CityService when a city is created, renamed or deleted. Its events get their own EventChangedEvent.
+public record CityChangedEvent(Long cityId, boolean deleted) {
+
+    public static CityChangedEvent saved(Long cityId) {
+        return new CityChangedEvent(cityId, false);
+    }
+
+    public static CityChangedEvent deleted(Long cityId) {
+        return new CityChangedEvent(cityId, true);
+    }
+}
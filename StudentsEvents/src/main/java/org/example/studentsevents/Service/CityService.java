@@ -7,6 +7,7 @@ import org.example.studentsevents.Repository.EventRepository;
 import org.example.studentsevents.model.City;
 import org.example.studentsevents.Repository.CityRepository;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +21,7 @@ public class CityService {
     private final CityRepository cityRepository;
     private final ModelMapper modelMapper;
     private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CityResponse createCity(CityRequest cityRequest) {
@@ -28,6 +30,7 @@ public class CityService {
         }
         City newCity = modelMapper.map(cityRequest, City.class);
         City savedCity = cityRepository.save(newCity);
+        eventPublisher.publishEvent(CityChangedEvent.saved(savedCity.getId()));
         return modelMapper.map(savedCity, CityResponse.class);
     }
 
@@ -52,6 +55,8 @@ public class CityService {
                 .orElseThrow(() -> new RuntimeException("City not found with id: " + id));
         existingCity.setName(cityRequest.getName());
         City savedCity = cityRepository.save(existingCity);
+        eventPublisher.publishEvent(CityChangedEvent.saved(id));
+        eventRepository.findIdsByCityId(id).forEach(eventId -> eventPublisher.publishEvent(EventChangedEvent.saved(eventId)));
         return modelMapper.map(savedCity, CityResponse.class);
     }
 
@@ -66,5 +71,6 @@ public class CityService {
         }
 
         cityRepository.deleteById(id);
+        eventPublisher.publishEvent(CityChangedEvent.deleted(id));
     }
 }
\ No newline at end of file
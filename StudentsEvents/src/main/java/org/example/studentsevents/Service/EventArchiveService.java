@@ -0,0 +1,138 @@
+package org.example.studentsevents.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.studentsevents.DTOResponse.ArchivedBookingResponse;
+import org.example.studentsevents.DTOResponse.ArchivedEventResponse;
+import org.example.studentsevents.DTOResponse.UserSummaryResponse;
+import org.example.studentsevents.Repository.ArchivedBookingRepository;
+import org.example.studentsevents.Repository.ArchivedEventRepository;
+import org.example.studentsevents.Repository.EventArchiveWriter;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.Repository.UserRepository;
+import org.example.studentsevents.model.ArchivedBooking;
+import org.example.studentsevents.model.ArchivedEvent;
+import org.example.studentsevents.model.User;
+import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the live events table to upcoming events. Events that started longer ago than app.archive.after-hours are
+ * moved, together with their bookings, into the archive tables in batches of app.archive.batch-size, each batch in
+ * its own transaction. Until then organizers can still manage them as usual; afterwards they are read-only and only
+ * reachable through the archive queries below.
+ * <p>
+ * Every archived event is announced as deleted, so the search index and the map clusters drop it. When two instances
+ * pick the same batch, the second one fails on the archive's primary key and leaves it to the first.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(EventArchiveService.class);
+
+    private final EventRepository eventRepository;
+    private final EventArchiveWriter eventArchiveWriter;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final UserRepository userRepository;
+    private final ModelMapper modelMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.archive.after-hours:24}")
+    private long afterHours;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${app.archive.interval-ms:3600000}",
+            fixedDelayString = "${app.archive.interval-ms:3600000}")
+    public int archivePastEvents() {
+        LocalDateTime startedBefore = LocalDateTime.now().minusHours(afterHours);
+        int archived = 0;
+        int batch;
+        do {
+            batch = Objects.requireNonNull(transactionTemplate.execute(status -> archiveBatch(startedBefore)));
+            archived += batch;
+        } while (batch == batchSize);
+        if (archived > 0) {
+            logger.info("Archived {} past event(s)", archived);
+        }
+        return archived;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ArchivedEventResponse> getArchivedEventsForOrganizer(User organizer, Pageable pageable) {
+        return mapToArchivedEventResponses(archivedEventRepository.findByOrganizerId(organizer.getId(), pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ArchivedEventResponse> getArchivedEventsForAdmin(Pageable pageable) {
+        return mapToArchivedEventResponses(archivedEventRepository.findAll(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ArchivedBookingResponse> getArchivedBookingsForEvent(Long eventId, Pageable pageable) {
+        ArchivedEvent event = archivedEventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Archived event not found with id: " + eventId));
+        User currentUser = getCurrentUser();
+        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> role.getName().equals("ROLE_ADMIN"));
+        if (!isAdmin && !event.getOrganizerId().equals(currentUser.getId())) {
+            throw new IllegalStateException("Forbidden: You do not have permission to access this event.");
+        }
+        Page<ArchivedBooking> bookings = archivedBookingRepository.findByEventId(eventId, pageable);
+        Map<Long, User> users = userRepository.findAllById(bookings.map(ArchivedBooking::getUserId).toSet()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return bookings.map(booking -> {
+            User user = users.get(booking.getUserId());
+            UserSummaryResponse userSummary = user == null ? null
+                    : new UserSummaryResponse(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+            return new ArchivedBookingResponse(booking.getId(), booking.getBookingDateTime(),
+                    booking.getTicketTypeName(), booking.getPrice(), userSummary);
+        });
+    }
+
+    private int archiveBatch(LocalDateTime startedBefore) {
+        List<Long> eventIds = eventRepository.findIdsStartedBefore(startedBefore, PageRequest.of(0, batchSize));
+        eventArchiveWriter.archive(eventIds, LocalDateTime.now());
+        // Delivered once the batch commits.
+        eventIds.forEach(eventId -> eventPublisher.publishEvent(EventChangedEvent.deleted(eventId)));
+        return eventIds.size();
+    }
+
+    private Page<ArchivedEventResponse> mapToArchivedEventResponses(Page<ArchivedEvent> events) {
+        Map<Long, Long> bookingCounts = events.isEmpty() ? Map.of()
+                : archivedBookingRepository.countByEventIds(events.map(ArchivedEvent::getId).toList()).stream()
+                        .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+        List<ArchivedEventResponse> content = events.getContent().stream().map(event -> {
+            ArchivedEventResponse response = modelMapper.map(event, ArchivedEventResponse.class);
+            response.setBookingCount(bookingCounts.getOrDefault(event.getId(), 0L));
+            return response;
+        }).toList();
+        return new PageImpl<>(content, events.getPageable(), events.getTotalElements());
+    }
+
+    private User getCurrentUser() {
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findWithRolesByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
+    }
+}
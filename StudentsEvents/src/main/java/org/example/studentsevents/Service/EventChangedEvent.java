@@ -0,0 +1,17 @@
+package org.example.studentsevents.Service;
+
+/**
+ * Published whenever an event, one of its ticket types, or the category or city it belongs to changes, so that
+ * in-process search structures can update that one event. Listeners should act after the commit, reading the event
+ * back from the database; a rolled back change is never published to them.
+ */
+public record EventChangedEvent(Long eventId, boolean deleted) {
+
+    public static EventChangedEvent saved(Long eventId) {
+        return new EventChangedEvent(eventId, false);
+    }
+
+    public static EventChangedEvent deleted(Long eventId) {
+        return new EventChangedEvent(eventId, true);
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.studentsevents.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.studentsevents.DTOResponse.EventClusterResponse;
+import org.example.studentsevents.Repository.EventArea;
+import org.example.studentsevents.Repository.EventGeoAggregation;
+import org.example.studentsevents.Repository.EventPosition;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.model.GeoHash;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Map markers aggregated on the server. The map is cut into geohash tiles two characters coarser than the clusters
+ * for the requested zoom, so a viewport touches a handful of tiles, each holding up to 1024 cluster cells. Only events
+ * that have not started yet are shown. Every tile is aggregated once in the database and then served from memory
+ * until the first event in it starts.
+ * <p>
+ * Otherwise a tile only changes when an event inside it appears, disappears, moves or is rescheduled. The service
+ * remembers where and when each event is, so on an {@link EventChangedEvent} it drops just the tiles around the old
+ * and the new position, and nothing at all when neither changed. Events written without going through EventService
+ * are not seen until restart.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventClusterService {
+
+    // Clusters about a quarter of a 256 px map tile wide, i.e. roughly 64 px on screen.
+    private static final int CLUSTERS_PER_MAP_TILE_LOG2 = 2;
+    private static final int TILE_CHARACTERS_ABOVE_CLUSTERS = 2;
+    private static final int MAX_TILES_PER_REQUEST = 64;
+
+    private final EventGeoAggregation eventGeoAggregation;
+    private final EventRepository eventRepository;
+
+    @Value("${app.map.cluster-cache.max-tiles:10000}")
+    private int maxTiles;
+
+    // The clusters of one tile, and the start of its first event, after which they are out of date; null when the
+    // tile has no events.
+    private record TileClusters(List<EventClusterResponse> clusters, LocalDateTime expiresAfter) {
+    }
+
+    // Tile geohash -> cluster precision -> clusters.
+    private final Map<String, Map<Integer, TileClusters>> tiles = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, so a tile aggregated while an event moved is not cached.
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Map<Long, EventPosition> positions;
+
+    public List<EventClusterResponse> clusters(double south, double west, double north, double east, int zoom) {
+        loadPositions();
+        int precision = GeoHash.precisionForWidth(360.0 / Math.pow(2, Math.max(0, zoom) + CLUSTERS_PER_MAP_TILE_LOG2));
+        List<EventArea.Box> viewport = new EventArea(Math.min(south, north), west, Math.max(south, north), east,
+                null, null, null).boxes();
+
+        List<EventClusterResponse> clusters = new ArrayList<>();
+        for (EventArea.Box box : viewport) {
+            int tilePrecision = Math.max(1, precision - TILE_CHARACTERS_ABOVE_CLUSTERS);
+            while (tilePrecision > 1
+                    && GeoHash.cellCount(box.south(), box.west(), box.north(), box.east(), tilePrecision) > MAX_TILES_PER_REQUEST) {
+                tilePrecision--;
+            }
+            for (String tile : GeoHash.cells(box.south(), box.west(), box.north(), box.east(), tilePrecision)) {
+                for (EventClusterResponse cluster : tile(tile, Math.max(precision, tilePrecision))) {
+                    if (contains(box, cluster)) {
+                        clusters.add(cluster);
+                    }
+                }
+            }
+        }
+        return clusters;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        Map<Long, EventPosition> known = positions;
+        if (known == null) {
+            // Nothing has been cached yet.
+            return;
+        }
+        EventPosition before = known.get(change.eventId());
+        EventPosition after = change.deleted() ? null : eventRepository.findPositionById(change.eventId()).orElse(null);
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (after == null) {
+            known.remove(change.eventId());
+        } else {
+            known.put(change.eventId(), after);
+        }
+        generation.incrementAndGet();
+        invalidateAround(before);
+        invalidateAround(after);
+    }
+
+    private List<EventClusterResponse> tile(String tile, int precision) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, TileClusters> byPrecision = tiles.get(tile);
+        TileClusters cached = byPrecision == null ? null : byPrecision.get(precision);
+        if (cached != null && (cached.expiresAfter() == null || !now.isAfter(cached.expiresAfter()))) {
+            return cached.clusters();
+        }
+        long startedAt = generation.get();
+        List<EventGeoAggregation.Cell> cells = eventGeoAggregation.cellsInTile(tile, precision, now);
+        List<EventClusterResponse> clusters = cells.stream()
+                .map(cell -> new EventClusterResponse(cell.count(), cell.latitude(), cell.longitude(),
+                        cell.south(), cell.west(), cell.north(), cell.east(),
+                        cell.count() == 1 ? cell.lowestId() : null))
+                .toList();
+        LocalDateTime expiresAfter = cells.stream().map(EventGeoAggregation.Cell::nextStart)
+                .min(Comparator.naturalOrder()).orElse(null);
+        if (generation.get() == startedAt && (byPrecision != null || tiles.size() < maxTiles)) {
+            tiles.computeIfAbsent(tile, key -> new ConcurrentHashMap<>())
+                    .put(precision, new TileClusters(clusters, expiresAfter));
+        }
+        return clusters;
+    }
+
+    // Every cached tile containing the position has the position's geohash as its own prefix.
+    private void invalidateAround(EventPosition position) {
+        if (position == null) {
+            return;
+        }
+        String geohash = position.geohash();
+        for (int length = 1; length <= geohash.length(); length++) {
+            tiles.remove(geohash.substring(0, length));
+        }
+    }
+
+    private void loadPositions() {
+        if (positions != null) {
+            return;
+        }
+        synchronized (this) {
+            if (positions == null) {
+                Map<Long, EventPosition> loaded = new ConcurrentHashMap<>();
+                for (EventPosition position : eventRepository.findAllPositions()) {
+                    loaded.put(position.id(), position);
+                }
+                positions = loaded;
+            }
+        }
+    }
+
+    private static boolean contains(EventArea.Box box, EventClusterResponse cluster) {
+        return cluster.getLatitude() >= box.south() && cluster.getLatitude() <= box.north()
+                && cluster.getLongitude() >= box.west() && cluster.getLongitude() <= box.east();
+    }
+}
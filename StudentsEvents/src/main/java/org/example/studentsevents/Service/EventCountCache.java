@@ -0,0 +1,130 @@
+package org.example.studentsevents.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.studentsevents.DTORequest.EventSearchRequest;
+import org.example.studentsevents.DTOResponse.EventCountResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Totals for the public event listing, kept apart from the listing itself so that paging through slices never pays
+ * for a COUNT(*). Each filter combination is counted on its first request and then recounted in the background; a
+ * total can therefore lag behind the listing by up to one refresh interval, and says when it was taken.
+ * <p>
+ * Combinations nobody asked for during the idle period are dropped at the next refresh. Once the cache is full, new
+ * combinations are counted on every request instead of being stored.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventCountCache {
+    private static final Logger logger = LoggerFactory.getLogger(EventCountCache.class);
+
+    private final EventService eventService;
+
+    @Value("${app.search.count.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${app.search.count.idle-ms:600000}")
+    private long idleMillis;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public EventCountResponse count(EventSearchRequest search) {
+        String key = key(search);
+        CachedCount cached = counts.get(key);
+        if (cached == null) {
+            cached = new CachedCount(search, eventService.countPublicEvents(search), LocalDateTime.now());
+            if (counts.size() < maxEntries) {
+                counts.putIfAbsent(key, cached);
+            }
+        }
+        cached.lastRequestedMillis = System.currentTimeMillis();
+        return new EventCountResponse(cached.total, cached.countedAt);
+    }
+
+    @Scheduled(initialDelayString = "${app.search.count.refresh-ms:60000}",
+            fixedDelayString = "${app.search.count.refresh-ms:60000}")
+    public void refresh() {
+        long idleSince = System.currentTimeMillis() - idleMillis;
+        counts.values().removeIf(cached -> cached.lastRequestedMillis < idleSince);
+        for (Map.Entry<String, CachedCount> entry : counts.entrySet()) {
+            CachedCount cached = entry.getValue();
+            try {
+                CachedCount refreshed = new CachedCount(cached.search, eventService.countPublicEvents(cached.search),
+                        LocalDateTime.now());
+                refreshed.lastRequestedMillis = cached.lastRequestedMillis;
+                counts.replace(entry.getKey(), cached, refreshed);
+            } catch (RuntimeException e) {
+                // Keep serving the previous total; the next refresh tries again.
+                logger.warn("Could not refresh the event count for {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    // Requests that differ only in case, spacing, or the order of their categories share one entry.
+    private static String key(EventSearchRequest search) {
+        List<String> categories = search.getCategoryName() == null ? List.of() : search.getCategoryName().stream()
+                .map(EventCountCache::normalize)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+        return String.join("\u0000",
+                normalize(search.getQuery()),
+                normalize(search.getEventName()),
+                String.join(",", categories),
+                normalize(search.getCityName()),
+                date(search.getDateFrom()),
+                date(search.getDateTo()),
+                price(search.getMinPrice()),
+                price(search.getMaxPrice()),
+                coordinate(search.getSouth()),
+                coordinate(search.getWest()),
+                coordinate(search.getNorth()),
+                coordinate(search.getEast()),
+                coordinate(search.getLat()),
+                coordinate(search.getLng()),
+                coordinate(search.getRadiusKm()));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String date(LocalDate date) {
+        return Objects.toString(date, "");
+    }
+
+    private static String price(BigDecimal price) {
+        return price == null ? "" : price.stripTrailingZeros().toPlainString();
+    }
+
+    private static String coordinate(Double value) {
+        return Objects.toString(value, "");
+    }
+
+    private static final class CachedCount {
+        private final EventSearchRequest search;
+        private final long total;
+        private final LocalDateTime countedAt;
+        private volatile long lastRequestedMillis;
+
+        private CachedCount(EventSearchRequest search, long total, LocalDateTime countedAt) {
+            this.search = search;
+            this.total = total;
+            this.countedAt = countedAt;
+        }
+    }
+}
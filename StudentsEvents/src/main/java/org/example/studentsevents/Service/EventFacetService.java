@@ -0,0 +1,172 @@
+package org.example.studentsevents.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.studentsevents.DTORequest.EventSearchRequest;
+import org.example.studentsevents.DTOResponse.EventFacetsResponse;
+import org.example.studentsevents.DTOResponse.FacetCountResponse;
+import org.example.studentsevents.DTOResponse.PriceBucketResponse;
+import org.example.studentsevents.Repository.EventFacetRow;
+import org.example.studentsevents.Repository.EventFullTextSearch;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.Repository.EventSpecifications;
+import org.example.studentsevents.Repository.PriceRange;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Facet counts for the public event search: per category, per city and per price bucket, how many events the search
+ * would return with that option chosen. Each facet leaves out its own filter and keeps the others, so picking a
+ * second category or another price range shows what it adds.
+ * <p>
+ * The counts come from wherever the listing itself comes from. When the Lucene index answers the search, its typo
+ * matches are counted by the index too. Otherwise one aggregate query runs the search without its category, city and
+ * price filters, groups the matches by category and city and counts each group per price range in SQL; every facet
+ * is then a sum over the groups that pass the other two filters.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventFacetService {
+
+    // Ticket prices start at 0.01, see TicketTypeRequest.
+    private static final List<PriceRange> PRICE_BUCKETS = List.of(
+            new PriceRange(new BigDecimal("0.01"), new BigDecimal("9.99")),
+            new PriceRange(new BigDecimal("10"), new BigDecimal("24.99")),
+            new PriceRange(new BigDecimal("25"), new BigDecimal("49.99")),
+            new PriceRange(new BigDecimal("50"), new BigDecimal("99.99")),
+            new PriceRange(new BigDecimal("100"), null));
+
+    private final EventRepository eventRepository;
+    private final EventFullTextSearch eventFullTextSearch;
+    private final EventSearchIndex eventSearchIndex;
+
+    @Transactional(readOnly = true)
+    public EventFacetsResponse facets(EventSearchRequest search) {
+        if (eventSearchIndex.appliesTo(search)) {
+            try {
+                return indexFacets(search);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        EventSearchRequest unfaceted = copyOf(search);
+        unfaceted.setCategoryName(new ArrayList<>());
+        unfaceted.setCityName(null);
+        unfaceted.setMinPrice(null);
+        unfaceted.setMaxPrice(null);
+        PriceRange searched = new PriceRange(search.getMinPrice(), search.getMaxPrice());
+        List<EventFacetRow> rows = eventFullTextSearch.appliesTo(unfaceted)
+                ? eventFullTextSearch.facetRows(unfaceted, searched, PRICE_BUCKETS)
+                : eventRepository.findFacetRows(EventSpecifications.matching(unfaceted), searched, PRICE_BUCKETS);
+
+        Predicate<EventFacetRow> inCategory = categoryFilter(search);
+        Predicate<EventFacetRow> inCity = cityFilter(search);
+
+        List<FacetCountResponse> categories = count(rows, inCity, EventFacetRow::categoryId, EventFacetRow::categoryName);
+        List<FacetCountResponse> cities = count(rows, inCategory, EventFacetRow::cityId, EventFacetRow::cityName);
+        List<EventFacetRow> forPrices = rows.stream().filter(inCategory.and(inCity)).toList();
+        List<PriceBucketResponse> prices = new ArrayList<>(PRICE_BUCKETS.size());
+        for (int i = 0; i < PRICE_BUCKETS.size(); i++) {
+            int bucket = i;
+            prices.add(priceBucket(PRICE_BUCKETS.get(i),
+                    forPrices.stream().mapToLong(row -> row.inBuckets().get(bucket)).sum()));
+        }
+        return new EventFacetsResponse(categories, cities, prices);
+    }
+
+    // The same facets counted by the index: one facet collection per dimension, and one for all the price buckets.
+    private EventFacetsResponse indexFacets(EventSearchRequest search) throws IOException {
+        EventSearchRequest anyCategory = copyOf(search);
+        anyCategory.setCategoryName(new ArrayList<>());
+        List<FacetCountResponse> categories = named(eventSearchIndex.facets(anyCategory, EventSearchIndex.CATEGORY_FACET));
+
+        EventSearchRequest anyCity = copyOf(search);
+        anyCity.setCityName(null);
+        List<FacetCountResponse> cities = named(eventSearchIndex.facets(anyCity, EventSearchIndex.CITY_FACET));
+
+        EventSearchRequest anyPrice = copyOf(search);
+        anyPrice.setMinPrice(null);
+        anyPrice.setMaxPrice(null);
+        List<Long> priceCounts = eventSearchIndex.priceCounts(anyPrice, PRICE_BUCKETS);
+        List<PriceBucketResponse> prices = new ArrayList<>(PRICE_BUCKETS.size());
+        for (int i = 0; i < PRICE_BUCKETS.size(); i++) {
+            prices.add(priceBucket(PRICE_BUCKETS.get(i), priceCounts.get(i)));
+        }
+        return new EventFacetsResponse(categories, cities, prices);
+    }
+
+    private static List<FacetCountResponse> count(List<EventFacetRow> rows, Predicate<EventFacetRow> filter,
+                                                  Function<EventFacetRow, Long> id, Function<EventFacetRow, String> name) {
+        Map<Long, FacetCountResponse> counts = new LinkedHashMap<>();
+        for (EventFacetRow row : rows) {
+            if (id.apply(row) != null && row.inPriceRange() > 0 && filter.test(row)) {
+                FacetCountResponse count = counts.computeIfAbsent(id.apply(row),
+                        key -> new FacetCountResponse(key, name.apply(row), 0));
+                count.setCount(count.getCount() + row.inPriceRange());
+            }
+        }
+        return sorted(new ArrayList<>(counts.values()));
+    }
+
+    private static List<FacetCountResponse> named(List<EventSearchIndex.FacetCount> counts) {
+        return sorted(counts.stream()
+                .map(count -> new FacetCountResponse(count.id(), count.name(), count.count()))
+                .collect(Collectors.toCollection(ArrayList::new)));
+    }
+
+    private static List<FacetCountResponse> sorted(List<FacetCountResponse> counts) {
+        counts.sort(Comparator.comparingLong(FacetCountResponse::getCount).reversed()
+                .thenComparing(FacetCountResponse::getName));
+        return counts;
+    }
+
+    private static PriceBucketResponse priceBucket(PriceRange bucket, long count) {
+        return new PriceBucketResponse(bucket.min(), bucket.max(), count);
+    }
+
+    private static Predicate<EventFacetRow> categoryFilter(EventSearchRequest search) {
+        List<String> categoryNames = EventSpecifications.categoryNames(search);
+        return row -> categoryNames.isEmpty()
+                || row.categoryName() != null && categoryNames.contains(EventSpecifications.normalize(row.categoryName()));
+    }
+
+    private static Predicate<EventFacetRow> cityFilter(EventSearchRequest search) {
+        String cityName = search.getCityName();
+        if (cityName == null || cityName.isBlank()) {
+            return row -> true;
+        }
+        String normalized = EventSpecifications.normalize(cityName);
+        return row -> row.cityName() != null && EventSpecifications.normalize(row.cityName()).equals(normalized);
+    }
+
+    private static EventSearchRequest copyOf(EventSearchRequest search) {
+        EventSearchRequest copy = new EventSearchRequest();
+        copy.setQuery(search.getQuery());
+        copy.setEventName(search.getEventName());
+        copy.setCategoryName(search.getCategoryName() == null ? new ArrayList<>() : new ArrayList<>(search.getCategoryName()));
+        copy.setCityName(search.getCityName());
+        copy.setDateFrom(search.getDateFrom());
+        copy.setDateTo(search.getDateTo());
+        copy.setMinPrice(search.getMinPrice());
+        copy.setMaxPrice(search.getMaxPrice());
+        copy.setSouth(search.getSouth());
+        copy.setWest(search.getWest());
+        copy.setNorth(search.getNorth());
+        copy.setEast(search.getEast());
+        copy.setLat(search.getLat());
+        copy.setLng(search.getLng());
+        copy.setRadiusKm(search.getRadiusKm());
+        return copy;
+    }
+}
@@ -0,0 +1,552 @@
+package org.example.studentsevents.Service;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LatLonPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsCollectorManager;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.range.LongRange;
+import org.apache.lucene.facet.range.LongRangeFacetCounts;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.MMapDirectory;
+import org.example.studentsevents.DTORequest.EventSearchRequest;
+import org.example.studentsevents.Repository.EventArea;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.Repository.PriceRange;
+import org.example.studentsevents.model.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * In-process Lucene index of events, an alternative to the database text search behind GET /api/events. Names are
+ * matched typo-tolerantly, category and city can be counted as facets, and results come back as event ids, so the
+ * database is only asked for the events of the final page.
+ * <p>
+ * The index lives in a memory-mapped directory and is rebuilt from the database on every start, several pages of
+ * events at a time in parallel; until that is done, searches go to the database. An {@link EventChangedEvent} only
+ * queues its event once the transaction has committed; a background thread picks up what has queued a short while
+ * later, re-reads those events in one query, writes them and reopens the searcher once for the whole batch, so
+ * renaming a category with hundreds of events costs one read and one reopen, and a failing index never fails the
+ * request that changed the event. Changes that arrive while a rebuild is running wait for it to finish, so the
+ * rebuild cannot wipe them out or miss them.
+ * <p>
+ * Off unless {@code app.search.lucene.enabled=true}.
+ */
+@Service
+public class EventSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchIndex.class);
+
+    private static final String ID = "id";
+    private static final String ID_SORT = "id_sort";
+    private static final String NAME = "name";
+    private static final String NAME_KEY = "name_key";
+    private static final String DESCRIPTION = "description";
+    private static final String PLACE = "place";
+    private static final String CATEGORY_KEY = "category_key";
+    private static final String CITY_KEY = "city_key";
+    private static final String DATE = "date";
+    private static final String DATE_SORT = "date_sort";
+    private static final String LOCATION = "location";
+    private static final String MIN_PRICE = "min_price";
+    private static final String MAX_PRICE = "max_price";
+    public static final String CATEGORY_FACET = "category";
+    public static final String CITY_FACET = "city";
+
+    // One facet value: the category or city id, its name and the number of matching events.
+    public record FacetCount(long id, String name, int count) {
+    }
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int MAX_FACET_VALUES = 100;
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+    private final Path directoryPath;
+    private final int rebuildThreads;
+    private final long refreshDelayMs;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+
+    private final ScheduledExecutorService indexer = Executors.newSingleThreadScheduledExecutor();
+
+    // Guarded by indexLock, which every write to the index holds, so a rebuild and a batch of changes never interleave.
+    private final Object indexLock = new Object();
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile boolean ready;
+    private volatile SortedSetDocValuesReaderState facetState;
+
+    // Events changed since the last batch, and whether they were deleted; guarded by pendingChanges, like
+    // batchScheduled and closed.
+    private final Map<Long, Boolean> pendingChanges = new LinkedHashMap<>();
+    private boolean batchScheduled;
+    private boolean closed;
+
+    public EventSearchIndex(EventRepository eventRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.search.lucene.enabled:false}") boolean enabled,
+                            @Value("${app.search.lucene.directory:${java.io.tmpdir}/stuvents-event-index}") String directory,
+                            @Value("${app.search.lucene.rebuild-threads:4}") int rebuildThreads,
+                            @Value("${app.search.lucene.refresh-delay-ms:200}") long refreshDelayMs) {
+        this.eventRepository = eventRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.directoryPath = Path.of(directory);
+        this.rebuildThreads = Math.max(1, rebuildThreads);
+        this.refreshDelayMs = refreshDelayMs;
+    }
+
+    // Whether this search should be answered here rather than by the database.
+    public boolean appliesTo(EventSearchRequest search) {
+        return ready && search.getQuery() != null && !terms(search.getQuery()).isEmpty();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void openAndRebuild() throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        synchronized (indexLock) {
+            if (writer == null) {
+                writer = new IndexWriter(new MMapDirectory(directoryPath),
+                        new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+                searcherManager = new SearcherManager(writer, null);
+            }
+        }
+        rebuild();
+    }
+
+    // Re-indexes every event, loading and converting batches of them on several threads at once.
+    public void rebuild() throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        synchronized (indexLock) {
+            List<Long> ids = readTransaction.execute(status -> eventRepository.findAllIds());
+            writer.deleteAll();
+            ExecutorService loaders = Executors.newFixedThreadPool(rebuildThreads);
+            try {
+                List<Future<?>> batches = new ArrayList<>();
+                for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+                    List<Long> batch = ids.subList(from, Math.min(ids.size(), from + REBUILD_BATCH_SIZE));
+                    batches.add(loaders.submit(() -> indexBatch(batch)));
+                }
+                for (Future<?> batch : batches) {
+                    batch.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Could not rebuild the event search index.", e.getCause());
+            } finally {
+                loaders.shutdown();
+            }
+            // Events changed since the ids were read may have been loaded before their change committed.
+            applyPendingChanges();
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            logger.info("Indexed {} events in {} ms", ids.size(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pendingChanges) {
+            if (closed) {
+                return;
+            }
+            pendingChanges.put(change.eventId(), change.deleted());
+            if (!batchScheduled) {
+                batchScheduled = true;
+                indexer.schedule(this::applyBatch, refreshDelayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    // Applies the changes queued so far and makes them searchable, without waiting for the background thread.
+    public void flush() throws IOException {
+        synchronized (indexLock) {
+            if (writer != null && applyPendingChanges()) {
+                searcherManager.maybeRefreshBlocking();
+            }
+        }
+    }
+
+    // Runs on the indexer thread. Before the first rebuild has opened the index, the changes stay queued for it.
+    private void applyBatch() {
+        synchronized (pendingChanges) {
+            batchScheduled = false;
+        }
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            // The index only catches up with these events on the next rebuild.
+            logger.error("Could not apply event changes to the search index", e);
+        }
+    }
+
+    // Writes every queued change, reading the events that still exist in one query. Returns whether there were any.
+    private boolean applyPendingChanges() throws IOException {
+        Map<Long, Boolean> changes;
+        synchronized (pendingChanges) {
+            if (pendingChanges.isEmpty()) {
+                return false;
+            }
+            changes = new LinkedHashMap<>(pendingChanges);
+            pendingChanges.clear();
+        }
+        List<Long> saved = changes.entrySet().stream().filter(change -> !change.getValue()).map(Map.Entry::getKey).toList();
+        Map<Long, Document> documents = saved.isEmpty() ? Map.of() : readTransaction.execute(status ->
+                eventRepository.findAllById(saved).stream().collect(Collectors.toMap(Event::getId, this::toDocument)));
+        for (Long eventId : changes.keySet()) {
+            Term id = new Term(ID, String.valueOf(eventId));
+            Document document = documents.get(eventId);
+            if (document == null) {
+                writer.deleteDocuments(id);
+            } else {
+                writer.updateDocument(id, document);
+            }
+        }
+        return true;
+    }
+
+    // Ids of the requested page: best match first, then by date. The order of the pageable is not used.
+    public Page<Long> search(EventSearchRequest search, Pageable pageable) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            Query query = toQuery(search);
+            int total = searcher.count(query);
+            if (total == 0 || pageable.getOffset() >= total) {
+                return new PageImpl<>(List.of(), pageable, total);
+            }
+            int wanted = (int) Math.min(total, pageable.getOffset() + pageable.getPageSize());
+            Sort sort = new Sort(SortField.FIELD_SCORE, new SortField(DATE_SORT, SortField.Type.LONG),
+                    new SortField(ID_SORT, SortField.Type.LONG));
+            TopFieldDocs top = searcher.search(query, wanted, sort);
+            StoredFields storedFields = searcher.storedFields();
+            List<Long> ids = new ArrayList<>();
+            for (int i = (int) pageable.getOffset(); i < top.scoreDocs.length; i++) {
+                ScoreDoc hit = top.scoreDocs[i];
+                ids.add(Long.valueOf(storedFields.document(hit.doc).get(ID)));
+            }
+            return new PageImpl<>(ids, pageable, total);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    public int count(EventSearchRequest search) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.count(toQuery(search));
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // Matching events per category or per city (dimension CATEGORY_FACET or CITY_FACET), most frequent first. The
+    // facet labels carry the id in front of the name, see facetLabel.
+    public List<FacetCount> facets(EventSearchRequest search, String dimension) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            FacetsCollector hits = searcher.search(toQuery(search), new FacetsCollectorManager());
+            FacetResult result = new SortedSetDocValuesFacetCounts(facetState(searcher.getIndexReader()), hits)
+                    .getTopChildren(MAX_FACET_VALUES, dimension);
+            List<FacetCount> counts = new ArrayList<>();
+            if (result != null) {
+                for (LabelAndValue value : result.labelValues) {
+                    int separator = value.label.indexOf(':');
+                    counts.add(new FacetCount(Long.parseLong(value.label.substring(0, separator)),
+                            value.label.substring(separator + 1), value.value.intValue()));
+                }
+            }
+            return counts;
+        } catch (IllegalArgumentException e) {
+            // Nothing indexed has a value for this dimension yet.
+            return List.of();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // Matching events per price range, in the order of the ranges, all counted from one collection of the hits. An
+    // event lies in a range when its ticket prices reach into it, that is unless they all lie below or all above it.
+    // Those two are counted on the max and the min price and taken off the events with a price; no event is in both,
+    // as its min price never exceeds its max.
+    public List<Long> priceCounts(EventSearchRequest search, List<PriceRange> ranges) throws IOException {
+        List<LongRange> below = new ArrayList<>();
+        List<LongRange> above = new ArrayList<>();
+        above.add(new LongRange("priced", Long.MIN_VALUE, true, Long.MAX_VALUE, true));
+        for (int i = 0; i < ranges.size(); i++) {
+            PriceRange range = ranges.get(i);
+            if (range.min() != null) {
+                below.add(new LongRange(String.valueOf(i), Long.MIN_VALUE, true, cents(range.min()), false));
+            }
+            if (range.max() != null) {
+                above.add(new LongRange(String.valueOf(i), cents(range.max()), false, Long.MAX_VALUE, true));
+            }
+        }
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            FacetsCollector hits = searcher.search(toQuery(search), new FacetsCollectorManager());
+            LabelAndValue[] belowCounts = new LongRangeFacetCounts(MAX_PRICE, hits, below.toArray(LongRange[]::new))
+                    .getAllChildren(MAX_PRICE).labelValues;
+            LabelAndValue[] aboveCounts = new LongRangeFacetCounts(MIN_PRICE, hits, above.toArray(LongRange[]::new))
+                    .getAllChildren(MIN_PRICE).labelValues;
+            long[] counts = new long[ranges.size()];
+            Arrays.fill(counts, aboveCounts[0].value.longValue());
+            for (LabelAndValue count : belowCounts) {
+                counts[Integer.parseInt(count.label)] -= count.value.longValue();
+            }
+            for (int i = 1; i < aboveCounts.length; i++) {
+                counts[Integer.parseInt(aboveCounts[i].label)] -= aboveCounts[i].value.longValue();
+            }
+            return Arrays.stream(counts).boxed().toList();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // Lets a batch that is already queued finish before the index is closed.
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        synchronized (pendingChanges) {
+            closed = true;
+        }
+        indexer.shutdown();
+        indexer.awaitTermination(10, TimeUnit.SECONDS);
+        synchronized (indexLock) {
+            ready = false;
+            if (searcherManager != null) {
+                searcherManager.close();
+            }
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+    }
+
+    private void indexBatch(List<Long> ids) {
+        List<Document> documents = readTransaction.execute(status -> {
+            return eventRepository.findAllById(ids).stream().map(this::toDocument).toList();
+        });
+        try {
+            writer.addDocuments(documents);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Document toDocument(Event event) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(event.getId()), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_SORT, event.getId()));
+        document.add(new TextField(NAME, event.getName(), Field.Store.NO));
+        document.add(new StringField(NAME_KEY, normalize(event.getName()), Field.Store.NO));
+        if (event.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, event.getDescription(), Field.Store.NO));
+        }
+        if (event.getCategory() != null) {
+            document.add(new TextField(PLACE, event.getCategory().getName(), Field.Store.NO));
+            document.add(new StringField(CATEGORY_KEY, normalize(event.getCategory().getName()), Field.Store.NO));
+            document.add(new SortedSetDocValuesFacetField(CATEGORY_FACET,
+                    facetLabel(event.getCategory().getId(), event.getCategory().getName())));
+        }
+        if (event.getCity() != null) {
+            document.add(new TextField(PLACE, event.getCity().getName(), Field.Store.NO));
+            document.add(new StringField(CITY_KEY, normalize(event.getCity().getName()), Field.Store.NO));
+            document.add(new SortedSetDocValuesFacetField(CITY_FACET,
+                    facetLabel(event.getCity().getId(), event.getCity().getName())));
+        }
+        long date = epochSeconds(event.getEventDateTime());
+        document.add(new LongPoint(DATE, date));
+        document.add(new NumericDocValuesField(DATE_SORT, date));
+        if (event.getLatitude() != null && event.getLongitude() != null) {
+            document.add(new LatLonPoint(LOCATION, event.getLatitude(), event.getLongitude()));
+        }
+        if (event.getMinPrice() != null && event.getMaxPrice() != null) {
+            document.add(new LongPoint(MIN_PRICE, cents(event.getMinPrice())));
+            document.add(new NumericDocValuesField(MIN_PRICE, cents(event.getMinPrice())));
+            document.add(new LongPoint(MAX_PRICE, cents(event.getMaxPrice())));
+            document.add(new NumericDocValuesField(MAX_PRICE, cents(event.getMaxPrice())));
+        }
+        try {
+            return facetsConfig.build(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Query toQuery(EventSearchRequest search) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        List<String> words = search.getQuery() == null ? List.of() : terms(search.getQuery());
+        if (words.isEmpty()) {
+            query.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        // Every word has to match somewhere; a match in the name counts most, and a close misspelling of a name word
+        // still counts.
+        for (String word : words) {
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            anyField.add(new BoostQuery(new PrefixQuery(new Term(NAME, word)), 4f), BooleanClause.Occur.SHOULD);
+            if (word.length() >= 3) {
+                int maxEdits = word.length() >= 6 ? 2 : 1;
+                anyField.add(new BoostQuery(new FuzzyQuery(new Term(NAME, word), maxEdits), 2f), BooleanClause.Occur.SHOULD);
+            }
+            anyField.add(new BoostQuery(new PrefixQuery(new Term(PLACE, word)), 1.5f), BooleanClause.Occur.SHOULD);
+            anyField.add(new PrefixQuery(new Term(DESCRIPTION, word)), BooleanClause.Occur.SHOULD);
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+
+        if (hasText(search.getEventName())) {
+            query.add(new PrefixQuery(new Term(NAME_KEY, normalize(search.getEventName()))), BooleanClause.Occur.FILTER);
+        }
+        List<String> categoryNames = search.getCategoryName() == null ? List.of()
+                : search.getCategoryName().stream().filter(EventSearchIndex::hasText).map(EventSearchIndex::normalize).toList();
+        if (!categoryNames.isEmpty()) {
+            BooleanQuery.Builder anyCategory = new BooleanQuery.Builder();
+            for (String categoryName : categoryNames) {
+                anyCategory.add(new TermQuery(new Term(CATEGORY_KEY, categoryName)), BooleanClause.Occur.SHOULD);
+            }
+            query.add(anyCategory.build(), BooleanClause.Occur.FILTER);
+        }
+        if (hasText(search.getCityName())) {
+            query.add(new TermQuery(new Term(CITY_KEY, normalize(search.getCityName()))), BooleanClause.Occur.FILTER);
+        }
+        long to = search.getDateTo() == null ? Long.MAX_VALUE : epochSeconds(endOfDay(search.getDateTo()));
+        query.add(LongPoint.newRangeQuery(DATE, epochSeconds(search.earliestStart()), to), BooleanClause.Occur.FILTER);
+        if (search.getMinPrice() != null) {
+            query.add(LongPoint.newRangeQuery(MAX_PRICE, cents(search.getMinPrice()), Long.MAX_VALUE),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (search.getMaxPrice() != null) {
+            query.add(LongPoint.newRangeQuery(MIN_PRICE, Long.MIN_VALUE, cents(search.getMaxPrice())),
+                    BooleanClause.Occur.FILTER);
+        }
+        EventArea.of(search).ifPresent(area -> query.add(area.isCircle()
+                ? LatLonPoint.newDistanceQuery(LOCATION, area.centerLatitude(), area.centerLongitude(), area.radiusKm() * 1000)
+                : LatLonPoint.newBoxQuery(LOCATION, area.south(), area.north(), area.west(), area.east()),
+                BooleanClause.Occur.FILTER));
+        return query.build();
+    }
+
+    private List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    // The reader state behind facet counting is costly to build, so it is kept until the index changes.
+    private SortedSetDocValuesReaderState facetState(IndexReader reader) throws IOException {
+        SortedSetDocValuesReaderState state = facetState;
+        if (state == null || state.getReader() != reader) {
+            state = new DefaultSortedSetDocValuesReaderState(reader, facetsConfig);
+            facetState = state;
+        }
+        return state;
+    }
+
+    // The id goes first: ids have no colon in them, names may.
+    private static String facetLabel(Long id, String name) {
+        return id + ":" + name;
+    }
+
+    private static LocalDateTime endOfDay(LocalDate day) {
+        return day.plusDays(1).atStartOfDay().minusSeconds(1);
+    }
+
+    private static long epochSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long cents(BigDecimal price) {
+        return price.movePointRight(2).longValue();
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
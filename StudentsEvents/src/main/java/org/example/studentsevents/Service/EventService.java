@@ -5,28 +5,44 @@ package org.example.studentsevents.Service;
 import com.google.maps.model.LatLng;
 import lombok.RequiredArgsConstructor;
 import org.example.studentsevents.DTORequest.EventRequest;
+import org.example.studentsevents.DTORequest.EventSearchRequest;
 import org.example.studentsevents.DTORequest.TicketTypeRequest;
 import org.example.studentsevents.DTOResponse.*;
 import org.example.studentsevents.Repository.*;
 import org.example.studentsevents.model.*;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EventService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final Sort SCROLL_ORDER = Sort.by("eventDateTime", "id");
+
     private final EventRepository eventRepository;
     private final CategoryRepository categoryRepository;
     private final CityRepository cityRepository;
@@ -35,30 +51,88 @@ public class EventService {
     private final ModelMapper modelMapper;
     private final ImageService imageService;
     private final GeocodingService geocodingService;
+    private final FlashSaleService flashSaleService;
+    private final TicketHoldRepository ticketHoldRepository;
+    private final TicketInventoryService ticketInventoryService;
+    private final EventFullTextSearch eventFullTextSearch;
+    private final EventSearchIndex eventSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InventoryRetryService inventoryRetryService;
+    private final TransactionTemplate transactionTemplate;
 
 
     @Transactional(readOnly = true)
     public EventResponse getPublicEventById(Long id) {
-        Event event = eventRepository.findById(id)
+        Event event = eventRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
         return mapToPublicEventResponse(event);
     }
 
     @Transactional(readOnly = true)
-    public Page<EventResponse> searchPublicEvents(String eventName, String categoryName, String cityName, Pageable pageable) {
-        Page<Event> eventPage;
-        if (categoryName != null && cityName != null) {
-            eventPage = eventRepository.findByCategoryNameIgnoreCaseAndCityNameIgnoreCase(categoryName, cityName, pageable);
-        } else if (categoryName != null) {
-            eventPage = eventRepository.findByCategoryNameIgnoreCase(categoryName, pageable);
-        } else if (cityName != null) {
-            eventPage = eventRepository.findByCityNameIgnoreCase(cityName, pageable);
-        } else if (eventName != null) {
-            eventPage = eventRepository.findByNameContainingIgnoreCase(eventName, pageable);
+    public Page<EventResponse> searchPublicEvents(EventSearchRequest search, Pageable pageable) {
+        if (eventSearchIndex.appliesTo(search)) {
+            try {
+                return mapToPublicEventResponses(hydrate(eventSearchIndex.search(search, pageable), pageable));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (eventFullTextSearch.appliesTo(search)) {
+            return mapToPublicEventResponses(hydrate(eventFullTextSearch.search(search, pageable), pageable));
+        }
+        Page<Event> eventPage = eventRepository.findAll(EventSpecifications.matching(search), pageable);
+        return mapToPublicEventResponses(eventPage);
+    }
+
+    // searchPublicEvents without the total: no count query, and hasNext comes from reading one row more than the page.
+    @Transactional(readOnly = true)
+    public Slice<EventResponse> slicePublicEvents(EventSearchRequest search, Pageable pageable) {
+        Slice<Long> ids;
+        if (eventSearchIndex.appliesTo(search)) {
+            try {
+                // The index counts its hits anyway, so this costs nothing extra.
+                ids = eventSearchIndex.search(search, pageable);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else if (eventFullTextSearch.appliesTo(search)) {
+            ids = eventFullTextSearch.slice(search, pageable);
         } else {
-            eventPage = eventRepository.findAll(pageable);
+            Slice<Event> events = eventRepository.findSlice(EventSpecifications.matching(search), pageable);
+            return new SliceImpl<>(mapToPublicEventResponses(events.getContent()), pageable, events.hasNext());
         }
-        return eventPage.map(this::mapToPublicEventResponse);
+        return new SliceImpl<>(mapToPublicEventResponses(hydrate(ids.getContent())), pageable, ids.hasNext());
+    }
+
+    // Exact number of matches, counted the same way searchPublicEvents finds them. EventCountCache keeps the results.
+    @Transactional(readOnly = true)
+    public long countPublicEvents(EventSearchRequest search) {
+        if (eventSearchIndex.appliesTo(search)) {
+            try {
+                return eventSearchIndex.count(search);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (eventFullTextSearch.appliesTo(search)) {
+            return eventFullTextSearch.count(search);
+        }
+        return eventRepository.count(EventSpecifications.matching(search));
+    }
+
+    // Keyset alternative to searchPublicEvents for infinite scrolling: always ordered by (eventDateTime, id), so text
+    // matches are not ranked and the Lucene index is not used. A null cursor starts from the beginning.
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> scrollPublicEvents(EventSearchRequest search, String cursor, int size) {
+        EventCursor after = cursor == null || cursor.isBlank() ? null : EventCursor.decode(cursor);
+        int limit = scrollSize(size);
+        List<Event> events;
+        if (eventFullTextSearch.appliesTo(search)) {
+            events = hydrate(eventFullTextSearch.scroll(search, after, limit + 1));
+        } else {
+            events = scroll(EventSpecifications.matching(search), after, limit + 1);
+        }
+        return toCursorPage(events, limit, this::mapToPublicEventResponses);
     }
 
 
@@ -99,13 +173,13 @@ public class EventService {
         }
 
         Event savedEvent = eventRepository.save(newEvent);
+        eventPublisher.publishEvent(EventChangedEvent.saved(savedEvent.getId()));
         return mapToOrganizerEventResponse(savedEvent);
     }
 
     @Transactional(readOnly = true)
     public Page<OrganizerEventResponse> getEventsForOrganizer(User organizer, Pageable pageable) {
-        return eventRepository.findByOrganizer(organizer, pageable)
-                .map(this::mapToOrganizerEventResponse);
+        return mapToOrganizerEventResponses(eventRepository.findByOrganizer(organizer, pageable));
     }
 
     @Transactional(readOnly = true)
@@ -114,8 +188,16 @@ public class EventService {
         return mapToOrganizerEventResponse(event);
     }
 
-    @Transactional
+    // Organizer edits write whole ticket type rows, sold counter included, so they are version-checked like
+    // bookings and lose to one that commits first. The edit then re-runs on the fresh rows, storing the image once.
     public OrganizerEventResponse updateEventForOrganizer(Long eventId, EventRequest eventRequest, MultipartFile imageFile) {
+        String[] storedImageUrl = new String[1];
+        return inventoryRetryService.call("organizer-update", () -> transactionTemplate.execute(status ->
+                applyEventUpdate(eventId, eventRequest, imageFile, storedImageUrl)));
+    }
+
+    private OrganizerEventResponse applyEventUpdate(Long eventId, EventRequest eventRequest, MultipartFile imageFile,
+                                                    String[] storedImageUrl) {
         Event existingEvent = findAndVerifyOwnership(eventId);
 
         modelMapper.map(eventRequest, existingEvent);
@@ -125,12 +207,15 @@ public class EventService {
         existingEvent.setCity(city);
 
         if (imageFile != null && !imageFile.isEmpty()) {
-            String imageUrl = imageService.storeFile(imageFile);
-            existingEvent.setEventImageUrl(imageUrl);
+            if (storedImageUrl[0] == null) {
+                storedImageUrl[0] = imageService.storeFile(imageFile);
+            }
+            existingEvent.setEventImageUrl(storedImageUrl[0]);
         }
 
         Map<Long, TicketType> existingTicketTypesMap = existingEvent.getTicketTypes().stream()
                 .collect(Collectors.toMap(TicketType::getId, tt -> tt));
+        flashSaleService.evictAfterCommit(existingTicketTypesMap.keySet());
         Set<Long> incomingTicketTypeIds = eventRequest.getTicketTypes().stream()
                 .map(TicketTypeRequest::getId).filter(Objects::nonNull).collect(Collectors.toSet());
         existingEvent.getTicketTypes().removeIf(ticketType -> !incomingTicketTypeIds.contains(ticketType.getId()));
@@ -158,14 +243,21 @@ public class EventService {
             System.err.println("Could not geocode address during event update. Saving event without coordinates.");
         }
 
+        existingEvent.refreshPriceRange();
         Event updatedEvent = eventRepository.save(existingEvent);
+        eventPublisher.publishEvent(EventChangedEvent.saved(eventId));
+        existingTicketTypesMap.keySet().stream()
+                .filter(incomingTicketTypeIds::contains)
+                .forEach(ticketInventoryService::refreshBucketLayout);
         return mapToOrganizerEventResponse(updatedEvent);
     }
 
     @Transactional
     public void deleteEventForOrganizer(Long eventId) {
         Event eventToDelete = findAndVerifyOwnership(eventId);
+        flashSaleService.evictAfterCommit(eventToDelete.getTicketTypes().stream().map(TicketType::getId).toList());
         eventRepository.delete(eventToDelete);
+        eventPublisher.publishEvent(EventChangedEvent.deleted(eventId));
     }
 
     @Transactional(readOnly = true)
@@ -182,19 +274,30 @@ public class EventService {
         newTicketType.setEvent(event);
         event.getTicketTypes().add(newTicketType);
         eventRepository.save(event);
+        // Only after the save: reading the list earlier would load it with the unsaved ticket type already inside.
+        event.refreshPriceRange();
         TicketType persistedTicketType = event.getTicketTypes().get(event.getTicketTypes().size() - 1);
+        eventPublisher.publishEvent(EventChangedEvent.saved(eventId));
         return mapToOrganizerTicketTypeResponse(persistedTicketType);
     }
 
-    @Transactional
     public OrganizerTicketTypeResponse updateTicketType(Long eventId, Long ticketTypeId, TicketTypeRequest ticketTypeRequest) {
+        return inventoryRetryService.call("organizer-update", () -> transactionTemplate.execute(status ->
+                applyTicketTypeUpdate(eventId, ticketTypeId, ticketTypeRequest)));
+    }
+
+    private OrganizerTicketTypeResponse applyTicketTypeUpdate(Long eventId, Long ticketTypeId, TicketTypeRequest ticketTypeRequest) {
         Event event = findAndVerifyOwnership(eventId);
         TicketType ticketTypeToUpdate = event.getTicketTypes().stream()
                 .filter(tt -> tt.getId().equals(ticketTypeId))
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("TicketType with id " + ticketTypeId + " not found in event " + eventId));
         modelMapper.map(ticketTypeRequest, ticketTypeToUpdate);
+        event.refreshPriceRange();
         eventRepository.save(event);
+        ticketInventoryService.refreshBucketLayout(ticketTypeId);
+        flashSaleService.evictAfterCommit(List.of(ticketTypeId));
+        eventPublisher.publishEvent(EventChangedEvent.saved(eventId));
         return mapToOrganizerTicketTypeResponse(ticketTypeToUpdate);
     }
 
@@ -208,22 +311,35 @@ public class EventService {
                             "If you wish to stop sales, please edit the event and remove this ticket type or reduce its quantity."
             );
         }
+        if (ticketHoldRepository.existsByTicketTypeId(ticketTypeId)) {
+            throw new IllegalStateException("This ticket type cannot be deleted while customers are holding tickets for it. Please try again in a few minutes.");
+        }
         boolean removed = event.getTicketTypes().removeIf(tt -> tt.getId().equals(ticketTypeId));
         if (!removed) {
             throw new RuntimeException("TicketType with id " + ticketTypeId + " not found in event " + eventId);
         }
+        event.refreshPriceRange();
         eventRepository.save(event);
+        flashSaleService.evictAfterCommit(List.of(ticketTypeId));
+        eventPublisher.publishEvent(EventChangedEvent.saved(eventId));
     }
 
 
     @Transactional(readOnly = true)
     public Page<AdminEventResponse> getAllEventsForAdmin(Pageable pageable) {
-        return eventRepository.findAll(pageable).map(this::mapToAdminEventResponse);
+        return mapToAdminEventResponses(eventRepository.findAll(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<AdminEventResponse> scrollEventsForAdmin(String cursor, int size) {
+        EventCursor after = cursor == null || cursor.isBlank() ? null : EventCursor.decode(cursor);
+        int limit = scrollSize(size);
+        return toCursorPage(scroll(Specification.where(null), after, limit + 1), limit, this::mapToAdminEventResponses);
     }
 
     @Transactional(readOnly = true)
     public AdminEventResponse getEventForAdminById(Long id) {
-        Event event = eventRepository.findById(id)
+        Event event = eventRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
         return mapToAdminEventResponse(event);
     }
@@ -231,13 +347,13 @@ public class EventService {
 
     private User getCurrentUser() {
         String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(userEmail)
+        return userRepository.findWithRolesByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
     }
 
     private Event findAndVerifyOwnership(Long eventId) {
         User currentUser = getCurrentUser();
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findDetailById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
         boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> role.getName().equals("ROLE_ADMIN"));
         if (!isAdmin && !event.getOrganizer().getId().equals(currentUser.getId())) {
@@ -247,31 +363,110 @@ public class EventService {
     }
 
 
+    // A page is mapped from counts loaded for all of its ticket types at once: one query for the ticket types of every
+    // event on it and one GROUP BY for their sales, however many events and ticket types the page holds.
+    private Page<EventResponse> mapToPublicEventResponses(Page<Event> events) {
+        return new PageImpl<>(mapToPublicEventResponses(events.getContent()), events.getPageable(), events.getTotalElements());
+    }
+
+    private List<EventResponse> mapToPublicEventResponses(List<Event> events) {
+        Map<Long, Integer> soldByTicketType = ticketInventoryService.soldCounts(loadTicketTypes(events));
+        return events.stream().map(event -> mapToPublicEventResponse(event, soldByTicketType)).toList();
+    }
+
+    private Page<OrganizerEventResponse> mapToOrganizerEventResponses(Page<Event> events) {
+        Map<Long, Long> bookedByTicketType = countBookings(loadTicketTypes(events.getContent()));
+        return events.map(event -> mapToOrganizerEventResponse(event, bookedByTicketType));
+    }
+
+    private Page<AdminEventResponse> mapToAdminEventResponses(Page<Event> events) {
+        return new PageImpl<>(mapToAdminEventResponses(events.getContent()), events.getPageable(), events.getTotalElements());
+    }
+
+    private List<AdminEventResponse> mapToAdminEventResponses(List<Event> events) {
+        Map<Long, Long> bookedByTicketType = countBookings(loadTicketTypes(events));
+        return events.stream().map(event -> mapToAdminEventResponse(event, bookedByTicketType)).toList();
+    }
+
+    // No count query and no offset: the next batch starts right after the cursor, and one extra row tells whether
+    // there is a next batch at all.
+    private List<Event> scroll(Specification<Event> specification, EventCursor after, int limit) {
+        Specification<Event> afterCursor = after == null ? specification : specification.and(EventSpecifications.after(after));
+        return eventRepository.findBy(afterCursor, query -> query.sortBy(SCROLL_ORDER).limit(limit)
+                .project("category", "city").all());
+    }
+
+    private <T> CursorPage<T> toCursorPage(List<Event> events, int limit, Function<List<Event>, List<T>> mapper) {
+        boolean hasMore = events.size() > limit;
+        List<Event> batch = hasMore ? events.subList(0, limit) : events;
+        String nextCursor = hasMore ? EventCursor.of(batch.get(batch.size() - 1)).encode() : null;
+        return new CursorPage<>(mapper.apply(batch), nextCursor);
+    }
+
+    private static int scrollSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+    }
+
+    // Text searches rank on their own and return ids only; the events are loaded in one query and put back in rank order.
+    private Page<Event> hydrate(Page<Long> ids, Pageable pageable) {
+        return new PageImpl<>(hydrate(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    private List<Event> hydrate(List<Long> ids) {
+        Map<Long, Event> events = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, event -> event));
+        // An event deleted between the two queries is simply left out of the page.
+        return ids.stream().map(events::get).filter(Objects::nonNull).toList();
+    }
+
+    private List<TicketType> loadTicketTypes(List<Event> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        eventRepository.fetchTicketTypes(events);
+        return events.stream().flatMap(event -> event.getTicketTypes().stream()).toList();
+    }
+
+    private Map<Long, Long> countBookings(Collection<TicketType> ticketTypes) {
+        List<Long> ticketTypeIds = ticketTypes.stream().map(TicketType::getId).filter(Objects::nonNull).toList();
+        if (ticketTypeIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> booked = new HashMap<>();
+        for (Object[] row : bookingRepository.countByTicketTypeIds(ticketTypeIds)) {
+            booked.put((Long) row[0], (Long) row[1]);
+        }
+        return booked;
+    }
+
     private EventResponse mapToPublicEventResponse(Event event) {
-        EventResponse response = modelMapper.map(event, EventResponse.class);
-        response.setTicketTypes(event.getTicketTypes().stream()
-                .map(this::mapToTicketTypeResponseWithAvailability)
+        return mapToPublicEventResponse(event, ticketInventoryService.soldCounts(event.getTicketTypes()));
+    }
+
+    private EventResponse mapToPublicEventResponse(Event event, Map<Long, Integer> soldByTicketType) {
+        return ResponseMapper.toEventResponse(event, event.getTicketTypes().stream()
+                .map(ticketType -> mapToTicketTypeResponseWithAvailability(ticketType, soldByTicketType.get(ticketType.getId())))
                 .collect(Collectors.toList()));
-        response.setEventImageUrl(event.getEventImageUrl());
-        return response;
     }
 
     private OrganizerEventResponse mapToOrganizerEventResponse(Event event) {
-        OrganizerEventResponse response = modelMapper.map(event, OrganizerEventResponse.class);
-        response.setTicketTypes(event.getTicketTypes().stream()
-                .map(this::mapToOrganizerTicketTypeResponse)
+        return mapToOrganizerEventResponse(event, countBookings(event.getTicketTypes()));
+    }
+
+    private OrganizerEventResponse mapToOrganizerEventResponse(Event event, Map<Long, Long> bookedByTicketType) {
+        return ResponseMapper.toOrganizerEventResponse(event, event.getTicketTypes().stream()
+                .map(ticketType -> mapToOrganizerTicketTypeResponse(ticketType, bookedByTicketType.getOrDefault(ticketType.getId(), 0L)))
                 .collect(Collectors.toList()));
-        response.setEventImageUrl(event.getEventImageUrl());
-        return response;
     }
 
     private AdminEventResponse mapToAdminEventResponse(Event event) {
-        AdminEventResponse response = modelMapper.map(event, AdminEventResponse.class);
-        response.setTicketTypes(event.getTicketTypes().stream()
-                .map(this::mapToOrganizerTicketTypeResponse)
+        return mapToAdminEventResponse(event, countBookings(event.getTicketTypes()));
+    }
+
+    private AdminEventResponse mapToAdminEventResponse(Event event, Map<Long, Long> bookedByTicketType) {
+        return ResponseMapper.toAdminEventResponse(event, event.getTicketTypes().stream()
+                .map(ticketType -> mapToOrganizerTicketTypeResponse(ticketType, bookedByTicketType.getOrDefault(ticketType.getId(), 0L)))
                 .collect(Collectors.toList()));
-        response.setEventImageUrl(event.getEventImageUrl());
-        return response;
     }
 
     private OrganizerBookingResponse mapToOrganizerBookingResponse(Booking booking) {
@@ -283,19 +478,21 @@ public class EventService {
     }
 
     private OrganizerTicketTypeResponse mapToOrganizerTicketTypeResponse(TicketType ticketType) {
-        long sold = bookingRepository.countByTicketTypeId(ticketType.getId());
+        return mapToOrganizerTicketTypeResponse(ticketType, bookingRepository.countByTicketTypeId(ticketType.getId()));
+    }
+
+    private OrganizerTicketTypeResponse mapToOrganizerTicketTypeResponse(TicketType ticketType, long sold) {
         return new OrganizerTicketTypeResponse(ticketType.getId(), ticketType.getName(), ticketType.getPrice(),
-                ticketType.getTotalAvailable(), sold);
+                ticketType.getTotalAvailable(), sold, ticketType.getBucketCount());
     }
 
-    private TicketTypeResponse mapToTicketTypeResponseWithAvailability(TicketType ticketType) {
-        long sold = bookingRepository.countByTicketTypeId(ticketType.getId());
+    private TicketTypeResponse mapToTicketTypeResponseWithAvailability(TicketType ticketType, int soldSeats) {
+        // Sold seats already include held seats, so no per-ticket-type query is needed here.
+        long sold = soldSeats + flashSaleService.pendingQuantity(ticketType.getId());
         int available = ticketType.getTotalAvailable() - (int) sold;
-        TicketTypeResponse response = modelMapper.map(ticketType, TicketTypeResponse.class);
-        response.setAvailability(calculateAvailabilityStatus(available, ticketType.getTotalAvailable()));
         int quantitySelectorThreshold = 10;
-        response.setMaxPurchaseQuantity(Math.max(0, Math.min(available, quantitySelectorThreshold)));
-        return response;
+        return ResponseMapper.toTicketTypeResponse(ticketType, calculateAvailabilityStatus(available, ticketType.getTotalAvailable()),
+                Math.max(0, Math.min(available, quantitySelectorThreshold)));
     }
 
     private AvailabilityStatus calculateAvailabilityStatus(int available, int total) {
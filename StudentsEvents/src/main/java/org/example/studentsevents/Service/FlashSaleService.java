@@ -0,0 +1,306 @@
+package org.example.studentsevents.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.example.studentsevents.Exception.BookingRejectedException;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.Repository.UserRepository;
+import org.example.studentsevents.model.Booking;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process inventory for events in flash-sale mode. Seats are taken from a lock-free counter per ticket type
+ * and the resulting bookings are written behind in batches.
+ * <p>
+ * Counters are rebuilt lazily from the database (totalAvailable - sold - still unflushed), so after a restart
+ * they start from what was actually persisted. An evicted counter is retired before it leaves the ledger, so a
+ * buyer still holding it takes from the rebuilt one instead, and every seat is counted as unflushed before it is
+ * taken, so the rebuilt counter never misses a seat taken from the old one. While reservations are still
+ * unflushed, the regular booking path leaves their seats alone, also after flash-sale mode has been switched off. Reservations accepted in the last flush interval before a crash
+ * are lost rather than oversold, and every flush claims seats with the same conditional UPDATE as the regular
+ * booking path, so the database can never go past totalAvailable. The ledger assumes a single application instance.
+ * <p>
+ * A batch that fails is written again reservation by reservation, so one bad row cannot hold up the others. While
+ * the database itself is unreachable nothing is given up: the rest waits for the next run. A reservation that fails
+ * on its own {@code max-flush-attempts} times is dropped with an error log, counted in
+ * {@code flash.sale.reservations.dropped}, and its seats go back on sale.
+ */
+@Service
+@RequiredArgsConstructor
+public class FlashSaleService {
+    private static final Logger logger = LoggerFactory.getLogger(FlashSaleService.class);
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.booking.flash-sale.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${app.booking.flash-sale.max-flush-attempts:3}")
+    private int maxFlushAttempts;
+
+    private final Map<Long, Inventory> ledger = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> unflushed = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<PendingBooking> writeBehindQueue = new ConcurrentLinkedQueue<>();
+
+    public boolean isFlashSale(Long ticketTypeId) {
+        return inventoryFor(ticketTypeId).flashSale;
+    }
+
+    public void reserve(User user, Long ticketTypeId, int quantity) {
+        AtomicInteger pending = unflushed.computeIfAbsent(ticketTypeId, id -> new AtomicInteger());
+        while (true) {
+            Inventory inventory = inventoryFor(ticketTypeId);
+            pending.addAndGet(quantity);
+            if (inventory.tryTake(quantity)) {
+                writeBehindQueue.add(new PendingBooking(user.getId(), ticketTypeId, quantity, LocalDateTime.now(), 0));
+                return;
+            }
+            pending.addAndGet(-quantity);
+            if (!inventory.isRetired()) {
+                throw new BookingRejectedException("Sorry, only " + Math.max(0, inventory.remaining.get())
+                        + " tickets are left, but you requested " + quantity + ".");
+            }
+        }
+    }
+
+    public int pendingQuantity(Long ticketTypeId) {
+        AtomicInteger pending = unflushed.get(ticketTypeId);
+        return pending == null ? 0 : pending.get();
+    }
+
+    public void evictAfterCommit(Collection<Long> ticketTypeIds) {
+        List<Long> ids = List.copyOf(ticketTypeIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.forEach(this::evict);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(FlashSaleService.this::evict);
+            }
+        });
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${app.booking.flash-sale.flush-interval-ms:200}")
+    public synchronized void flush() {
+        List<PendingBooking> retryLater = new ArrayList<>();
+        try {
+            List<PendingBooking> batch = drain();
+            while (!batch.isEmpty()) {
+                try {
+                    write(batch);
+                } catch (RuntimeException e) {
+                    if (unreachable(e)) {
+                        logger.error("Flash-sale flush of {} reservation(s) failed, retrying on next run", batch.size(), e);
+                        retryLater.addAll(batch);
+                        return;
+                    }
+                    if (!writeOneByOne(batch, retryLater)) {
+                        return;
+                    }
+                }
+                batch = drain();
+            }
+        } finally {
+            writeBehindQueue.addAll(retryLater);
+        }
+    }
+
+    // Returns false when the database became unreachable; the reservations not yet written are then in retryLater.
+    private boolean writeOneByOne(List<PendingBooking> batch, List<PendingBooking> retryLater) {
+        for (int i = 0; i < batch.size(); i++) {
+            PendingBooking pending = batch.get(i);
+            try {
+                write(List.of(pending));
+            } catch (RuntimeException e) {
+                if (unreachable(e)) {
+                    logger.error("Flash-sale flush of {} reservation(s) failed, retrying on next run", batch.size() - i, e);
+                    retryLater.addAll(batch.subList(i, batch.size()));
+                    return false;
+                }
+                if (pending.failedAttempts() + 1 < maxFlushAttempts) {
+                    logger.warn("Flash-sale reservation of {} ticket(s) of type {} for user {} failed, retrying on next run",
+                            pending.quantity(), pending.ticketTypeId(), pending.userId(), e);
+                    retryLater.add(pending.failedOnceMore());
+                } else {
+                    drop(pending, e);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void write(List<PendingBooking> batch) {
+        transactionTemplate.executeWithoutResult(status -> persist(batch));
+        for (PendingBooking pending : batch) {
+            unflushed.get(pending.ticketTypeId()).addAndGet(-pending.quantity());
+        }
+    }
+
+    private void drop(PendingBooking pending, RuntimeException cause) {
+        logger.error("Dropped flash-sale reservation of {} ticket(s) of type {} for user {} made at {}: failed {} times",
+                pending.quantity(), pending.ticketTypeId(), pending.userId(), pending.reservedAt(), maxFlushAttempts, cause);
+        meterRegistry.counter("flash.sale.reservations.dropped", "reason", "write_failed").increment();
+        unflushed.get(pending.ticketTypeId()).addAndGet(-pending.quantity());
+        // Rebuilt from the database on the next booking, without the dropped seats.
+        evict(pending.ticketTypeId());
+    }
+
+    private void evict(Long ticketTypeId) {
+        ledger.computeIfPresent(ticketTypeId, (id, inventory) -> {
+            inventory.retire();
+            return null;
+        });
+    }
+
+    // The database could not be reached or gave up for reasons of its own; the reservations themselves are fine.
+    private static boolean unreachable(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof TransactionException;
+    }
+
+    private List<PendingBooking> drain() {
+        List<PendingBooking> batch = new ArrayList<>();
+        PendingBooking pending;
+        while (batch.size() < flushBatchSize && (pending = writeBehindQueue.poll()) != null) {
+            batch.add(pending);
+        }
+        return batch;
+    }
+
+    private void persist(List<PendingBooking> batch) {
+        // Ordered by id so concurrent writers always lock ticket type rows in the same order.
+        Map<Long, List<PendingBooking>> byTicketType = new TreeMap<>();
+        for (PendingBooking pending : batch) {
+            byTicketType.computeIfAbsent(pending.ticketTypeId(), id -> new ArrayList<>()).add(pending);
+        }
+
+        List<Booking> bookings = new ArrayList<>();
+        byTicketType.forEach((ticketTypeId, reservations) -> {
+            TicketType ticketType = ticketTypeRepository.getReferenceById(ticketTypeId);
+            for (PendingBooking pending : claim(ticketTypeId, reservations)) {
+                User user = userRepository.getReferenceById(pending.userId());
+                for (int i = 0; i < pending.quantity(); i++) {
+                    Booking booking = new Booking();
+                    booking.setUser(user);
+                    booking.setTicketType(ticketType);
+                    booking.setBookingDateTime(pending.reservedAt());
+                    bookings.add(booking);
+                }
+            }
+        });
+        bookingRepository.saveAll(bookings);
+    }
+
+    private List<PendingBooking> claim(Long ticketTypeId, List<PendingBooking> reservations) {
+        int total = reservations.stream().mapToInt(PendingBooking::quantity).sum();
+        if (ticketTypeRepository.incrementSold(ticketTypeId, total, 0) == 1) {
+            return reservations;
+        }
+        // Only reachable if the ledger disagreed with the database (e.g. seats sold by another instance).
+        List<PendingBooking> accepted = new ArrayList<>();
+        for (PendingBooking pending : reservations) {
+            if (ticketTypeRepository.incrementSold(ticketTypeId, pending.quantity(), 0) == 1) {
+                accepted.add(pending);
+            } else {
+                logger.error("Dropped flash-sale reservation of {} ticket(s) of type {} for user {}: sold out in database",
+                        pending.quantity(), ticketTypeId, pending.userId());
+                meterRegistry.counter("flash.sale.reservations.dropped", "reason", "sold_out").increment();
+            }
+        }
+        evictAfterCommit(List.of(ticketTypeId));
+        return accepted;
+    }
+
+    private Inventory inventoryFor(Long ticketTypeId) {
+        Inventory inventory = ledger.get(ticketTypeId);
+        if (inventory != null) {
+            return inventory;
+        }
+        // Loaded under the ledger's lock for this id, so an eviction cannot land between reading the database and
+        // publishing the counter.
+        return ledger.computeIfAbsent(ticketTypeId, this::load);
+    }
+
+    private Inventory load(Long ticketTypeId) {
+        // Read the unflushed quantity before the sold counter: a flush landing in between is then counted
+        // twice (undersell) instead of not at all (oversell).
+        int pending = pendingQuantity(ticketTypeId);
+        TicketType ticketType = ticketTypeRepository.findWithEventById(ticketTypeId)
+                .orElseThrow(() -> new RuntimeException("TicketType not found with id: " + ticketTypeId));
+        if (!ticketType.getEvent().isFlashSale()) {
+            return new Inventory(false, 0);
+        }
+        return new Inventory(true, ticketType.getTotalAvailable() - ticketType.getSold() - pending);
+    }
+
+    private record PendingBooking(Long userId, Long ticketTypeId, int quantity, LocalDateTime reservedAt,
+                                  int failedAttempts) {
+        private PendingBooking failedOnceMore() {
+            return new PendingBooking(userId, ticketTypeId, quantity, reservedAt, failedAttempts + 1);
+        }
+    }
+
+    private static final class Inventory {
+        // Below any real count, so a retired counter can never hand out a seat again.
+        private static final int RETIRED = Integer.MIN_VALUE;
+
+        private final boolean flashSale;
+        private final AtomicInteger remaining;
+
+        private Inventory(boolean flashSale, int remaining) {
+            this.flashSale = flashSale;
+            this.remaining = new AtomicInteger(remaining);
+        }
+
+        private boolean tryTake(int quantity) {
+            int current;
+            do {
+                current = remaining.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - quantity));
+            return true;
+        }
+
+        private void retire() {
+            remaining.set(RETIRED);
+        }
+
+        private boolean isRetired() {
+            return remaining.get() == RETIRED;
+        }
+    }
+}
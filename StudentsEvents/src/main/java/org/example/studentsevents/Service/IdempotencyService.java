@@ -0,0 +1,193 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.Exception.BookingRejectedException;
+import org.example.studentsevents.Repository.IdempotencyKeyRepository;
+import org.example.studentsevents.model.IdempotencyKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Makes {@link BookingService#createBooking} safe to retry under an {@code Idempotency-Key}. Outcomes are kept in a
+ * bounded in-memory map for fast replays and in the idempotency_keys table. The booking itself goes through
+ * {@link BookingCoalescer}, which writes the key row in the same transaction as the bookings, coalesced or not, so a
+ * key is either recorded together with its bookings or not at all.
+ * <p>
+ * Concurrent submissions of the same key on this instance wait for the first one instead of running again; on other
+ * instances the unique constraint on (user, key) stops the duplicate before it reaches the inventory.
+ * Successful bookings and {@link BookingRejectedException}s are replayed; anything else, timeouts and interrupted
+ * retries included, is not stored so the client can retry.
+ */
+@Service
+public class IdempotencyService {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final BookingCoalescer bookingCoalescer;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration ttl;
+    private final int maxEntries;
+    // Least recently used first.
+    private final Map<String, Entry> recentKeys = new LinkedHashMap<>(256, 0.75f, true);
+
+    public IdempotencyService(BookingCoalescer bookingCoalescer,
+                              IdempotencyKeyRepository idempotencyKeyRepository,
+                              @Value("${app.booking.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${app.booking.idempotency.max-entries:10000}") int maxEntries) {
+        this.bookingCoalescer = bookingCoalescer;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.maxEntries = maxEntries;
+    }
+
+    public void createBooking(String idempotencyKey, BookingRequest bookingRequest) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalStateException("The Idempotency-Key header must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+        }
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        String scopedKey = userEmail + ":" + idempotencyKey;
+        String fingerprint = bookingRequest.getTicketTypeId() + ":" + bookingRequest.getQuantity();
+
+        Entry entry = new Entry(fingerprint, LocalDateTime.now().plus(ttl));
+        Entry existing;
+        synchronized (recentKeys) {
+            existing = recentKeys.putIfAbsent(scopedKey, entry);
+            if (existing == null) {
+                evictFinished();
+            }
+        }
+        if (existing != null) {
+            checkFingerprint(existing.fingerprint, fingerprint);
+            replay(await(existing.result));
+            return;
+        }
+
+        Outcome outcome;
+        try {
+            outcome = findStoredOutcome(userEmail, idempotencyKey, fingerprint)
+                    .orElseGet(() -> execute(userEmail, idempotencyKey, fingerprint, bookingRequest));
+        } catch (RuntimeException e) {
+            synchronized (recentKeys) {
+                recentKeys.remove(scopedKey, entry);
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+        entry.result.complete(outcome);
+        replay(outcome);
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (recentKeys) {
+            recentKeys.values().removeIf(entry -> entry.result.isDone() && entry.expiresAt.isBefore(now));
+        }
+        int purged = idempotencyKeyRepository.deleteExpired(now);
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency key(s)", purged);
+        }
+    }
+
+    // Drops the least recently used finished entries beyond maxEntries; their outcome is still in the database. Entries
+    // still running stay, as a resubmission of their key has to wait for them, but there are only as many of those as
+    // requests in flight. Called with recentKeys locked.
+    private void evictFinished() {
+        Iterator<Entry> entries = recentKeys.values().iterator();
+        while (recentKeys.size() > maxEntries && entries.hasNext()) {
+            if (entries.next().result.isDone()) {
+                entries.remove();
+            }
+        }
+    }
+
+    private Outcome execute(String userEmail, String idempotencyKey, String fingerprint, BookingRequest bookingRequest) {
+        try {
+            bookingCoalescer.createBooking(bookingRequest, () -> newKey(userEmail, idempotencyKey, fingerprint, null));
+            return Outcome.SUCCEEDED;
+        } catch (DataIntegrityViolationException e) {
+            return findStoredOutcome(userEmail, idempotencyKey, fingerprint).orElseThrow(() -> e);
+        } catch (BookingRejectedException e) {
+            try {
+                idempotencyKeyRepository.save(newKey(userEmail, idempotencyKey, fingerprint, e.getMessage()));
+            } catch (DataIntegrityViolationException duplicate) {
+                return findStoredOutcome(userEmail, idempotencyKey, fingerprint).orElseThrow(() -> e);
+            }
+            return new Outcome(false, e.getMessage());
+        }
+    }
+
+    private Optional<Outcome> findStoredOutcome(String userEmail, String idempotencyKey, String fingerprint) {
+        return idempotencyKeyRepository.findByUserEmailAndIdempotencyKey(userEmail, idempotencyKey)
+                .map(stored -> {
+                    checkFingerprint(stored.getRequestFingerprint(), fingerprint);
+                    return stored.isSucceeded() ? Outcome.SUCCEEDED : new Outcome(false, stored.getErrorMessage());
+                });
+    }
+
+    private IdempotencyKey newKey(String userEmail, String idempotencyKey, String fingerprint, String errorMessage) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyKey key = new IdempotencyKey();
+        key.setUserEmail(userEmail);
+        key.setIdempotencyKey(idempotencyKey);
+        key.setRequestFingerprint(fingerprint);
+        key.setSucceeded(errorMessage == null);
+        key.setErrorMessage(errorMessage);
+        key.setCreatedAt(now);
+        key.setExpiresAt(now.plus(ttl));
+        return key;
+    }
+
+    private static void checkFingerprint(String stored, String requested) {
+        if (!stored.equals(requested)) {
+            throw new IllegalStateException("This Idempotency-Key was already used for a different booking request.");
+        }
+    }
+
+    private static Outcome await(CompletableFuture<Outcome> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void replay(Outcome outcome) {
+        if (!outcome.succeeded()) {
+            throw new BookingRejectedException(outcome.errorMessage());
+        }
+    }
+
+    private record Outcome(boolean succeeded, String errorMessage) {
+        private static final Outcome SUCCEEDED = new Outcome(true, null);
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final LocalDateTime expiresAt;
+        private final CompletableFuture<Outcome> result = new CompletableFuture<>();
+
+        private Entry(String fingerprint, LocalDateTime expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
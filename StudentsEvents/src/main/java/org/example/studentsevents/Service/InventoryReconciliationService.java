@@ -0,0 +1,62 @@
+package org.example.studentsevents.Service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.model.TicketType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryReconciliationService {
+    private static final Logger logger = LoggerFactory.getLogger(InventoryReconciliationService.class);
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final TicketInventoryService ticketInventoryService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Runs before the web server accepts traffic so freshly migrated rows (sold = 0) can never oversell.
+    @PostConstruct
+    public void reconcileOnStartup() {
+        reconcileSoldCounters();
+    }
+
+    @Scheduled(initialDelayString = "${app.inventory.reconcile-interval-ms:900000}",
+            fixedDelayString = "${app.inventory.reconcile-interval-ms:900000}")
+    public int reconcileSoldCounters() {
+        int repaired = 0;
+        for (Long ticketTypeId : ticketTypeRepository.findIdsWithSoldDrift()) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> repair(ticketTypeId)))) {
+                repaired++;
+            }
+        }
+        for (Long ticketTypeId : ticketTypeRepository.findBucketedIdsWithSoldDrift()) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> ticketInventoryService.reconcileBuckets(ticketTypeId)))) {
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            logger.warn("Repaired sold counter drift on {} ticket type(s)", repaired);
+        }
+        return repaired;
+    }
+
+    private boolean repair(Long ticketTypeId) {
+        // Re-check under the row lock: bookings in flight may have closed the gap since the scan.
+        TicketType ticketType = ticketTypeRepository.findById(ticketTypeId).orElse(null);
+        if (ticketType == null) {
+            return false;
+        }
+        int actual = (int) ticketTypeRepository.countClaimedSeats(ticketTypeId);
+        if (ticketType.getSold() == actual) {
+            return false;
+        }
+        logger.warn("TicketType {} sold counter was {} but {} seats are booked or held", ticketTypeId, ticketType.getSold(), actual);
+        ticketType.setSold(actual);
+        return true;
+    }
+}
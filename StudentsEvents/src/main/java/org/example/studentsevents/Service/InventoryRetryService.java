@@ -0,0 +1,98 @@
+package org.example.studentsevents.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a transaction that lost the version check on a ticket type: a booking on an
+ * {@link org.example.studentsevents.model.InventoryStrategy#OPTIMISTIC optimistic} event, or an organizer edit that
+ * raced a booking. The check only happens when the transaction commits, so the retry has to wrap the whole
+ * transaction, never a call inside it.
+ * <p>
+ * Attempts are bounded and spaced by a full-jitter exponential backoff, so buyers that collided once do not collide
+ * again in lockstep. Every lost check means another transaction committed, so n buyers arriving together need at
+ * most n attempts each; the default of 8 leaves headroom over a handful of simultaneous buyers. Every conflict is counted per event ({@code inventory.optimistic.conflicts}) next to the retries
+ * and the attempts that ran out ({@code inventory.optimistic.retries}, {@code inventory.optimistic.exhausted}),
+ * which is what decides whether an event should stay optimistic or go back to row locks.
+ */
+@Service
+public class InventoryRetryService {
+    private static final Logger logger = LoggerFactory.getLogger(InventoryRetryService.class);
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    public InventoryRetryService(TicketTypeRepository ticketTypeRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.inventory.optimistic.max-attempts:8}") int maxAttempts,
+                                 @Value("${app.inventory.optimistic.base-backoff-ms:10}") long baseBackoffMs,
+                                 @Value("${app.inventory.optimistic.max-backoff-ms:200}") long maxBackoffMs) {
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public void run(String operation, Runnable transaction) {
+        call(operation, () -> {
+            transaction.run();
+            return null;
+        });
+    }
+
+    public <T> T call(String operation, Supplier<T> transaction) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.get();
+            } catch (OptimisticLockingFailureException e) {
+                recordConflict(e);
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("inventory.optimistic.exhausted", "operation", operation).increment();
+                    logger.warn("Giving up on {} after {} optimistic conflicts", operation, attempt);
+                    throw e;
+                }
+                meterRegistry.counter("inventory.optimistic.retries", "operation", operation).increment();
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void recordConflict(OptimisticLockingFailureException e) {
+        String event = "unknown";
+        if (e instanceof ObjectOptimisticLockingFailureException conflict && conflict.getIdentifier() instanceof Long ticketTypeId) {
+            event = ticketTypeRepository.findEventIdById(ticketTypeId).map(String::valueOf).orElse(event);
+        }
+        Counter.builder("inventory.optimistic.conflicts")
+                .description("Bookings whose ticket type changed between reading it and committing")
+                .tag("event", event)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void backOff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying the booking.", e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTOResponse.AdminEventResponse;
+import org.example.studentsevents.DTOResponse.BookingResponse;
+import org.example.studentsevents.DTOResponse.CategoryResponse;
+import org.example.studentsevents.DTOResponse.CityResponse;
+import org.example.studentsevents.DTOResponse.EventResponse;
+import org.example.studentsevents.DTOResponse.EventSummaryResponse;
+import org.example.studentsevents.DTOResponse.OrganizerEventResponse;
+import org.example.studentsevents.DTOResponse.OrganizerTicketTypeResponse;
+import org.example.studentsevents.DTOResponse.PurchasedTicketResponse;
+import org.example.studentsevents.DTOResponse.TicketTypeResponse;
+import org.example.studentsevents.DTOResponse.UserResponse;
+import org.example.studentsevents.model.ArchivedBooking;
+import org.example.studentsevents.model.ArchivedEvent;
+import org.example.studentsevents.model.AvailabilityStatus;
+import org.example.studentsevents.model.Booking;
+import org.example.studentsevents.model.Category;
+import org.example.studentsevents.model.City;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.Role;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Entity to response mappings for the event, booking and user endpoints, written out field by field. They produce the
+ * same responses ModelMapper did, without matching properties by reflection on every call, and touch only the
+ * associations a response shows: an event's ticket types are mapped by the caller, who has their sales at hand.
+ * ResponseMapperBenchmarkTest compares the two.
+ */
+final class ResponseMapper {
+
+    private ResponseMapper() {
+    }
+
+    static EventResponse toEventResponse(Event event, List<TicketTypeResponse> ticketTypes) {
+        EventResponse response = new EventResponse();
+        response.setId(event.getId());
+        response.setName(event.getName());
+        response.setDescription(event.getDescription());
+        response.setEventDateTime(event.getEventDateTime());
+        response.setAddress(event.getAddress());
+        response.setExternalLink(event.getExternalLink());
+        response.setCategory(toCategoryResponse(event.getCategory()));
+        response.setCity(toCityResponse(event.getCity()));
+        response.setTicketTypes(ticketTypes);
+        response.setEventImageUrl(event.getEventImageUrl());
+        response.setLatitude(event.getLatitude());
+        response.setLongitude(event.getLongitude());
+        response.setMinPrice(event.getMinPrice());
+        response.setMaxPrice(event.getMaxPrice());
+        return response;
+    }
+
+    static OrganizerEventResponse toOrganizerEventResponse(Event event, List<OrganizerTicketTypeResponse> ticketTypes) {
+        OrganizerEventResponse response = new OrganizerEventResponse();
+        response.setId(event.getId());
+        response.setName(event.getName());
+        response.setDescription(event.getDescription());
+        response.setEventDateTime(event.getEventDateTime());
+        response.setAddress(event.getAddress());
+        response.setCategory(toCategoryResponse(event.getCategory()));
+        response.setCity(toCityResponse(event.getCity()));
+        response.setTicketTypes(ticketTypes);
+        response.setEventImageUrl(event.getEventImageUrl());
+        response.setLatitude(event.getLatitude());
+        response.setLongitude(event.getLongitude());
+        response.setFlashSale(event.isFlashSale());
+        response.setInventoryStrategy(event.getInventoryStrategy());
+        return response;
+    }
+
+    static AdminEventResponse toAdminEventResponse(Event event, List<OrganizerTicketTypeResponse> ticketTypes) {
+        AdminEventResponse response = new AdminEventResponse();
+        response.setId(event.getId());
+        response.setName(event.getName());
+        response.setDescription(event.getDescription());
+        response.setEventDateTime(event.getEventDateTime());
+        response.setAddress(event.getAddress());
+        response.setCategory(toCategoryResponse(event.getCategory()));
+        response.setCity(toCityResponse(event.getCity()));
+        response.setTicketTypes(ticketTypes);
+        response.setEventImageUrl(event.getEventImageUrl());
+        response.setLatitude(event.getLatitude());
+        response.setLongitude(event.getLongitude());
+        response.setFlashSale(event.isFlashSale());
+        response.setInventoryStrategy(event.getInventoryStrategy());
+        return response;
+    }
+
+    static TicketTypeResponse toTicketTypeResponse(TicketType ticketType, AvailabilityStatus availability,
+                                                   int maxPurchaseQuantity) {
+        return new TicketTypeResponse(ticketType.getId(), ticketType.getName(), ticketType.getPrice(),
+                availability, maxPurchaseQuantity);
+    }
+
+    static BookingResponse toBookingResponse(Booking booking) {
+        TicketType ticketType = booking.getTicketType();
+        Event event = ticketType.getEvent();
+        return new BookingResponse(booking.getId(), booking.getBookingDateTime(),
+                new EventSummaryResponse(event.getId(), event.getName(), event.getEventDateTime()),
+                new PurchasedTicketResponse(ticketType.getId(), ticketType.getName(), ticketType.getPrice()));
+    }
+
+    // The ticket type of an archived booking survives only as its name and price.
+    static BookingResponse toBookingResponse(ArchivedBooking booking, ArchivedEvent event) {
+        return new BookingResponse(booking.getId(), booking.getBookingDateTime(),
+                new EventSummaryResponse(event.getId(), event.getName(), event.getEventDateTime()),
+                new PurchasedTicketResponse(booking.getTicketTypeId(), booking.getTicketTypeName(), booking.getPrice()));
+    }
+
+    static UserResponse toUserResponse(User user) {
+        return new UserResponse(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getRoles().stream().map(Role::getName).collect(Collectors.toSet()), user.getProfilePictureUrl());
+    }
+
+    private static CategoryResponse toCategoryResponse(Category category) {
+        return category == null ? null : new CategoryResponse(category.getId(), category.getName());
+    }
+
+    private static CityResponse toCityResponse(City city) {
+        return city == null ? null : new CityResponse(city.getId(), city.getName());
+    }
+}
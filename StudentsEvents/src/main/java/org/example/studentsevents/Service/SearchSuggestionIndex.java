@@ -0,0 +1,242 @@
+package org.example.studentsevents.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.studentsevents.DTOResponse.SearchSuggestionsResponse;
+import org.example.studentsevents.DTOResponse.SuggestionResponse;
+import org.example.studentsevents.Repository.CategoryRepository;
+import org.example.studentsevents.Repository.CityRepository;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.model.Category;
+import org.example.studentsevents.model.City;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Typeahead over the names of upcoming events, cities and categories, answered from memory without a database call.
+ * Every word of a name starts a key of one sorted map, so a prefix is a single range of it and matches the start of
+ * any word: "nig" finds "Jazz Night". Events rank by tickets sold, cities and categories by their number of upcoming
+ * events.
+ * <p>
+ * The entries are loaded once the application is ready and then follow EventChangedEvent, CityChangedEvent and
+ * CategoryChangedEvent, reading back only the one row that changed. Ticket sales, which publish nothing, and events
+ * that have started are picked up by a full reload every app.search.suggest.refresh-ms.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchSuggestionIndex {
+
+    private static final int MAX_LIMIT = 10;
+    // Sorts below every character a name can contain, so a key ends its name before the range of any longer prefix.
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private enum Kind { EVENT, CITY, CATEGORY }
+
+    private final EventRepository eventRepository;
+    private final CityRepository cityRepository;
+    private final CategoryRepository categoryRepository;
+
+    private volatile Entries entries = new Entries();
+    // Non-null while a reload runs: the changes applied meanwhile, to be applied again to the reloaded entries.
+    private List<Object> missedChanges;
+    private final Object reloading = new Object();
+
+    public SearchSuggestionsResponse suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        if (normalized.isEmpty()) {
+            return new SearchSuggestionsResponse(List.of(), List.of(), List.of());
+        }
+        Entries current = entries;
+        // An item whose name has several words starting with the prefix is found once per word.
+        Set<Item> matches = new LinkedHashSet<>(current.keys.subMap(normalized, normalized + Character.MAX_VALUE).values());
+        return new SearchSuggestionsResponse(top(current, matches, Kind.EVENT, size),
+                top(current, matches, Kind.CITY, size), top(current, matches, Kind.CATEGORY, size));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.search.suggest.refresh-ms:300000}",
+            fixedDelayString = "${app.search.suggest.refresh-ms:300000}")
+    public void reload() {
+        synchronized (reloading) {
+            synchronized (this) {
+                missedChanges = new ArrayList<>();
+            }
+            Entries loaded = new Entries();
+            boolean complete = false;
+            try {
+                eventRepository.findSuggestionRows(LocalDateTime.now()).forEach(loaded::putEvent);
+                cityRepository.findAll().forEach(loaded::putCity);
+                categoryRepository.findAll().forEach(loaded::putCategory);
+                complete = true;
+            } finally {
+                synchronized (this) {
+                    List<Object> missed = missedChanges;
+                    missedChanges = null;
+                    // A failed reload keeps serving the previous entries, which the missed changes already reached.
+                    if (complete) {
+                        missed.forEach(change -> apply(loaded, change));
+                        entries = loaded;
+                    }
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        record(change);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCityChanged(CityChangedEvent change) {
+        record(change);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent change) {
+        record(change);
+    }
+
+    private synchronized void record(Object change) {
+        if (missedChanges != null) {
+            missedChanges.add(change);
+        }
+        apply(entries, change);
+    }
+
+    private void apply(Entries target, Object change) {
+        if (change instanceof EventChangedEvent event) {
+            target.remove(Kind.EVENT, event.eventId());
+            if (!event.deleted()) {
+                eventRepository.findSuggestionRow(event.eventId(), LocalDateTime.now()).forEach(target::putEvent);
+            }
+        } else if (change instanceof CityChangedEvent city) {
+            target.remove(Kind.CITY, city.cityId());
+            if (!city.deleted()) {
+                cityRepository.findById(city.cityId()).ifPresent(target::putCity);
+            }
+        } else if (change instanceof CategoryChangedEvent category) {
+            target.remove(Kind.CATEGORY, category.categoryId());
+            if (!category.deleted()) {
+                categoryRepository.findById(category.categoryId()).ifPresent(target::putCategory);
+            }
+        }
+    }
+
+    private static List<SuggestionResponse> top(Entries entries, Iterable<Item> matches, Kind kind, int size) {
+        List<Item> ofKind = new ArrayList<>();
+        for (Item item : matches) {
+            if (item.kind == kind) {
+                ofKind.add(item);
+            }
+        }
+        return ofKind.stream()
+                .sorted(Comparator.comparingLong((Item item) -> entries.popularity(item)).reversed()
+                        .thenComparing(item -> item.name))
+                .limit(size)
+                .map(item -> new SuggestionResponse(item.id, item.name))
+                .toList();
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Item {
+        private final Kind kind;
+        private final Long id;
+        private final String name;
+        private final long ticketsSold;
+        private final Long cityId;
+        private final Long categoryId;
+        private final List<String> keys = new ArrayList<>();
+
+        private Item(Kind kind, Long id, String name, long ticketsSold, Long cityId, Long categoryId) {
+            this.kind = kind;
+            this.id = id;
+            this.name = name;
+            this.ticketsSold = ticketsSold;
+            this.cityId = cityId;
+            this.categoryId = categoryId;
+        }
+    }
+
+    // Only changed while holding the index's monitor, or before being published; read concurrently by suggest().
+    private static final class Entries {
+        private final ConcurrentNavigableMap<String, Item> keys = new ConcurrentSkipListMap<>();
+        private final Map<String, Item> items = new ConcurrentHashMap<>();
+        private final Map<Long, Long> eventsPerCity = new ConcurrentHashMap<>();
+        private final Map<Long, Long> eventsPerCategory = new ConcurrentHashMap<>();
+
+        private long popularity(Item item) {
+            return switch (item.kind) {
+                case EVENT -> item.ticketsSold;
+                case CITY -> eventsPerCity.getOrDefault(item.id, 0L);
+                case CATEGORY -> eventsPerCategory.getOrDefault(item.id, 0L);
+            };
+        }
+
+        // Row of EventRepository.findSuggestionRows: id, name, city id, category id, tickets sold.
+        private void putEvent(Object[] row) {
+            Item event = new Item(Kind.EVENT, (Long) row[0], (String) row[1], ((Number) row[4]).longValue(),
+                    (Long) row[2], (Long) row[3]);
+            add(event);
+            count(eventsPerCity, event.cityId, 1);
+            count(eventsPerCategory, event.categoryId, 1);
+        }
+
+        private void putCity(City city) {
+            add(new Item(Kind.CITY, city.getId(), city.getName(), 0, null, null));
+        }
+
+        private void putCategory(Category category) {
+            add(new Item(Kind.CATEGORY, category.getId(), category.getName(), 0, null, null));
+        }
+
+        private void remove(Kind kind, Long id) {
+            Item item = items.remove(kind + ":" + id);
+            if (item == null) {
+                return;
+            }
+            item.keys.forEach(keys::remove);
+            if (kind == Kind.EVENT) {
+                count(eventsPerCity, item.cityId, -1);
+                count(eventsPerCategory, item.categoryId, -1);
+            }
+        }
+
+        private void add(Item item) {
+            String name = normalize(item.name);
+            String suffix = KEY_SEPARATOR + item.kind.name() + ":" + item.id;
+            for (int start = 0; start < name.length(); start++) {
+                boolean wordStart = start == 0 || !Character.isLetterOrDigit(name.charAt(start - 1));
+                if (wordStart && Character.isLetterOrDigit(name.charAt(start))) {
+                    item.keys.add(name.substring(start) + suffix);
+                }
+            }
+            item.keys.forEach(key -> keys.put(key, item));
+            items.put(item.kind + ":" + item.id, item);
+        }
+
+        private static void count(Map<Long, Long> counts, Long id, long delta) {
+            if (id != null) {
+                counts.merge(id, delta, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+    }
+}
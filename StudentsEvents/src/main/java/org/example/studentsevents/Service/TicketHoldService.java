@@ -0,0 +1,202 @@
+package org.example.studentsevents.Service;
+
+import jakarta.annotation.PostConstruct;
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.DTOResponse.TicketHoldResponse;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.TicketHoldRepository;
+import org.example.studentsevents.Repository.UserRepository;
+import org.example.studentsevents.model.Booking;
+import org.example.studentsevents.model.TicketHold;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.PriorityBlockingQueue;
+
+/**
+ * Time-limited holds taken before payment. A hold claims its seats on the sold counter straight away, so every
+ * availability figure derived from that counter already excludes held seats; confirming turns the hold into
+ * bookings without touching the counter again, and expiry gives the seats back.
+ * <p>
+ * Expiries are tracked in an in-memory priority queue ordered by deadline. The reaper only looks at the head of
+ * the queue and releases everything that is due in one transaction, so the database is never polled for expired
+ * holds. The queue is rebuilt from the table on startup and assumes a single application instance.
+ */
+@Service
+public class TicketHoldService {
+    private static final Logger logger = LoggerFactory.getLogger(TicketHoldService.class);
+
+    private final TicketHoldRepository ticketHoldRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final TicketInventoryService ticketInventoryService;
+    private final FlashSaleService flashSaleService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdDuration;
+
+    private final PriorityBlockingQueue<HoldExpiry> expiries =
+            new PriorityBlockingQueue<>(64, Comparator.comparing(HoldExpiry::expiresAt));
+
+    public TicketHoldService(TicketHoldRepository ticketHoldRepository,
+                             BookingRepository bookingRepository,
+                             UserRepository userRepository,
+                             TicketInventoryService ticketInventoryService,
+                             FlashSaleService flashSaleService,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${app.booking.hold-minutes:10}") long holdMinutes) {
+        this.ticketHoldRepository = ticketHoldRepository;
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.ticketInventoryService = ticketInventoryService;
+        this.flashSaleService = flashSaleService;
+        this.transactionTemplate = transactionTemplate;
+        this.holdDuration = Duration.ofMinutes(holdMinutes);
+    }
+
+    @PostConstruct
+    public void loadActiveHolds() {
+        for (Object[] row : ticketHoldRepository.findAllExpiries()) {
+            expiries.add(new HoldExpiry((Long) row[0], (LocalDateTime) row[1]));
+        }
+    }
+
+    @Transactional
+    public TicketHoldResponse createHold(BookingRequest bookingRequest) {
+        User user = getCurrentUser();
+        Integer quantity = bookingRequest.getQuantity();
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalStateException("You must specify a quantity greater than zero.");
+        }
+        if (flashSaleService.isFlashSale(bookingRequest.getTicketTypeId())) {
+            throw new IllegalStateException("Tickets for flash-sale events cannot be held. Please book them directly.");
+        }
+
+        TicketType ticketType = ticketInventoryService.reserve(bookingRequest.getTicketTypeId(), quantity);
+
+        LocalDateTime now = LocalDateTime.now();
+        TicketHold hold = new TicketHold();
+        hold.setUser(user);
+        hold.setTicketType(ticketType);
+        hold.setQuantity(quantity);
+        hold.setCreatedAt(now);
+        hold.setExpiresAt(now.plus(holdDuration));
+        TicketHold savedHold = ticketHoldRepository.save(hold);
+
+        scheduleAfterCommit(new HoldExpiry(savedHold.getId(), savedHold.getExpiresAt()));
+        return new TicketHoldResponse(savedHold.getId(), bookingRequest.getTicketTypeId(), quantity, savedHold.getExpiresAt());
+    }
+
+    @Transactional
+    public void confirmHold(Long holdId) {
+        User user = getCurrentUser();
+        TicketHold hold = ticketHoldRepository.findByIdAndUserForUpdate(holdId, user)
+                .orElseThrow(() -> new RuntimeException("Hold not found with id: " + holdId + " for the current user."));
+        if (!hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new IllegalStateException("Your hold on these tickets has expired. Please select your tickets again.");
+        }
+
+        LocalDateTime bookingDateTime = LocalDateTime.now();
+        List<Booking> newBookings = new ArrayList<>(hold.getQuantity());
+        for (int i = 0; i < hold.getQuantity(); i++) {
+            Booking newBooking = new Booking();
+            newBooking.setUser(user);
+            newBooking.setTicketType(hold.getTicketType());
+            newBooking.setBookingDateTime(bookingDateTime);
+            newBookings.add(newBooking);
+        }
+        ticketHoldRepository.delete(hold);
+        bookingRepository.saveAll(newBookings);
+    }
+
+    @Transactional
+    public void releaseHold(Long holdId) {
+        User user = getCurrentUser();
+        TicketHold hold = ticketHoldRepository.findByIdAndUserForUpdate(holdId, user)
+                .orElseThrow(() -> new RuntimeException("Hold not found with id: " + holdId + " for the current user."));
+        ticketInventoryService.release(hold.getTicketType().getId(), hold.getQuantity());
+        ticketHoldRepository.delete(hold);
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.hold-reaper-interval-ms:1000}")
+    public int reapExpiredHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        List<HoldExpiry> due = new ArrayList<>();
+        HoldExpiry head;
+        while ((head = expiries.peek()) != null && !head.expiresAt().isAfter(now)) {
+            HoldExpiry polled = expiries.poll();
+            if (polled != null) {
+                due.add(polled);
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Integer released = transactionTemplate.execute(status -> releaseExpired(due, now));
+            return released == null ? 0 : released;
+        } catch (RuntimeException e) {
+            logger.error("Could not release {} expired ticket hold(s), will retry", due.size(), e);
+            expiries.addAll(due);
+            return 0;
+        }
+    }
+
+    // Confirmed or released holds are simply no longer found; their queue entries are dropped here.
+    private int releaseExpired(List<HoldExpiry> due, LocalDateTime now) {
+        List<TicketHold> expired = ticketHoldRepository.findExpiredForUpdate(
+                due.stream().map(HoldExpiry::holdId).toList(), now);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        // Ticket type rows are updated in id order so concurrent reapers and bookings cannot deadlock.
+        Map<Long, Integer> quantityByTicketType = new TreeMap<>();
+        for (TicketHold hold : expired) {
+            quantityByTicketType.merge(hold.getTicketType().getId(), hold.getQuantity(), Integer::sum);
+        }
+        quantityByTicketType.forEach(ticketInventoryService::release);
+        ticketHoldRepository.deleteAllInBatch(expired);
+        logger.info("Released {} expired ticket hold(s)", expired.size());
+        return expired.size();
+    }
+
+    private void scheduleAfterCommit(HoldExpiry expiry) {
+        // Queued only once the hold is visible, otherwise the reaper could skip a row it cannot see yet.
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            expiries.add(expiry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                expiries.add(expiry);
+            }
+        });
+    }
+
+    private User getCurrentUser() {
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("Authenticated user not found in database"));
+    }
+
+    private record HoldExpiry(Long holdId, LocalDateTime expiresAt) {
+    }
+}
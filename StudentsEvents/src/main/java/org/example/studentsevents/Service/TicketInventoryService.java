@@ -0,0 +1,376 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.Exception.BookingRejectedException;
+import org.example.studentsevents.Repository.TicketInventoryBucketRepository;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.model.InventoryStrategy;
+import org.example.studentsevents.model.TicketInventoryBucket;
+import org.example.studentsevents.model.TicketType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Claims and releases seats. By default a ticket type sells from the sold counter on its own row, claimed either
+ * under a row lock or optimistically against the row version, depending on its event's {@link InventoryStrategy}. With
+ * {@code bucketCount > 1} the seats are split across that many ticket_inventory_buckets rows instead: a booking
+ * updates one bucket picked at random, skipping buckets other buyers are holding, so concurrent buyers mostly lock
+ * different rows.
+ * <p>
+ * Buckets are created lazily on the first sale. When a buyer cannot use its first pick, the ticket type is queued
+ * for a background rebalance that spreads the free seats evenly again; only when no free bucket can serve a request
+ * are all buckets locked, in index order, and pooled inline. Bookings are not tied to a bucket, so only the sum of
+ * the bucket counters matters. While bucketed, the ticket type's own sold column is left alone and is folded back in
+ * when bucketing is switched off.
+ * <p>
+ * The booking path never waits for a bucket while it holds another one, and never locks the ticket_types row while
+ * it holds a bucket: inserting a booking needs a key-share lock on that row, so a FOR UPDATE on it there would
+ * deadlock against other buyers.
+ */
+@Service
+public class TicketInventoryService {
+    private static final Logger logger = LoggerFactory.getLogger(TicketInventoryService.class);
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final TicketInventoryBucketRepository bucketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final FlashSaleService flashSaleService;
+    private final InventoryStrategy defaultStrategy;
+
+    private final Map<Long, InventoryMode> inventoryModes = new ConcurrentHashMap<>();
+    private final Set<Long> pendingRebalance = ConcurrentHashMap.newKeySet();
+
+    public TicketInventoryService(TicketTypeRepository ticketTypeRepository,
+                                  TicketInventoryBucketRepository bucketRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  FlashSaleService flashSaleService,
+                                  @Value("${app.inventory.default-strategy:PESSIMISTIC}") InventoryStrategy defaultStrategy) {
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.bucketRepository = bucketRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flashSaleService = flashSaleService;
+        this.defaultStrategy = defaultStrategy;
+    }
+
+    // Pessimistic: claims seats with a single conditional UPDATE on the sold counter; the row lock it takes
+    // is held only until the surrounding transaction commits.
+    // Optimistic: claims seats on the loaded entity without locking. The row is only written, and its version
+    // checked, when the transaction flushes; a lost race surfaces as an OptimisticLockingFailureException at
+    // commit, which InventoryRetryService turns into a retry of the whole booking.
+    // Both leave the seats of flash-sale reservations that are not written yet to the write-behind, which already
+    // confirmed them to their buyers.
+    @Transactional
+    public TicketType reserve(Long ticketTypeId, int quantity) {
+        InventoryMode mode = inventoryModeFor(ticketTypeId);
+        if (mode.bucketCount() > 1) {
+            reserveFromBuckets(ticketTypeId, mode.bucketCount(), quantity);
+            return ticketTypeRepository.getReferenceById(ticketTypeId);
+        }
+        if (mode.strategy() == InventoryStrategy.OPTIMISTIC) {
+            TicketType ticketType = ticketTypeRepository.findUnlockedById(ticketTypeId)
+                    .orElseThrow(() -> new RuntimeException("TicketType not found with id: " + ticketTypeId));
+            long available = Math.max(0, ticketType.getTotalAvailable() - ticketType.getSold()
+                    - flashSaleService.pendingQuantity(ticketTypeId));
+            if (quantity > available) {
+                throw new BookingRejectedException("Sorry, only " + available + " tickets are left, but you requested " + quantity + ".");
+            }
+            ticketType.setSold(ticketType.getSold() + quantity);
+            return ticketType;
+        }
+        int reserved = flashSaleService.pendingQuantity(ticketTypeId);
+        if (ticketTypeRepository.incrementSold(ticketTypeId, quantity, reserved) == 0) {
+            TicketType ticketType = ticketTypeRepository.findUnlockedById(ticketTypeId)
+                    .orElseThrow(() -> new RuntimeException("TicketType not found with id: " + ticketTypeId));
+            long available = Math.max(0, ticketType.getTotalAvailable() - ticketType.getSold() - reserved);
+            throw new BookingRejectedException("Sorry, only " + available + " tickets are left, but you requested " + quantity + ".");
+        }
+        return ticketTypeRepository.getReferenceById(ticketTypeId);
+    }
+
+    // Claims, in order, every quantity that still fits, under one lock on the ticket type row and with a single
+    // write of its sold counter. Only for ticket types that sell from that counter under row locks, see
+    // sellsFromLockedCounter.
+    @Transactional
+    public BatchClaim reserveEach(Long ticketTypeId, int[] quantities) {
+        TicketType ticketType = ticketTypeRepository.findById(ticketTypeId)
+                .orElseThrow(() -> new RuntimeException("TicketType not found with id: " + ticketTypeId));
+        int remaining = Math.max(0, ticketType.getTotalAvailable() - ticketType.getSold()
+                - flashSaleService.pendingQuantity(ticketTypeId));
+        boolean[] claimed = new boolean[quantities.length];
+        int claimedSeats = 0;
+        for (int i = 0; i < quantities.length; i++) {
+            if (quantities[i] <= remaining) {
+                claimed[i] = true;
+                remaining -= quantities[i];
+                claimedSeats += quantities[i];
+            }
+        }
+        if (claimedSeats > 0) {
+            ticketType.setSold(ticketType.getSold() + claimedSeats);
+        }
+        return new BatchClaim(ticketType, claimed, remaining);
+    }
+
+    public boolean sellsFromLockedCounter(Long ticketTypeId) {
+        InventoryMode mode = inventoryModeFor(ticketTypeId);
+        return mode.bucketCount() <= 1 && mode.strategy() == InventoryStrategy.PESSIMISTIC;
+    }
+
+    @Transactional
+    public void release(Long ticketTypeId, int quantity) {
+        int buckets = inventoryModeFor(ticketTypeId).bucketCount();
+        if (buckets <= 1) {
+            ticketTypeRepository.decrementSold(ticketTypeId, quantity);
+            return;
+        }
+        int start = ThreadLocalRandom.current().nextInt(buckets);
+        Optional<Integer> index = bucketRepository.findIndexWithSold(ticketTypeId, quantity, start);
+        if (index.isPresent() && bucketRepository.decrementSold(ticketTypeId, index.get(), quantity) == 1) {
+            return;
+        }
+        List<TicketInventoryBucket> locked = lockBuckets(ticketTypeId);
+        if (locked.isEmpty()) {
+            ticketTypeRepository.decrementSold(ticketTypeId, quantity);
+            return;
+        }
+        for (TicketInventoryBucket bucket : locked) {
+            if (bucket.getSold() >= quantity) {
+                bucket.setSold(bucket.getSold() - quantity);
+                return;
+            }
+        }
+        // The released seats are spread over several buckets.
+        layOutBuckets(ticketTypeId, buckets, -quantity, locked);
+    }
+
+    // Sold seats per ticket type for availability figures: one grouped query covers every bucketed ticket type.
+    public Map<Long, Integer> soldCounts(Collection<TicketType> ticketTypes) {
+        Map<Long, Integer> sold = new HashMap<>();
+        List<Long> bucketedIds = new ArrayList<>();
+        for (TicketType ticketType : ticketTypes) {
+            sold.put(ticketType.getId(), ticketType.getSold());
+            if (ticketType.getBucketCount() > 1 && !ticketType.getEvent().isFlashSale()) {
+                bucketedIds.add(ticketType.getId());
+            }
+        }
+        if (!bucketedIds.isEmpty()) {
+            for (Object[] row : bucketRepository.sumByTicketTypeIds(bucketedIds)) {
+                sold.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+        }
+        return sold;
+    }
+
+    // Called after a ticket type or its event was edited: re-splits the seats for a new bucket count or total,
+    // or folds the buckets back into the sold counter when bucketing was switched off.
+    @Transactional
+    public void refreshBucketLayout(Long ticketTypeId) {
+        evictAfterCommit(ticketTypeId);
+        TicketType ticketType = ticketTypeRepository.findById(ticketTypeId).orElse(null);
+        if (ticketType == null) {
+            return;
+        }
+        int buckets = ticketTypeRepository.findEffectiveBucketCount(ticketTypeId).orElse(1);
+        if (buckets > 1) {
+            layOutBuckets(ticketTypeId, buckets, 0);
+            return;
+        }
+        List<TicketInventoryBucket> existing = lockBuckets(ticketTypeId);
+        if (existing.isEmpty()) {
+            return;
+        }
+        ticketType.setSold(existing.stream().mapToInt(TicketInventoryBucket::getSold).sum());
+        bucketRepository.deleteAllInBatch(existing);
+    }
+
+    // Returns true when the bucket counters had drifted from the claimed seats and were reset.
+    @Transactional
+    public boolean reconcileBuckets(Long ticketTypeId) {
+        int buckets = ticketTypeRepository.findEffectiveBucketCount(ticketTypeId).orElse(1);
+        if (buckets <= 1) {
+            return false;
+        }
+        List<TicketInventoryBucket> locked = lockBuckets(ticketTypeId);
+        int recorded = locked.stream().mapToInt(TicketInventoryBucket::getSold).sum();
+        int actual = (int) ticketTypeRepository.countClaimedSeats(ticketTypeId);
+        if (recorded == actual) {
+            return false;
+        }
+        logger.warn("TicketType {} buckets recorded {} sold but {} seats are booked or held", ticketTypeId, recorded, actual);
+        layOutBuckets(ticketTypeId, buckets, actual - recorded, locked);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.bucket-rebalance-interval-ms:1000}")
+    public void rebalanceLowBuckets() {
+        for (Long ticketTypeId : List.copyOf(pendingRebalance)) {
+            pendingRebalance.remove(ticketTypeId);
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        layOutBuckets(ticketTypeId, inventoryModeFor(ticketTypeId).bucketCount(), 0));
+            } catch (RuntimeException e) {
+                logger.warn("Could not rebalance inventory buckets of ticket type {}", ticketTypeId, e);
+            }
+        }
+    }
+
+    private void reserveFromBuckets(Long ticketTypeId, int buckets, int quantity) {
+        int start = ThreadLocalRandom.current().nextInt(buckets);
+        Optional<Integer> index = bucketRepository.findIndexWithRoom(ticketTypeId, quantity, start);
+        if (index.isPresent() && bucketRepository.incrementSold(ticketTypeId, index.get(), quantity) == 1) {
+            if (index.get() != start) {
+                pendingRebalance.add(ticketTypeId);
+            }
+            return;
+        }
+        // Every bucket with room is busy or none has room left. Nothing is held at this point, so it is safe to
+        // wait for all of them in index order.
+        List<TicketInventoryBucket> locked = lockBuckets(ticketTypeId);
+        if (locked.isEmpty()) {
+            // First sale since bucketing was switched on. The rows are created and committed on their own, under
+            // the ticket type row lock, before this transaction starts holding any bucket.
+            requiresNew().executeWithoutResult(status -> createBuckets(ticketTypeId, buckets));
+            locked = lockBuckets(ticketTypeId);
+        }
+        if (claim(locked, quantity)) {
+            return;
+        }
+        // No single bucket can serve the request: pool the free seats into one bucket and try once more. The
+        // rebalancer spreads them out again afterwards.
+        int available = locked.stream().mapToInt(bucket -> bucket.getCapacity() - bucket.getSold()).sum();
+        if (locked.isEmpty() || available < quantity) {
+            throw new BookingRejectedException("Sorry, only " + available + " tickets are left, but you requested " + quantity + ".");
+        }
+        for (TicketInventoryBucket bucket : locked) {
+            bucket.setCapacity(bucket.getSold());
+        }
+        TicketInventoryBucket pooled = locked.get(0);
+        pooled.setCapacity(pooled.getSold() + available);
+        claim(locked, quantity);
+        pendingRebalance.add(ticketTypeId);
+    }
+
+    private static boolean claim(List<TicketInventoryBucket> locked, int quantity) {
+        for (TicketInventoryBucket bucket : locked) {
+            if (bucket.getCapacity() - bucket.getSold() >= quantity) {
+                bucket.setSold(bucket.getSold() + quantity);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void createBuckets(Long ticketTypeId, int buckets) {
+        ticketTypeRepository.findById(ticketTypeId)
+                .orElseThrow(() -> new RuntimeException("TicketType not found with id: " + ticketTypeId));
+        if (!bucketRepository.existsByTicketTypeId(ticketTypeId)) {
+            layOutBuckets(ticketTypeId, buckets, 0);
+        }
+    }
+
+    private TransactionTemplate requiresNew() {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private List<TicketInventoryBucket> layOutBuckets(Long ticketTypeId, int buckets, int soldDelta) {
+        return layOutBuckets(ticketTypeId, buckets, soldDelta, lockBuckets(ticketTypeId));
+    }
+
+    // Spreads sold and free seats evenly across exactly `buckets` rows; `existing` must already be locked.
+    private List<TicketInventoryBucket> layOutBuckets(Long ticketTypeId, int buckets, int soldDelta,
+                                                      List<TicketInventoryBucket> existing) {
+        TicketType ticketType = ticketTypeRepository.findUnlockedById(ticketTypeId)
+                .orElseThrow(() -> new RuntimeException("TicketType not found with id: " + ticketTypeId));
+        int totalSold = existing.isEmpty()
+                ? ticketType.getSold()
+                : existing.stream().mapToInt(TicketInventoryBucket::getSold).sum();
+        totalSold = Math.max(0, totalSold + soldDelta);
+        int free = Math.max(0, ticketType.getTotalAvailable() - totalSold);
+
+        List<TicketInventoryBucket> layout = new ArrayList<>(buckets);
+        List<TicketInventoryBucket> surplus = new ArrayList<>();
+        for (TicketInventoryBucket bucket : existing) {
+            (bucket.getBucketIndex() < buckets ? layout : surplus).add(bucket);
+        }
+        for (int index = layout.size(); index < buckets; index++) {
+            TicketInventoryBucket bucket = new TicketInventoryBucket();
+            bucket.setTicketType(ticketType);
+            bucket.setBucketIndex(index);
+            layout.add(bucket);
+        }
+        for (TicketInventoryBucket bucket : layout) {
+            int sold = share(totalSold, buckets, bucket.getBucketIndex());
+            bucket.setSold(sold);
+            bucket.setCapacity(sold + share(free, buckets, bucket.getBucketIndex()));
+        }
+        if (!surplus.isEmpty()) {
+            bucketRepository.deleteAllInBatch(surplus);
+        }
+        return bucketRepository.saveAll(layout);
+    }
+
+    // Locks the buckets one row at a time in index order, the same order every other path touches them in,
+    // so two transactions locking all buckets of a ticket type queue up instead of deadlocking.
+    private List<TicketInventoryBucket> lockBuckets(Long ticketTypeId) {
+        int lastIndex = bucketRepository.findMaxBucketIndex(ticketTypeId).orElse(-1);
+        List<TicketInventoryBucket> locked = new ArrayList<>(lastIndex + 1);
+        for (int index = 0; index <= lastIndex; index++) {
+            bucketRepository.findForUpdate(ticketTypeId, index).ifPresent(locked::add);
+        }
+        return locked;
+    }
+
+    private InventoryMode inventoryModeFor(Long ticketTypeId) {
+        InventoryMode cached = inventoryModes.get(ticketTypeId);
+        if (cached != null) {
+            return cached;
+        }
+        InventoryMode mode = new InventoryMode(
+                ticketTypeRepository.findEffectiveBucketCount(ticketTypeId).orElse(1),
+                ticketTypeRepository.findInventoryStrategy(ticketTypeId).orElse(defaultStrategy));
+        inventoryModes.put(ticketTypeId, mode);
+        return mode;
+    }
+
+    private void evictAfterCommit(Long ticketTypeId) {
+        inventoryModes.remove(ticketTypeId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                inventoryModes.remove(ticketTypeId);
+            }
+        });
+    }
+
+    private static int share(int total, int buckets, int index) {
+        return total / buckets + (index < total % buckets ? 1 : 0);
+    }
+
+    public record BatchClaim(TicketType ticketType, boolean[] claimed, int remaining) {
+    }
+
+    private record InventoryMode(int bucketCount, InventoryStrategy strategy) {
+    }
+}
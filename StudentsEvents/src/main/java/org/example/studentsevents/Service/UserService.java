@@ -5,11 +5,12 @@ package org.example.studentsevents.Service;
 import lombok.RequiredArgsConstructor;
 import org.example.studentsevents.DTORequest.UserUpdateRequest;
 import org.example.studentsevents.DTOResponse.UserResponse;
+import org.example.studentsevents.Repository.BookingRepository;
 import org.example.studentsevents.Repository.RoleRepository;
+import org.example.studentsevents.Repository.TicketHoldRepository;
 import org.example.studentsevents.Repository.UserRepository;
 import org.example.studentsevents.model.Role;
 import org.example.studentsevents.model.User;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -23,9 +24,11 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
     private final ImageService imageService;
     private final RoleRepository roleRepository;
+    private final BookingRepository bookingRepository;
+    private final TicketHoldRepository ticketHoldRepository;
+    private final TicketInventoryService ticketInventoryService;
 
 
     @Transactional
@@ -72,24 +75,23 @@ public class UserService {
         if (!userRepository.existsById(id)) {
             throw new RuntimeException("User not found with id: " + id);
         }
+        for (Object[] row : bookingRepository.countByTicketTypeForUser(id)) {
+            ticketInventoryService.release((Long) row[0], ((Long) row[1]).intValue());
+        }
+        for (Object[] row : ticketHoldRepository.sumQuantityByTicketTypeForUser(id)) {
+            ticketInventoryService.release((Long) row[0], ((Long) row[1]).intValue());
+        }
         userRepository.deleteById(id);
     }
 
     @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
+        return userRepository.findAllWithRoles().stream()
                 .map(this::mapUserToUserResponse)
                 .collect(Collectors.toList());
     }
 
     public UserResponse mapUserToUserResponse(User user) {
-        UserResponse userResponse = modelMapper.map(user, UserResponse.class);
-        userResponse.setRoles(user.getRoles().stream()
-                .map(Role::getName)
-                .collect(Collectors.toSet()));
-
-        userResponse.setProfilePictureUrl(user.getProfilePictureUrl());
-
-        return userResponse;
+        return ResponseMapper.toUserResponse(user);
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package org.example.studentsevents.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// A booking of an archived event. The ticket type is archived with it only as its name and price.
+@Entity
+@Table(name = "bookings_archive", indexes = {
+        @Index(name = "idx_bookings_archive_event", columnList = "event_id"),
+        @Index(name = "idx_bookings_archive_user", columnList = "user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedBooking {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime bookingDateTime;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long ticketTypeId;
+
+    @Column(nullable = false)
+    private String ticketTypeName;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,64 @@
+package org.example.studentsevents.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// A past event moved out of the events table by EventArchiver. It keeps its id, and the names of its category and
+// city as they were, so the row still reads correctly after those are renamed or deleted.
+@Entity
+@Table(name = "events_archive", indexes = {
+        @Index(name = "idx_events_archive_organizer_date", columnList = "organizer_id, eventDateTime"),
+        @Index(name = "idx_events_archive_date", columnList = "eventDateTime")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedEvent {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(length = 5000)
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime eventDateTime;
+
+    @Column(nullable = false)
+    private String address;
+
+    private String externalLink;
+
+    @Column(length = 512)
+    private String eventImageUrl;
+
+    @Column(name = "organizer_id", nullable = false)
+    private Long organizerId;
+
+    private Long categoryId;
+
+    private String categoryName;
+
+    private Long cityId;
+
+    private String cityName;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,9 @@
+package org.example.studentsevents.model;
+
+public enum BookingQueueStatus {
+
+    QUEUED,
+    PROCESSING,
+    CONFIRMED,
+    FAILED
+}
@@ -4,9 +4,12 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
+// Events load it lazily; touching the proxies of a page loads them together.
+@BatchSize(size = 50)
 @Entity
 @Table(name = "cities")
 @Getter
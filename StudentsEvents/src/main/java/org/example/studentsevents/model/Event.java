@@ -4,13 +4,37 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 @Entity
-@Table(name = "events")
+// The search filters narrow by category or city and page by date, so each of them gets an index in that order.
+// The expression index on lower(name) is created by EventSearchIndexInitializer.
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_category_date", columnList = "category_id, eventDateTime"),
+        @Index(name = "idx_events_city_date", columnList = "city_id, eventDateTime"),
+        @Index(name = "idx_events_date_id", columnList = "eventDateTime, id"),
+        @Index(name = "idx_events_min_price", columnList = "minPrice, eventDateTime"),
+        @Index(name = "idx_events_max_price", columnList = "maxPrice, eventDateTime"),
+        @Index(name = "idx_events_geohash", columnList = "geohash")
+})
+// Fetch plans for the repository methods that load events to show them: a listing needs the category and city of each
+// event, a single event also its ticket types. The ticket types of a page are loaded in one query afterwards, since
+// joining a collection into a paged query would make Hibernate paginate in memory.
+@NamedEntityGraph(name = "Event.summary", attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("city")
+})
+@NamedEntityGraph(name = "Event.detail", attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("city"),
+        @NamedAttributeNode("ticketTypes")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,11 +59,11 @@ public class Event {
 
     private String externalLink;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "city_id")
     private City city;
 
@@ -48,6 +72,7 @@ public class Event {
             cascade = CascadeType.ALL,
             orphanRemoval = true
     )
+    @BatchSize(size = 50)
     private List<TicketType> ticketTypes = new ArrayList<>();
 
     @Column(length = 512)
@@ -63,4 +88,43 @@ public class Event {
 
     @Column
     private Double longitude;
+
+    // Derived from latitude and longitude on every write; map searches match prefixes of it (see GeoHash).
+    @Column(length = GeoHash.PRECISION)
+    private String geohash;
+
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean flashSale = false;
+
+    // Null means the application-wide default (app.inventory.default-strategy).
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private InventoryStrategy inventoryStrategy;
+
+    // Cheapest and dearest ticket type, copied here so price filters need no join. Null while there are no ticket types.
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    @PrePersist
+    void beforeInsert() {
+        refreshPriceRange();
+        refreshGeohash();
+    }
+
+    @PreUpdate
+    void beforeUpdate() {
+        refreshGeohash();
+    }
+
+    // Runs on its own for a new event; whoever changes the ticket types of a stored one calls it before saving.
+    public void refreshPriceRange() {
+        minPrice = ticketTypes.stream().map(TicketType::getPrice).filter(Objects::nonNull).min(BigDecimal::compareTo).orElse(null);
+        maxPrice = ticketTypes.stream().map(TicketType::getPrice).filter(Objects::nonNull).max(BigDecimal::compareTo).orElse(null);
+    }
+
+    private void refreshGeohash() {
+        geohash = latitude == null || longitude == null ? null : GeoHash.encode(latitude, longitude, GeoHash.PRECISION);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package org.example.studentsevents.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geohashes: a point becomes a base-32 string whose prefixes are ever smaller rectangular cells containing it, so
+ * "every point inside this cell" is a prefix match that an ordinary B-tree index on the string can answer.
+ * {@link #cover} turns a bounding box into a short list of such cells.
+ */
+public final class GeoHash {
+
+    public static final int PRECISION = 12;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    // Enough cells to hug a box closely while keeping the OR of prefix matches short.
+    private static final int MAX_COVER_CELLS = 32;
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lngBit = true;
+        int bits = 0;
+        int value = 0;
+        while (hash.length() < precision) {
+            if (lngBit) {
+                double mid = (minLng + maxLng) / 2;
+                value = value << 1 | (longitude >= mid ? 1 : 0);
+                if (longitude >= mid) {
+                    minLng = mid;
+                } else {
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                value = value << 1 | (latitude >= mid ? 1 : 0);
+                if (latitude >= mid) {
+                    minLat = mid;
+                } else {
+                    maxLat = mid;
+                }
+            }
+            lngBit = !lngBit;
+            if (++bits == 5) {
+                hash.append(BASE32.charAt(value));
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    // Cells of one precision that together contain the box, using the finest precision that needs at most
+    // MAX_COVER_CELLS of them. They can reach past the box, so callers still compare the coordinates themselves.
+    public static List<String> cover(double south, double west, double north, double east) {
+        for (int precision = PRECISION; precision > 1; precision--) {
+            if (cellCount(south, west, north, east, precision) <= MAX_COVER_CELLS) {
+                return cells(south, west, north, east, precision);
+            }
+        }
+        return cells(south, west, north, east, 1);
+    }
+
+    // The finest precision whose cells are still at least this many degrees wide.
+    public static int precisionForWidth(double degrees) {
+        for (int precision = PRECISION; precision > 1; precision--) {
+            if (cellWidth(precision) >= degrees) {
+                return precision;
+            }
+        }
+        return 1;
+    }
+
+    public static long cellCount(double south, double west, double north, double east, int precision) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        return (index(north, -90, height, latBits(precision)) - index(south, -90, height, latBits(precision)) + 1)
+                * (index(east, -180, width, lngBits(precision)) - index(west, -180, width, lngBits(precision)) + 1);
+    }
+
+    public static List<String> cells(double south, double west, double north, double east, int precision) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        List<String> cells = new ArrayList<>();
+        for (long row = index(south, -90, height, latBits(precision)); row <= index(north, -90, height, latBits(precision)); row++) {
+            for (long column = index(west, -180, width, lngBits(precision)); column <= index(east, -180, width, lngBits(precision)); column++) {
+                // The centre of a cell encodes to that cell.
+                cells.add(encode(-90 + (row + 0.5) * height, -180 + (column + 0.5) * width, precision));
+            }
+        }
+        return cells;
+    }
+
+    private static long index(double coordinate, double origin, double cellSize, int bits) {
+        long last = (1L << bits) - 1;
+        return Math.max(0, Math.min(last, (long) Math.floor((coordinate - origin) / cellSize)));
+    }
+
+    // Longitude takes the first of every two bits, so it gets the extra one when the count is odd.
+    private static int lngBits(int precision) {
+        return (5 * precision + 1) / 2;
+    }
+
+    private static int latBits(int precision) {
+        return 5 * precision / 2;
+    }
+
+    private static double cellWidth(int precision) {
+        return 360.0 / (1L << lngBits(precision));
+    }
+
+    private static double cellHeight(int precision) {
+        return 180.0 / (1L << latBits(precision));
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.studentsevents.model;
+
+public enum InventoryStrategy {
+
+    // Seats are claimed with a conditional UPDATE whose row lock is held until the booking commits.
+    PESSIMISTIC,
+    // Seats are claimed on the loaded ticket type and checked against its version when the booking commits.
+    OPTIMISTIC
+}
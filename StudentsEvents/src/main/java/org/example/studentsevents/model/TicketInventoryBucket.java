@@ -0,0 +1,32 @@
+package org.example.studentsevents.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "ticket_inventory_buckets", uniqueConstraints =
+        @UniqueConstraint(name = "uk_ticket_inventory_buckets_index", columnNames = {"ticket_type_id", "bucketIndex"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class TicketInventoryBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_type_id", nullable = false)
+    private TicketType ticketType;
+
+    @Column(nullable = false)
+    private Integer bucketIndex;
+
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(nullable = false)
+    private Integer sold;
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -14,6 +16,7 @@ import java.util.List;
 @Getter
 @Setter
 @NoArgsConstructor
+@DynamicUpdate
 public class TicketType {
 
     @Id
@@ -29,10 +32,31 @@ public class TicketType {
     @Column(nullable = false)
     private Integer totalAvailable;
 
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer sold = 0;
+
+    // Above 1, seats are split across this many ticket_inventory_buckets rows and sold is only a periodic roll-up.
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    private Integer bucketCount = 1;
+
+    // Bumped by every change to the row, including the bulk sold updates in TicketTypeRepository.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
 
     @OneToMany(mappedBy = "ticketType", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Booking> bookings = new ArrayList<>();
+
+    @OneToMany(mappedBy = "ticketType", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<TicketHold> holds = new ArrayList<>();
+
+    @OneToMany(mappedBy = "ticketType", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<TicketInventoryBucket> buckets = new ArrayList<>();
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.NaturalId;
 
 import java.time.LocalDateTime;
@@ -36,12 +37,14 @@ public class User {
     private String password;
 
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Only read to authorize; UserRepository.findWithRolesByEmail loads them with the user.
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id")
     )
+    @BatchSize(size = 50)
     private Set<Role> roles = new HashSet<>();
 
     @JsonIgnore
@@ -52,6 +55,10 @@ public class User {
     )
     private List<Booking> bookings = new ArrayList<>();
 
+    @JsonIgnore
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<TicketHold> ticketHolds = new ArrayList<>();
+
     @Column(length = 512)
     private String profilePictureUrl;
 
@@ -37,4 +37,11 @@ class AdminPlatformControllerTest {
         mockMvc.perform(get("/api/admin/users"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void eventScroll_ShouldReturnBadRequest_ForAForgedCursor() throws Exception {
+        mockMvc.perform(get("/api/admin/events/scroll").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
 }
\ No newline at end of file
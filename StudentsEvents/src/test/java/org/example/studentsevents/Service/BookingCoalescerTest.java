@@ -0,0 +1,185 @@
+package org.example.studentsevents.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.IdempotencyKeyRepository;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.model.IdempotencyKey;
+import org.example.studentsevents.model.InventoryStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// A wide window so the concurrent requests below reliably share batches. The changed property means a context of
+// its own, so it also gets a database of its own instead of re-creating the schema under the shared one.
+@SpringBootTest(properties = {
+        "app.booking.coalesce.window-ms=50",
+        "spring.datasource.url=jdbc:h2:mem:coalescer"
+})
+class BookingCoalescerTest {
+
+    private static final int SEATS = 40;
+
+    @Autowired
+    private BookingCoalescer bookingCoalescer;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @SpyBean
+    private TicketInventoryService ticketInventoryService;
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private BookingTestData bookingTestData;
+
+    private Long ticketTypeId;
+
+    @BeforeEach
+    void setUp() {
+        ticketTypeId = bookingTestData.event("Coalescer Test Event").capacity(SEATS).save().get(0);
+    }
+
+    @Test
+    void concurrentBookings_ShouldShareTransactions_AndEachGetItsOwnOutcome() throws InterruptedException {
+        int requests = 30;
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        DistributionSummary batchSizes = meterRegistry.get("booking.coalescer.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+
+        List<Throwable> unexpected = bookConcurrently(requests, 2, booked, soldOut);
+
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+        assertEquals(SEATS / 2, booked.get());
+        assertEquals(requests - SEATS / 2, soldOut.get());
+        assertEquals(SEATS, bookingRepository.countByTicketTypeId(ticketTypeId));
+        assertEquals(SEATS, ticketTypeRepository.findUnlockedById(ticketTypeId).orElseThrow().getSold());
+        assertTrue(batchSizes.count() - batchesBefore < requests, "Requests were not coalesced");
+    }
+
+    @Test
+    void failedBatch_ShouldBeBookedRequestByRequest() throws InterruptedException {
+        doThrow(new CannotAcquireLockException("Lock wait timeout"))
+                .when(ticketInventoryService).reserveEach(eq(ticketTypeId), any());
+        int requests = 10;
+        AtomicInteger booked = new AtomicInteger();
+        Counter handedBack = meterRegistry.get("booking.coalescer.handed.back").counter();
+        double handedBackBefore = handedBack.count();
+
+        List<Throwable> unexpected = bookConcurrently(requests, 1, booked, new AtomicInteger());
+
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+        assertEquals(requests, booked.get());
+        assertEquals(requests, bookingRepository.countByTicketTypeId(ticketTypeId));
+        assertEquals(requests, handedBack.count() - handedBackBefore);
+    }
+
+    @Test
+    void keyedBookings_ShouldBeCoalesced_AndKeepTheirKeysWithTheirOutcomes() throws InterruptedException {
+        idempotencyKeyRepository.deleteAll();
+        int requests = 30;
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        DistributionSummary batchSizes = meterRegistry.get("booking.coalescer.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+
+        List<Throwable> unexpected = bookConcurrently(requests, 2, booked, soldOut,
+                (request, i) -> idempotencyService.createBooking("coalesced-" + i, request));
+
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+        assertEquals(SEATS / 2, booked.get());
+        assertEquals(requests - SEATS / 2, soldOut.get());
+        assertEquals(SEATS, bookingRepository.countByTicketTypeId(ticketTypeId));
+        assertTrue(batchSizes.count() - batchesBefore < requests, "Requests were not coalesced");
+        List<IdempotencyKey> keys = idempotencyKeyRepository.findAll();
+        assertEquals(requests, keys.size());
+        assertEquals(SEATS / 2, keys.stream().filter(IdempotencyKey::isSucceeded).count());
+    }
+
+    @Test
+    void optimisticEvent_ShouldNotBeCoalesced() throws InterruptedException {
+        ticketTypeId = bookingTestData.event("Optimistic Coalescer Test Event")
+                .capacity(SEATS)
+                .strategy(InventoryStrategy.OPTIMISTIC)
+                .save().get(0);
+        DistributionSummary batchSizes = meterRegistry.get("booking.coalescer.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+        AtomicInteger booked = new AtomicInteger();
+
+        List<Throwable> unexpected = bookConcurrently(5, 1, booked, new AtomicInteger());
+
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+        assertEquals(5, booked.get());
+        assertEquals(5, bookingRepository.countByTicketTypeId(ticketTypeId));
+        assertEquals(batchesBefore, batchSizes.count());
+        verify(ticketInventoryService, never()).reserveEach(any(), any());
+    }
+
+    private List<Throwable> bookConcurrently(int requests, int quantity, AtomicInteger booked, AtomicInteger soldOut)
+            throws InterruptedException {
+        return bookConcurrently(requests, quantity, booked, soldOut, (request, i) -> bookingCoalescer.createBooking(request));
+    }
+
+    private List<Throwable> bookConcurrently(int requests, int quantity, AtomicInteger booked, AtomicInteger soldOut,
+                                             ObjIntConsumer<BookingRequest> book) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        SecurityContextImpl buyerContext = new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(BookingTestData.BUYER_EMAIL, null, Collections.emptyList()));
+        BookingRequest request = new BookingRequest();
+        request.setTicketTypeId(ticketTypeId);
+        request.setQuantity(quantity);
+
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            executor.submit(new DelegatingSecurityContextRunnable(() -> {
+                try {
+                    start.await();
+                    book.accept(request, index);
+                    booked.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    soldOut.incrementAndGet();
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+            }, buyerContext));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "Bookings did not finish");
+        return unexpected;
+    }
+}
@@ -0,0 +1,349 @@
+package org.example.studentsevents.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.Repository.UserRepository;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contention harness for {@link BookingService#createBooking} and {@link BookingCoalescer}. Each scenario sells one ticket type to a crowd of
+ * concurrent buyers with twice as much demand as inventory, then checks the bookings against the sold counter.
+ * Scenarios are the cross product of these system properties:
+ * <pre>
+ *   bench.threads      comma separated, default 8,32
+ *   bench.inventory    comma separated, default 200
+ *   bench.quantities   comma separated, default 1,4
+ *   bench.executors    platform and/or virtual, default platform,virtual (virtual needs a Java 21 runtime)
+ *   bench.paths        direct (one transaction per request) and/or coalesced (group commit), default both
+ *   bench.label        free text stored with the results, e.g. the inventory strategy under test
+ * </pre>
+ * Results go to target/benchmarks/booking-contention-&lt;database&gt;-&lt;timestamp&gt;.json.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Import(BookingContentionBenchmark.LockWaitProbe.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class BookingContentionBenchmark {
+
+    private static final int DEMAND_FACTOR = 2;
+
+    // Time spent inside the conditional UPDATE or, on the coalesced path, the locking read of the ticket type,
+    // which includes waiting for the ticket type row lock.
+    private static final ConcurrentLinkedQueue<Long> lockWaitNanos = new ConcurrentLinkedQueue<>();
+
+    @TestConfiguration
+    static class LockWaitProbe implements BeanPostProcessor {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof TicketTypeRepository)) {
+                return bean;
+            }
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                String method = invocation.getMethod().getName();
+                if (!method.equals("incrementSold") && !method.equals("findById")) {
+                    return invocation.proceed();
+                }
+                long startedAt = System.nanoTime();
+                try {
+                    return invocation.proceed();
+                } finally {
+                    lockWaitNanos.add(System.nanoTime() - startedAt);
+                }
+            });
+            return proxyFactory.getProxy();
+        }
+    }
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingCoalescer bookingCoalescer;
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<ScenarioResult> results = Collections.synchronizedList(new ArrayList<>());
+
+    protected abstract String databaseName();
+
+    Stream<Scenario> scenarios() {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String path : stringsProperty("bench.paths", "direct,coalesced")) {
+            for (String executor : stringsProperty("bench.executors", "platform,virtual")) {
+                for (int threads : intsProperty("bench.threads", "8,32")) {
+                    for (int inventory : intsProperty("bench.inventory", "200")) {
+                        for (int quantity : intsProperty("bench.quantities", "1,4")) {
+                            scenarios.add(new Scenario(path, executor, threads, inventory, quantity));
+                        }
+                    }
+                }
+            }
+        }
+        return scenarios.stream();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("scenarios")
+    void createBookingUnderContention(Scenario scenario) throws Exception {
+        ExecutorService executor = newExecutor(scenario);
+        Long ticketTypeId = resetInventory(scenario.inventory(), scenario.threads());
+
+        BookingRequest request = new BookingRequest();
+        request.setTicketTypeId(ticketTypeId);
+        request.setQuantity(scenario.quantity());
+
+        int attempts = Math.max(1, scenario.inventory() * DEMAND_FACTOR / scenario.quantity());
+        AtomicInteger remainingAttempts = new AtomicInteger(attempts);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        lockWaitNanos.clear();
+
+        for (int t = 0; t < scenario.threads(); t++) {
+            SecurityContextImpl buyerContext = new SecurityContextImpl(
+                    new UsernamePasswordAuthenticationToken(buyerEmail(t), null, Collections.emptyList()));
+            executor.execute(new DelegatingSecurityContextRunnable(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                while (remainingAttempts.getAndDecrement() > 0) {
+                    long startedAt = System.nanoTime();
+                    try {
+                        if (scenario.path().equals("coalesced")) {
+                            bookingCoalescer.createBooking(request);
+                        } else {
+                            bookingService.createBooking(request);
+                        }
+                        succeeded.incrementAndGet();
+                    } catch (IllegalStateException soldOut) {
+                        rejected.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    } finally {
+                        latencies.add(System.nanoTime() - startedAt);
+                    }
+                }
+            }, buyerContext));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES), "Scenario did not finish: " + scenario);
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+        long booked = bookingRepository.countByTicketTypeId(ticketTypeId);
+        int soldCounter = ticketTypeRepository.findUnlockedById(ticketTypeId).orElseThrow().getSold();
+        ScenarioResult result = new ScenarioResult(scenario.path(), scenario.executor(), scenario.threads(), scenario.inventory(),
+                scenario.quantity(), attempts, succeeded.get(), rejected.get(), failed.get(), booked, soldCounter,
+                elapsedSeconds, attempts / elapsedSeconds, succeeded.get() / elapsedSeconds,
+                Percentiles.of(latencies), Percentiles.of(lockWaitNanos),
+                verdict(scenario, succeeded.get(), booked, soldCounter));
+        results.add(result);
+        System.out.printf("%-58s %8.0f ops/s  p50 %7.2f ms  p99 %7.2f ms  p999 %7.2f ms  lock wait p99 %7.2f ms  %s%n",
+                scenario, result.attemptsPerSecond(), result.latencyMillis().p50(), result.latencyMillis().p99(),
+                result.latencyMillis().p999(), result.lockWaitMillis().p99(), result.verdict());
+
+        assertEquals("OK", result.verdict(), "Inventory check failed for " + scenario);
+        assertEquals(0, failed.get(), "Unexpected booking failures for " + scenario);
+    }
+
+    @AfterAll
+    void writeResults() throws IOException {
+        if (results.isEmpty()) {
+            return;
+        }
+        File outputDirectory = new File("target/benchmarks");
+        outputDirectory.mkdirs();
+        File output = new File(outputDirectory,
+                "booking-contention-" + databaseName() + "-" + System.currentTimeMillis() + ".json");
+        BenchmarkReport report = new BenchmarkReport("booking-contention", databaseName(),
+                System.getProperty("bench.label", ""), gitCommit(), Instant.now().toString(),
+                Runtime.version().toString(), Runtime.getRuntime().availableProcessors(), List.copyOf(results));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+        System.out.println("Benchmark results written to " + output.getAbsolutePath());
+    }
+
+    // Every booking must be backed by the counter, nothing past the inventory may be sold, and with twice the
+    // demand a ticket type may only be left with fewer seats than a single request asks for.
+    private static String verdict(Scenario scenario, int succeeded, long booked, int soldCounter) {
+        if (booked > scenario.inventory() || soldCounter > scenario.inventory()) {
+            return "OVERSOLD";
+        }
+        if (booked != (long) succeeded * scenario.quantity() || soldCounter != booked) {
+            return "COUNTER_DRIFT";
+        }
+        if (scenario.inventory() - booked >= scenario.quantity()) {
+            return "UNDERSOLD";
+        }
+        return "OK";
+    }
+
+    // One buyer per thread, as in a real on-sale, so no single user's booking collection grows with the run.
+    private Long resetInventory(int inventory, int buyers) {
+        bookingRepository.deleteAll();
+        ticketTypeRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User organizer = new User();
+        organizer.setEmail("organizer@bench.com");
+        organizer.setPassword("password");
+        organizer.setVerified(true);
+        userRepository.save(organizer);
+
+        List<User> buyerUsers = new ArrayList<>();
+        for (int i = 0; i < buyers; i++) {
+            User buyer = new User();
+            buyer.setEmail(buyerEmail(i));
+            buyer.setPassword("password");
+            buyer.setVerified(true);
+            buyerUsers.add(buyer);
+        }
+        userRepository.saveAll(buyerUsers);
+
+        Event event = new Event();
+        event.setName("Contention Benchmark Event");
+        event.setAddress("Addr");
+        event.setEventDateTime(LocalDateTime.now().plusDays(1));
+        event.setOrganizer(organizer);
+
+        TicketType ticketType = new TicketType();
+        ticketType.setName("General");
+        ticketType.setPrice(BigDecimal.TEN);
+        ticketType.setTotalAvailable(inventory);
+        ticketType.setEvent(event);
+        event.getTicketTypes().add(ticketType);
+
+        return eventRepository.saveAndFlush(event).getTicketTypes().get(0).getId();
+    }
+
+    private static String buyerEmail(int index) {
+        return "buyer" + index + "@bench.com";
+    }
+
+    // Looked up reflectively so the suite still compiles for the project's Java 17 target.
+    private static ExecutorService newExecutor(Scenario scenario) {
+        if (!scenario.executor().equals("virtual")) {
+            return Executors.newFixedThreadPool(scenario.threads());
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            Assumptions.abort("Virtual threads need a Java 21+ runtime, running on " + Runtime.version());
+            return null;
+        }
+    }
+
+    private static String gitCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit = new String(process.getInputStream().readAllBytes()).trim();
+            return process.waitFor() == 0 ? commit : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static List<String> stringsProperty(String name, String defaultValue) {
+        return Arrays.stream(System.getProperty(name, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+
+    private static List<Integer> intsProperty(String name, String defaultValue) {
+        return stringsProperty(name, defaultValue).stream().map(Integer::valueOf).toList();
+    }
+
+    record Scenario(String path, String executor, int threads, int inventory, int quantity) {
+        @Override
+        public String toString() {
+            return path + " " + executor + " threads=" + threads + " inventory=" + inventory + " quantity=" + quantity;
+        }
+    }
+
+    record Percentiles(double mean, double p50, double p99, double p999, double max) {
+        static Percentiles of(Iterable<Long> nanos) {
+            List<Long> samples = new ArrayList<>();
+            nanos.forEach(samples::add);
+            if (samples.isEmpty()) {
+                return new Percentiles(0, 0, 0, 0, 0);
+            }
+            Collections.sort(samples);
+            double mean = samples.stream().mapToLong(Long::longValue).average().orElse(0);
+            return new Percentiles(mean / 1e6, at(samples, 0.50), at(samples, 0.99), at(samples, 0.999),
+                    samples.get(samples.size() - 1) / 1e6);
+        }
+
+        private static double at(List<Long> sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index)) / 1e6;
+        }
+    }
+
+    record ScenarioResult(String path, String executor, int threads, int inventory, int quantity, int attempts,
+                          int succeeded, int rejected, int failed, long booked, int soldCounter, double elapsedSeconds,
+                          double attemptsPerSecond, double bookingsPerSecond, Percentiles latencyMillis,
+                          Percentiles lockWaitMillis, String verdict) {
+    }
+
+    record BenchmarkReport(String benchmark, String database, String label, String gitCommit, String recordedAt,
+                           String javaVersion, int availableProcessors, List<ScenarioResult> scenarios) {
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.studentsevents.Service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Pbenchmark -Dtest=BookingLockHoldBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest
+class BookingLockHoldBenchmarkTest {
+
+    // The row lock is taken by the conditional UPDATE and released when the booking transaction completes.
+    @TestConfiguration
+    static class LockHoldProbe implements BeanPostProcessor {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof TicketTypeRepository)) {
+                return bean;
+            }
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                Object result = invocation.proceed();
+                if (invocation.getMethod().getName().equals("incrementSold")) {
+                    long lockedAt = System.nanoTime();
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            lockHoldNanos.add(System.nanoTime() - lockedAt);
+                        }
+                    });
+                }
+                return result;
+            });
+            return proxyFactory.getProxy();
+        }
+    }
+
+    private static final int[] QUANTITIES = {1, 2, 5, 10, 20, 50};
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 50;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookingTestData bookingTestData;
+
+    private static final List<Long> lockHoldNanos = Collections.synchronizedList(new ArrayList<>());
+    private Long ticketTypeId;
+
+    @BeforeEach
+    void setUp() {
+        ticketTypeId = bookingTestData.event("Benchmark Event").capacity(1_000_000).save().get(0);
+    }
+
+    @Test
+    @WithMockUser(BookingTestData.BUYER_EMAIL)
+    void lockHoldTimeByQuantity() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        System.out.println();
+        System.out.printf("%8s %14s %14s %14s %18s%n", "quantity", "mean hold us", "p50 hold us", "p99 hold us", "statements/booking");
+        for (int quantity : QUANTITIES) {
+            BookingRequest request = new BookingRequest();
+            request.setTicketTypeId(ticketTypeId);
+            request.setQuantity(quantity);
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                bookingService.createBooking(request);
+            }
+            lockHoldNanos.clear();
+            statistics.clear();
+
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                bookingService.createBooking(request);
+            }
+
+            List<Long> samples = new ArrayList<>(lockHoldNanos);
+            Collections.sort(samples);
+            assertEquals(MEASURED_ITERATIONS, samples.size());
+            double mean = samples.stream().mapToLong(Long::longValue).average().orElse(0);
+            System.out.printf("%8d %14.1f %14.1f %14.1f %18.1f%n", quantity,
+                    mean / 1_000,
+                    samples.get(samples.size() / 2) / 1_000.0,
+                    samples.get((int) Math.ceil(samples.size() * 0.99) - 1) / 1_000.0,
+                    (double) statistics.getPrepareStatementCount() / MEASURED_ITERATIONS);
+        }
+        System.out.println();
+    }
+}
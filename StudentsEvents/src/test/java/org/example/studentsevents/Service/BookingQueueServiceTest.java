@@ -0,0 +1,120 @@
+package org.example.studentsevents.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.DTOResponse.BookingQueueResponse;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.model.BookingQueueStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class BookingQueueServiceTest {
+
+    @Mock
+    private BookingService bookingService;
+    @Mock
+    private TicketTypeRepository ticketTypeRepository;
+
+    private BookingQueueService bookingQueueService;
+
+    @BeforeEach
+    void setUp() {
+        // 20 admissions per second drained every 100 ms -> 2 admissions per tick; room for 3 waiting requests.
+        bookingQueueService = new BookingQueueService(bookingService,
+                new InventoryRetryService(ticketTypeRepository, new SimpleMeterRegistry(), 4, 0, 0), 20, 100, 3, 1, 15);
+        authenticateAs("test@user.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingQueueService.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void enqueue_ShouldHandOutPositions_AndRejectWhenFull() {
+        assertEquals(1, bookingQueueService.enqueue(request()).getPosition());
+        assertEquals(2, bookingQueueService.enqueue(request()).getPosition());
+        assertEquals(3, bookingQueueService.enqueue(request()).getPosition());
+
+        assertThrows(IllegalStateException.class, () -> bookingQueueService.enqueue(request()));
+    }
+
+    @Test
+    void admit_ShouldDrainAtConfiguredRate_AsTheRequestingUser() throws InterruptedException {
+        List<String> bookedAs = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            bookedAs.add(SecurityContextHolder.getContext().getAuthentication().getName());
+            if (bookedAs.size() == 2) {
+                throw new IllegalStateException("Sorry, only 0 tickets are left, but you requested 1.");
+            }
+            return null;
+        }).when(bookingService).createBooking(any(BookingRequest.class));
+
+        String first = bookingQueueService.enqueue(request()).getToken();
+        String second = bookingQueueService.enqueue(request()).getToken();
+        String third = bookingQueueService.enqueue(request()).getToken();
+
+        bookingQueueService.admit();
+
+        BookingQueueResponse firstStatus = awaitCompletion(first);
+        BookingQueueResponse secondStatus = awaitCompletion(second);
+        BookingQueueResponse thirdStatus = bookingQueueService.getStatus(third);
+
+        assertEquals(BookingQueueStatus.CONFIRMED, firstStatus.getStatus());
+        assertEquals(BookingQueueStatus.FAILED, secondStatus.getStatus());
+        assertEquals("Sorry, only 0 tickets are left, but you requested 1.", secondStatus.getMessage());
+        assertEquals(BookingQueueStatus.QUEUED, thirdStatus.getStatus());
+        assertEquals(1, thirdStatus.getPosition());
+        assertEquals(List.of("test@user.com", "test@user.com"), bookedAs);
+    }
+
+    @Test
+    void getStatus_ShouldHideTokensOfOtherUsers() {
+        String token = bookingQueueService.enqueue(request()).getToken();
+
+        authenticateAs("someone@else.com");
+
+        assertThrows(RuntimeException.class, () -> bookingQueueService.getStatus(token));
+    }
+
+    private BookingQueueResponse awaitCompletion(String token) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            BookingQueueResponse status = bookingQueueService.getStatus(token);
+            if (status.getStatus() == BookingQueueStatus.CONFIRMED || status.getStatus() == BookingQueueStatus.FAILED) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Queued booking " + token + " did not complete");
+    }
+
+    private void authenticateAs(String email) {
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList())));
+    }
+
+    private BookingRequest request() {
+        BookingRequest request = new BookingRequest();
+        request.setTicketTypeId(1L);
+        request.setQuantity(1);
+        return request;
+    }
+}
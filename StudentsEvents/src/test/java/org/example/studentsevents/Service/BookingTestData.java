@@ -0,0 +1,110 @@
+package org.example.studentsevents.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.Repository.UserRepository;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.InventoryStrategy;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The event the booking tests sell from. {@link #event(String)} empties the booking, ticket type, event and user
+ * tables, saves an organizer and the buyer the tests book as, and returns a builder for tomorrow's event. Unless
+ * told otherwise, the event sells one "General" ticket type with a single seat:
+ * <pre>
+ * Long ticketTypeId = bookingTestData.event("On Sale").capacity(50).save().get(0);
+ * </pre>
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingTestData {
+
+    public static final String BUYER_EMAIL = "test@user.com";
+
+    private final BookingRepository bookingRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+
+    public EventBuilder event(String name) {
+        bookingRepository.deleteAll();
+        ticketTypeRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User organizer = user("organizer@test.com");
+        user(BUYER_EMAIL);
+        return new EventBuilder(name, organizer);
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setVerified(true);
+        return userRepository.save(user);
+    }
+
+    public final class EventBuilder {
+
+        private final Event event = new Event();
+        private List<String> ticketTypes = List.of("General");
+        private int capacity = 1;
+        private int bucketCount = 1;
+
+        private EventBuilder(String name, User organizer) {
+            event.setName(name);
+            event.setAddress("Addr");
+            event.setEventDateTime(LocalDateTime.now().plusDays(1));
+            event.setOrganizer(organizer);
+        }
+
+        // Seats per ticket type.
+        public EventBuilder capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public EventBuilder flashSale() {
+            event.setFlashSale(true);
+            return this;
+        }
+
+        public EventBuilder strategy(InventoryStrategy strategy) {
+            event.setInventoryStrategy(strategy);
+            return this;
+        }
+
+        public EventBuilder bucketCount(int bucketCount) {
+            this.bucketCount = bucketCount;
+            return this;
+        }
+
+        public EventBuilder ticketTypes(String... names) {
+            this.ticketTypes = List.of(names);
+            return this;
+        }
+
+        // Saves the event and returns the ids of its ticket types, in the order they were named.
+        public List<Long> save() {
+            for (String name : ticketTypes) {
+                TicketType ticketType = new TicketType();
+                ticketType.setName(name);
+                ticketType.setPrice(BigDecimal.TEN);
+                ticketType.setTotalAvailable(capacity);
+                ticketType.setBucketCount(bucketCount);
+                ticketType.setEvent(event);
+                event.getTicketTypes().add(ticketType);
+            }
+            return eventRepository.saveAndFlush(event).getTicketTypes().stream().map(TicketType::getId).toList();
+        }
+    }
+}
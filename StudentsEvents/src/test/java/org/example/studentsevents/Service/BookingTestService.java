@@ -1,24 +1,33 @@
 package org.example.studentsevents.Service;
 
 import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.Repository.ArchivedBookingRepository;
+import org.example.studentsevents.Repository.ArchivedEventRepository;
 import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.TicketInventoryBucketRepository;
 import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.Repository.UserBookingHistory;
 import org.example.studentsevents.Repository.UserRepository;
 import org.example.studentsevents.model.Booking;
+import org.example.studentsevents.model.InventoryStrategy;
 import org.example.studentsevents.model.TicketType;
 import org.example.studentsevents.model.User;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -31,21 +40,42 @@ class BookingTestService {
     private UserRepository userRepository;
     @Mock
     private TicketTypeRepository ticketTypeRepository;
+    @Mock
+    private TicketInventoryBucketRepository bucketRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private FlashSaleService flashSaleService;
+    @Mock
+    private UserBookingHistory bookingHistory;
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+    @Mock
+    private ArchivedEventRepository archivedEventRepository;
 
     @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
 
-    @InjectMocks
     private BookingService bookingService;
 
     @BeforeEach
     void setUp() {
+        bookingService = new BookingService(bookingRepository, userRepository,
+                new TicketInventoryService(ticketTypeRepository, bucketRepository, transactionTemplate,
+                        flashSaleService, InventoryStrategy.PESSIMISTIC), flashSaleService,
+                bookingHistory, archivedBookingRepository, archivedEventRepository);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
     }
 
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void createBooking_ShouldThrowException_WhenTicketsAreSoldOut() {
         when(authentication.getName()).thenReturn("test@user.com");
@@ -58,14 +88,14 @@ class BookingTestService {
         TicketType soldOutTicket = new TicketType();
         soldOutTicket.setId(1L);
         soldOutTicket.setTotalAvailable(50);
+        soldOutTicket.setSold(50);
 
         when(userRepository.findByEmail("test@user.com")).thenReturn(Optional.of(fakeUser));
-        when(ticketTypeRepository.findById(1L)).thenReturn(Optional.of(soldOutTicket));
-
-        when(bookingRepository.countByTicketTypeId(1L)).thenReturn(50L);
+        when(ticketTypeRepository.incrementSold(1L, 1, 0)).thenReturn(0);
+        when(ticketTypeRepository.findUnlockedById(1L)).thenReturn(Optional.of(soldOutTicket));
 
         assertThrows(IllegalStateException.class, () -> bookingService.createBooking(request));
-        verify(bookingRepository, never()).save(any());
+        verify(bookingRepository, never()).saveAll(any());
     }
 
     @Test
@@ -80,15 +110,17 @@ class BookingTestService {
         TicketType availableTicket = new TicketType();
         availableTicket.setId(1L);
         availableTicket.setTotalAvailable(50);
+        availableTicket.setSold(10);
 
         when(userRepository.findByEmail("test@user.com")).thenReturn(Optional.of(fakeUser));
-        when(ticketTypeRepository.findById(1L)).thenReturn(Optional.of(availableTicket));
-
-        when(bookingRepository.countByTicketTypeId(1L)).thenReturn(10L);
+        when(ticketTypeRepository.incrementSold(1L, 2, 0)).thenReturn(1);
+        when(ticketTypeRepository.getReferenceById(1L)).thenReturn(availableTicket);
 
         bookingService.createBooking(request);
 
-        verify(bookingRepository, times(2)).save(any(Booking.class));
+        ArgumentCaptor<List<Booking>> bookingsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(bookingRepository, times(1)).saveAll(bookingsCaptor.capture());
+        assertEquals(2, bookingsCaptor.getValue().size());
     }
 
     @Test
@@ -0,0 +1,120 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.DTORequest.CheckoutRequest;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class CartCheckoutConcurrencyTest {
+
+    private static final int SEATS_PER_TICKET_TYPE = 30;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingTestData bookingTestData;
+
+    private Long regularId;
+    private Long vipId;
+    private Long backstageId;
+
+    @BeforeEach
+    void setUp() {
+        List<Long> ticketTypeIds = bookingTestData.event("Cart Test Event")
+                .ticketTypes("Regular", "VIP", "Backstage")
+                .capacity(SEATS_PER_TICKET_TYPE)
+                .save();
+        regularId = ticketTypeIds.get(0);
+        vipId = ticketTypeIds.get(1);
+        backstageId = ticketTypeIds.get(2);
+    }
+
+    @Test
+    void checkout_ShouldNeverDeadlockOrOversell_WithConcurrentOverlappingCarts() throws InterruptedException {
+        // The same ticket types listed in different orders: without sorted locking these carts would deadlock.
+        List<CheckoutRequest> carts = List.of(
+                cart(regularId, vipId),
+                cart(vipId, regularId),
+                cart(backstageId, vipId, regularId));
+        int threads = 12;
+        int checkoutsPerThread = 6;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger twoTypeCarts = new AtomicInteger();
+        AtomicInteger threeTypeCarts = new AtomicInteger();
+        SecurityContextImpl buyerContext = new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(BookingTestData.BUYER_EMAIL, null, Collections.emptyList()));
+
+        for (int t = 0; t < threads; t++) {
+            CheckoutRequest checkoutRequest = carts.get(t % carts.size());
+            executor.submit(new DelegatingSecurityContextRunnable(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < checkoutsPerThread; i++) {
+                    try {
+                        bookingService.checkout(checkoutRequest);
+                        (checkoutRequest.getItems().size() == 3 ? threeTypeCarts : twoTypeCarts).incrementAndGet();
+                    } catch (IllegalStateException soldOut) {
+                        // Expected once a ticket type runs out.
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                }
+            }, buyerContext));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "Checkouts did not finish, possible deadlock");
+
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+        int completedCarts = twoTypeCarts.get() + threeTypeCarts.get();
+        assertEquals(SEATS_PER_TICKET_TYPE, completedCarts, "Every seat of the shared ticket types should be sold");
+        assertEquals(completedCarts, bookingRepository.countByTicketTypeId(regularId));
+        assertEquals(completedCarts, bookingRepository.countByTicketTypeId(vipId));
+        assertEquals(threeTypeCarts.get(), bookingRepository.countByTicketTypeId(backstageId));
+        assertEquals(completedCarts, ticketTypeRepository.findUnlockedById(regularId).orElseThrow().getSold());
+        assertEquals(completedCarts, ticketTypeRepository.findUnlockedById(vipId).orElseThrow().getSold());
+        assertEquals(threeTypeCarts.get(), ticketTypeRepository.findUnlockedById(backstageId).orElseThrow().getSold());
+    }
+
+    private CheckoutRequest cart(Long... ticketTypeIds) {
+        CheckoutRequest checkoutRequest = new CheckoutRequest();
+        for (Long ticketTypeId : ticketTypeIds) {
+            BookingRequest item = new BookingRequest();
+            item.setTicketTypeId(ticketTypeId);
+            item.setQuantity(1);
+            checkoutRequest.getItems().add(item);
+        }
+        return checkoutRequest;
+    }
+}
@@ -0,0 +1,189 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTOResponse.ArchivedBookingResponse;
+import org.example.studentsevents.DTOResponse.ArchivedEventResponse;
+import org.example.studentsevents.DTOResponse.BookingResponse;
+import org.example.studentsevents.Repository.ArchivedBookingRepository;
+import org.example.studentsevents.Repository.ArchivedEventRepository;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.CategoryRepository;
+import org.example.studentsevents.Repository.CityRepository;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.model.ArchivedEvent;
+import org.example.studentsevents.model.Booking;
+import org.example.studentsevents.model.Category;
+import org.example.studentsevents.model.City;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class EventArchiveServiceTest {
+
+    @Autowired
+    private EventArchiveService eventArchiveService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ArchivedEventRepository archivedEventRepository;
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CityRepository cityRepository;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private EventTestData testData;
+
+    private User organizer;
+    private Event finished;
+    private Event justStarted;
+    private Event upcoming;
+
+    @BeforeEach
+    void setUp() {
+        testData.deleteEvents();
+        archivedBookingRepository.deleteAll();
+        archivedEventRepository.deleteAll();
+
+        organizer = testData.organizer();
+        Category category = categoryRepository.findAll().get(0);
+        City city = cityRepository.findAll().get(0);
+        finished = event(category, city, "Finished", LocalDateTime.now().minusDays(3));
+        justStarted = event(category, city, "Just Started", LocalDateTime.now().minusHours(2));
+        upcoming = event(category, city, "Upcoming", LocalDateTime.now().plusDays(3));
+        eventRepository.saveAll(List.of(finished, justStarted, upcoming));
+
+        Booking booking = new Booking();
+        booking.setUser(testData.user("attendee@test.com"));
+        booking.setTicketType(finished.getTicketTypes().get(0));
+        booking.setBookingDateTime(LocalDateTime.now().minusDays(5));
+        bookingRepository.save(booking);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void archivePastEvents_ShouldMoveEventsThatStartedADayAgoWithTheirBookings() {
+        assertEquals(1, eventArchiveService.archivePastEvents());
+
+        assertFalse(eventRepository.existsById(finished.getId()));
+        assertTrue(eventRepository.existsById(justStarted.getId()));
+        assertTrue(eventRepository.existsById(upcoming.getId()));
+        assertEquals(2, ticketTypeRepository.count());
+        assertEquals(0, bookingRepository.count());
+
+        ArchivedEvent archived = archivedEventRepository.findById(finished.getId()).orElseThrow();
+        assertEquals("Finished", archived.getName());
+        assertEquals(organizer.getId(), archived.getOrganizerId());
+        assertEquals(finished.getCategory().getName(), archived.getCategoryName());
+        assertEquals(0, new BigDecimal("25.00").compareTo(archived.getMinPrice()));
+
+        // Nothing is left for a second run.
+        assertEquals(0, eventArchiveService.archivePastEvents());
+    }
+
+    @Test
+    void getArchivedEventsForOrganizer_ShouldListTheArchiveWithBookingCounts() {
+        eventArchiveService.archivePastEvents();
+
+        Page<ArchivedEventResponse> events = eventArchiveService.getArchivedEventsForOrganizer(organizer, PageRequest.of(0, 10));
+        assertEquals(List.of("Finished"), events.map(ArchivedEventResponse::getName).toList());
+        assertEquals(1, events.getContent().get(0).getBookingCount());
+        assertEquals(1, eventArchiveService.getArchivedEventsForAdmin(PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void getArchivedBookingsForEvent_ShouldOnlyAnswerTheOrganizer() {
+        eventArchiveService.archivePastEvents();
+
+        authenticate(EventTestData.ORGANIZER_EMAIL);
+        List<ArchivedBookingResponse> bookings = eventArchiveService
+                .getArchivedBookingsForEvent(finished.getId(), PageRequest.of(0, 10)).getContent();
+        assertEquals(1, bookings.size());
+        assertEquals("Standard", bookings.get(0).getTicketTypeName());
+        assertEquals("attendee@test.com", bookings.get(0).getUser().getEmail());
+
+        authenticate("attendee@test.com");
+        assertThrows(IllegalStateException.class,
+                () -> eventArchiveService.getArchivedBookingsForEvent(finished.getId(), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void getMyBookings_ShouldKeepBookingsOfArchivedEvents() {
+        Booking upcomingBooking = new Booking();
+        upcomingBooking.setUser(testData.user("attendee@test.com"));
+        upcomingBooking.setTicketType(upcoming.getTicketTypes().get(0));
+        upcomingBooking.setBookingDateTime(LocalDateTime.now().minusDays(1));
+        bookingRepository.save(upcomingBooking);
+        eventArchiveService.archivePastEvents();
+
+        authenticate("attendee@test.com");
+        Page<BookingResponse> bookings = bookingService.getMyBookings(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "bookingDateTime")));
+        assertEquals(List.of("Upcoming", "Finished"), bookings.map(booking -> booking.getEvent().getName()).toList());
+        assertEquals(2, bookings.getTotalElements());
+        assertEquals("Standard", bookings.getContent().get(1).getTicketType().getName());
+
+        Slice<BookingResponse> firstOnly = bookingService.getMyBookingSlice(PageRequest.of(0, 1, Sort.by("bookingDateTime")));
+        assertEquals(List.of("Finished"), firstOnly.map(booking -> booking.getEvent().getName()).toList());
+        assertTrue(firstOnly.hasNext());
+        assertEquals("Finished", bookingService.getMyBookingById(firstOnly.getContent().get(0).getId()).getEvent().getName());
+
+        authenticate(EventTestData.ORGANIZER_EMAIL);
+        assertEquals(0, bookingService.getMyBookings(PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList()));
+    }
+
+    private Event event(Category category, City city, String name, LocalDateTime startsAt) {
+        Event event = new Event();
+        event.setName(name);
+        event.setAddress("Addr");
+        event.setEventDateTime(startsAt);
+        event.setOrganizer(organizer);
+        event.setCategory(category);
+        event.setCity(city);
+        TicketType ticketType = new TicketType();
+        ticketType.setName("Standard");
+        ticketType.setPrice(new BigDecimal("25.00"));
+        ticketType.setTotalAvailable(10);
+        ticketType.setEvent(event);
+        event.getTicketTypes().add(ticketType);
+        return event;
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTOResponse.EventClusterResponse;
+import org.example.studentsevents.Repository.CategoryRepository;
+import org.example.studentsevents.Repository.CityRepository;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.model.Category;
+import org.example.studentsevents.model.City;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class EventClusterServiceTest {
+
+    @Autowired
+    private EventClusterService eventClusterService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CityRepository cityRepository;
+    @Autowired
+    private EventTestData testData;
+
+    private Event soho;
+
+    // Events are written straight to the repository here, so the changes are announced the way EventService would.
+    @BeforeEach
+    void setUp() {
+        List<Long> previous = eventRepository.findAllIds();
+        testData.deleteEvents();
+        previous.forEach(id -> eventClusterService.onEventChanged(EventChangedEvent.deleted(id)));
+
+        User organizer = testData.organizer();
+        Category category = categoryRepository.findAll().get(0);
+        City city = cityRepository.findAll().get(0);
+        List<Event> events = eventRepository.saveAll(List.of(
+                event(organizer, category, city, "Soho", 51.5136, -0.1365),
+                event(organizer, category, city, "Hyde Park", 51.5073, -0.1657),
+                event(organizer, category, city, "Camden", 51.5390, -0.1426),
+                event(organizer, category, city, "Marais", 48.8566, 2.3522)));
+        events.forEach(event -> eventClusterService.onEventChanged(EventChangedEvent.saved(event.getId())));
+        soho = events.get(0);
+    }
+
+    @Test
+    void clusters_ShouldMergeNearbyEventsWhenZoomedOut() {
+        List<EventClusterResponse> clusters = sorted(eventClusterService.clusters(45, -5, 55, 5, 5));
+
+        assertEquals(List.of(1L, 3L), clusters.stream().map(EventClusterResponse::getCount).toList());
+        EventClusterResponse london = clusters.get(1);
+        assertEquals((51.5136 + 51.5073 + 51.5390) / 3, london.getLatitude(), 1e-9);
+        assertEquals(-0.1657, london.getWest(), 1e-9);
+        assertEquals(51.5390, london.getNorth(), 1e-9);
+        assertNull(london.getEventId());
+    }
+
+    @Test
+    void clusters_ShouldSeparateEventsWhenZoomedIn() {
+        List<EventClusterResponse> clusters = eventClusterService.clusters(51.45, -0.3, 51.6, 0.0, 14);
+
+        assertEquals(3, clusters.size());
+        clusters.forEach(cluster -> assertEquals(1L, cluster.getCount()));
+        assertEquals(soho.getId(), clusters.stream()
+                .filter(cluster -> cluster.getLatitude() == 51.5136).findFirst().orElseThrow().getEventId());
+    }
+
+    @Test
+    void clusters_ShouldFollowAnEventThatMoved() {
+        assertEquals(List.of(1L, 3L), counts(eventClusterService.clusters(45, -5, 55, 5, 5)));
+
+        soho.setLatitude(48.8606);
+        soho.setLongitude(2.3376);
+        eventRepository.save(soho);
+        eventClusterService.onEventChanged(EventChangedEvent.saved(soho.getId()));
+        assertEquals(List.of(2L, 2L), counts(eventClusterService.clusters(45, -5, 55, 5, 5)));
+
+        eventRepository.deleteById(soho.getId());
+        eventClusterService.onEventChanged(EventChangedEvent.deleted(soho.getId()));
+        assertEquals(List.of(1L, 2L), counts(eventClusterService.clusters(45, -5, 55, 5, 5)));
+    }
+
+    @Test
+    void clusters_ShouldOnlyShowEventsThatHaveNotStarted() throws InterruptedException {
+        Event started = event(testData.organizer(), soho.getCategory(), soho.getCity(), "Started", 51.5200, -0.1000);
+        started.setEventDateTime(LocalDateTime.now().minusHours(1));
+        Event startingSoon = event(testData.organizer(), soho.getCategory(), soho.getCity(), "Starting Soon", 48.8600, 2.3400);
+        startingSoon.setEventDateTime(LocalDateTime.now().plusSeconds(1));
+        eventRepository.saveAll(List.of(started, startingSoon))
+                .forEach(event -> eventClusterService.onEventChanged(EventChangedEvent.saved(event.getId())));
+        assertEquals(List.of(2L, 3L), counts(eventClusterService.clusters(45, -5, 55, 5, 5)));
+
+        // The cached Paris tile runs out when Starting Soon begins.
+        Thread.sleep(1500);
+        assertEquals(List.of(1L, 3L), counts(eventClusterService.clusters(45, -5, 55, 5, 5)));
+
+        // Moving an event into the past drops it without it having moved on the map.
+        soho.setEventDateTime(LocalDateTime.now().minusDays(1));
+        eventRepository.save(soho);
+        eventClusterService.onEventChanged(EventChangedEvent.saved(soho.getId()));
+        assertEquals(List.of(1L, 2L), counts(eventClusterService.clusters(45, -5, 55, 5, 5)));
+    }
+
+    private static List<Long> counts(List<EventClusterResponse> clusters) {
+        return sorted(clusters).stream().map(EventClusterResponse::getCount).toList();
+    }
+
+    private static List<EventClusterResponse> sorted(List<EventClusterResponse> clusters) {
+        return clusters.stream().sorted(Comparator.comparingLong(EventClusterResponse::getCount)
+                .thenComparingDouble(EventClusterResponse::getLatitude)).toList();
+    }
+
+    private static Event event(User organizer, Category category, City city, String name, double latitude,
+                               double longitude) {
+        Event event = new Event();
+        event.setName(name);
+        event.setAddress("Addr");
+        event.setEventDateTime(LocalDateTime.now().plusDays(5));
+        event.setOrganizer(organizer);
+        event.setCategory(category);
+        event.setCity(city);
+        event.setLatitude(latitude);
+        event.setLongitude(longitude);
+        return event;
+    }
+}
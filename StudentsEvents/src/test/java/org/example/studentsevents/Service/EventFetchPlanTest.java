@@ -0,0 +1,173 @@
+package org.example.studentsevents.Service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.studentsevents.DTORequest.EventSearchRequest;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.Repository.RoleRepository;
+import org.example.studentsevents.Repository.UserRepository;
+import org.example.studentsevents.model.Booking;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Every listing loads its page in the same number of statements, however many events, categories and cities it holds.
+@SpringBootTest
+class EventFetchPlanTest {
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private EventTestData testData;
+
+    private Statistics statistics;
+    private User organizer;
+    private User attendee;
+
+    @BeforeEach
+    void setUp() {
+        testData.deleteEvents();
+        organizer = testData.organizer();
+        attendee = testData.user("attendee@test.com");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void listings_ShouldNotQueryPerEvent() {
+        addEvents(2);
+        Map<String, Long> few = listingStatements();
+
+        addEvents(6);
+        Map<String, Long> many = listingStatements();
+
+        assertEquals(few, many);
+    }
+
+    @Test
+    void eventDetail_ShouldLoadTheEventItsPlaceAndTicketTypesTogether() {
+        Event event = addEvents(1).get(0);
+
+        long statements = statements(() -> eventService.getPublicEventById(event.getId()));
+
+        // The event with its category, city and ticket types, then the sold counts.
+        assertTrue(statements <= 2, "statements: " + statements);
+    }
+
+    @Test
+    void adminUserList_ShouldLoadTheRolesWithTheUsers() {
+        for (String email : List.of("first@test.com", "second@test.com", "third@test.com")) {
+            User user = testData.user(email);
+            user.setRoles(Set.of(roleRepository.findByName("ROLE_USER").orElseThrow()));
+            userRepository.save(user);
+        }
+
+        statistics.clear();
+        userService.getAllUsers();
+
+        // No user's roles are loaded on their own.
+        assertEquals(0, statistics.getCollectionStatistics(User.class.getName() + ".roles").getFetchCount());
+    }
+
+    private Map<String, Long> listingStatements() {
+        authenticate(organizer.getEmail());
+        long organizerList = statements(() -> eventService.getEventsForOrganizer(organizer, PageRequest.of(0, 20)));
+        long adminList = statements(() -> eventService.getAllEventsForAdmin(PageRequest.of(0, 20)));
+        authenticate(attendee.getEmail());
+        long bookingHistory = statements(() -> bookingService.getMyBookings(PageRequest.of(0, 20)));
+        return Map.of(
+                "search", statements(() -> eventService.searchPublicEvents(new EventSearchRequest(), PageRequest.of(0, 20))),
+                "slice", statements(() -> eventService.slicePublicEvents(new EventSearchRequest(), PageRequest.of(0, 20))),
+                "scroll", statements(() -> eventService.scrollPublicEvents(new EventSearchRequest(), null, 20)),
+                "organizer", organizerList,
+                "admin", adminList,
+                "bookings", bookingHistory);
+    }
+
+    private long statements(Supplier<?> call) {
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Event> addEvents(int count) {
+        long existing = eventRepository.count();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long n = existing + i;
+            Event event = new Event();
+            event.setName("Fetch Plan " + n);
+            event.setAddress("Addr");
+            event.setEventDateTime(LocalDateTime.now().plusDays(n + 1));
+            event.setOrganizer(organizer);
+            event.setCategory(testData.category("Fetch Category " + n));
+            event.setCity(testData.city("Fetch City " + n));
+            event.getTicketTypes().add(ticketType(event, "Standard", "10.00"));
+            event.getTicketTypes().add(ticketType(event, "VIP", "20.00"));
+            events.add(eventRepository.save(event));
+
+            Booking booking = new Booking();
+            booking.setUser(attendee);
+            booking.setTicketType(event.getTicketTypes().get(0));
+            booking.setBookingDateTime(LocalDateTime.now());
+            bookingRepository.save(booking);
+        }
+        return events;
+    }
+
+    private void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList()));
+    }
+
+    private static TicketType ticketType(Event event, String name, String price) {
+        TicketType ticketType = new TicketType();
+        ticketType.setName(name);
+        ticketType.setPrice(new BigDecimal(price));
+        ticketType.setTotalAvailable(100);
+        ticketType.setEvent(event);
+        return ticketType;
+    }
+}
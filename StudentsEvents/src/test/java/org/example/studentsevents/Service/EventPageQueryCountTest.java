@@ -0,0 +1,150 @@
+package org.example.studentsevents.Service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.studentsevents.DTORequest.EventSearchRequest;
+import org.example.studentsevents.DTOResponse.AdminEventResponse;
+import org.example.studentsevents.DTOResponse.EventResponse;
+import org.example.studentsevents.DTOResponse.OrganizerTicketTypeResponse;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.CategoryRepository;
+import org.example.studentsevents.Repository.CityRepository;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.model.Booking;
+import org.example.studentsevents.model.Category;
+import org.example.studentsevents.model.City;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Statistics are switched on for this context only, which also gives it a database of its own.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:eventqueries"
+})
+class EventPageQueryCountTest {
+
+    private static final int EVENTS = 9;
+    private static final int TICKET_TYPES_PER_EVENT = 3;
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CityRepository cityRepository;
+    @Autowired
+    private EventTestData testData;
+
+    @BeforeEach
+    void setUp() {
+        testData.deleteEvents();
+
+        User organizer = testData.organizer();
+        Category category = categoryRepository.findAll().get(0);
+        City city = cityRepository.findAll().get(0);
+
+        List<Event> events = new ArrayList<>();
+        for (int e = 0; e < EVENTS; e++) {
+            Event event = new Event();
+            event.setName("Query Count Event " + e);
+            event.setAddress("Addr");
+            event.setEventDateTime(LocalDateTime.now().plusDays(e + 1));
+            event.setOrganizer(organizer);
+            event.setCategory(category);
+            event.setCity(city);
+            for (int t = 0; t < TICKET_TYPES_PER_EVENT; t++) {
+                TicketType ticketType = new TicketType();
+                ticketType.setName("Type " + t);
+                ticketType.setPrice(BigDecimal.TEN);
+                ticketType.setTotalAvailable(10);
+                ticketType.setEvent(event);
+                event.getTicketTypes().add(ticketType);
+            }
+            events.add(event);
+        }
+        eventRepository.saveAll(events);
+
+        // One booking on the first ticket type of every event, so the organizer-side counts have something to find.
+        List<Booking> bookings = new ArrayList<>();
+        for (Event event : events) {
+            Booking booking = new Booking();
+            booking.setUser(organizer);
+            booking.setTicketType(event.getTicketTypes().get(0));
+            booking.setBookingDateTime(LocalDateTime.now());
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    @Test
+    void searchPublicEvents_ShouldIssueTheSameNumberOfStatements_ForAnyPageSize() {
+        long smallPage = statementsFor(() -> eventService.searchPublicEvents(new EventSearchRequest(), firstPage(3)));
+        long fullPage = statementsFor(() -> eventService.searchPublicEvents(new EventSearchRequest(), firstPage(EVENTS)));
+
+        assertEquals(smallPage, fullPage);
+        Page<EventResponse> page = eventService.searchPublicEvents(new EventSearchRequest(), firstPage(EVENTS));
+        assertEquals(EVENTS, page.getNumberOfElements());
+        page.forEach(event -> assertEquals(TICKET_TYPES_PER_EVENT, event.getTicketTypes().size()));
+    }
+
+    @Test
+    void slicePublicEvents_ShouldSkipTheCountQuery() {
+        long page = statementsFor(() -> eventService.searchPublicEvents(new EventSearchRequest(), firstPage(3)));
+        long slice = statementsFor(() -> eventService.slicePublicEvents(new EventSearchRequest(), firstPage(3)));
+
+        assertEquals(page - 1, slice);
+        assertTrue(eventService.slicePublicEvents(new EventSearchRequest(), firstPage(3)).hasNext());
+        Slice<EventResponse> all = eventService.slicePublicEvents(new EventSearchRequest(), firstPage(EVENTS));
+        assertEquals(EVENTS, all.getNumberOfElements());
+        assertFalse(all.hasNext());
+    }
+
+    @Test
+    void getAllEventsForAdmin_ShouldCountBookingsForThePageInOneQuery() {
+        long smallPage = statementsFor(() -> eventService.getAllEventsForAdmin(firstPage(3)));
+        long fullPage = statementsFor(() -> eventService.getAllEventsForAdmin(firstPage(EVENTS)));
+
+        assertEquals(smallPage, fullPage);
+        for (AdminEventResponse event : eventService.getAllEventsForAdmin(firstPage(EVENTS))) {
+            List<Long> sold = event.getTicketTypes().stream().map(OrganizerTicketTypeResponse::getTicketsSold).toList();
+            assertEquals(List.of(1L, 0L, 0L), sold);
+        }
+    }
+
+    private long statementsFor(Supplier<?> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static PageRequest firstPage(int size) {
+        return PageRequest.of(0, size, Sort.by("eventDateTime"));
+    }
+}
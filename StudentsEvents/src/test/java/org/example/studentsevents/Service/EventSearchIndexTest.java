@@ -0,0 +1,270 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTORequest.CategoryRequest;
+import org.example.studentsevents.DTORequest.EventSearchRequest;
+import org.example.studentsevents.DTORequest.TicketTypeRequest;
+import org.example.studentsevents.DTOResponse.EventFacetsResponse;
+import org.example.studentsevents.DTOResponse.EventResponse;
+import org.example.studentsevents.DTOResponse.FacetCountResponse;
+import org.example.studentsevents.DTOResponse.PriceBucketResponse;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.Repository.PriceRange;
+import org.example.studentsevents.model.Category;
+import org.example.studentsevents.model.City;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// The index is switched on for this context only, which also gives it a database of its own.
+@SpringBootTest(properties = {
+        "app.search.lucene.enabled=true",
+        "app.search.lucene.directory=${java.io.tmpdir}/stuvents-event-index-test",
+        "spring.datasource.url=jdbc:h2:mem:eventsearchindex"
+})
+class EventSearchIndexTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(10);
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventFacetService eventFacetService;
+    @Autowired
+    private CategoryService categoryService;
+    @SpyBean
+    private EventRepository eventRepository;
+    @Autowired
+    private EventTestData testData;
+
+    private Long jazzRunId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        testData.deleteEvents();
+
+        User organizer = testData.organizer();
+        Category music = testData.category("Music");
+        Category sports = testData.category("Sports");
+        City london = testData.city("London");
+        City paris = testData.city("Paris");
+
+        List<Event> events = eventRepository.saveAll(List.of(
+                event(organizer, "Jazz Night", music, london, DAY, "15.00", null),
+                event(organizer, "Jazz Brunch", music, paris, DAY.plusDays(1), "40.00", null),
+                event(organizer, "Rock Festival", music, london, DAY.plusDays(2), "80.00", "Guitar heroes and a jazz stage"),
+                event(organizer, "Jazz Run", sports, london, DAY, "5.00", null)
+        ));
+        jazzRunId = events.get(3).getId();
+        eventSearchIndex.rebuild();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EventTestData.ORGANIZER_EMAIL, null, Collections.emptyList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void search_ShouldTolerateTyposInTheName() {
+        assertEquals("Jazz Night", names(query("jaz nihgt")).get(0));
+        assertEquals(List.of("Rock Festival"), names(query("festivl")));
+    }
+
+    @Test
+    void search_ShouldApplyTheFiltersInsideTheIndex() {
+        EventSearchRequest search = query("jazz");
+        search.setCategoryName(List.of("MUSIC"));
+        search.setDateFrom(DAY.plusDays(1));
+        search.setMaxPrice(new BigDecimal("50"));
+
+        assertEquals(List.of("Jazz Brunch"), names(search));
+    }
+
+    @Test
+    void search_ShouldApplyTheMapAreaInsideTheIndex() {
+        EventSearchRequest search = query("jazz");
+        search.setLat(48.8530);
+        search.setLng(2.3499);
+        search.setRadiusKm(5.0);
+        assertEquals(List.of("Jazz Brunch"), names(search));
+
+        EventSearchRequest box = query("jazz");
+        box.setSouth(51.0);
+        box.setNorth(52.0);
+        box.setWest(-1.0);
+        box.setEast(0.0);
+        assertEquals(List.of("Jazz Night", "Jazz Run", "Rock Festival"), names(box).stream().sorted().toList());
+    }
+
+    @Test
+    void facets_ShouldCountMatchesPerCategoryAndCity() throws Exception {
+        assertEquals(Map.of("Music", 3, "Sports", 1), facet(query("jazz"), EventSearchIndex.CATEGORY_FACET));
+        assertEquals(Map.of("London", 3, "Paris", 1), facet(query("jazz"), EventSearchIndex.CITY_FACET));
+        assertEquals(testData.city("Paris").getId(), eventSearchIndex.facets(query("jazz"), EventSearchIndex.CITY_FACET).get(1).id());
+    }
+
+    @Test
+    void priceCounts_ShouldCountEventsWhosePricesReachIntoEachBucket() throws Exception {
+        List<PriceRange> buckets = List.of(
+                new PriceRange(null, new BigDecimal("9.99")),
+                new PriceRange(new BigDecimal("10"), new BigDecimal("24.99")),
+                new PriceRange(new BigDecimal("25"), new BigDecimal("49.99")),
+                new PriceRange(new BigDecimal("50"), new BigDecimal("99.99")),
+                new PriceRange(new BigDecimal("100"), null));
+        assertEquals(List.of(1L, 1L, 1L, 1L, 0L), eventSearchIndex.priceCounts(query("jazz"), buckets));
+
+        // Jazz Run's tickets now cost 5.00 and 120.00, which spans every bucket.
+        TicketTypeRequest vip = new TicketTypeRequest();
+        vip.setName("VIP");
+        vip.setPrice(new BigDecimal("120.00"));
+        vip.setTotalAvailable(5);
+        eventService.addTicketTypeToEvent(jazzRunId, vip);
+        eventSearchIndex.flush();
+        assertEquals(List.of(1L, 2L, 2L, 2L, 1L), eventSearchIndex.priceCounts(query("jazz"), buckets));
+    }
+
+    @Test
+    void facetService_ShouldCountWhatTheIndexFinds() {
+        // Only the typo-tolerant index finds Rock Festival for "festivl"; the facets have to count it too.
+        EventSearchRequest search = query("festivl");
+        search.setCityName("London");
+        assertEquals(List.of("Rock Festival"), names(search));
+
+        EventFacetsResponse facets = eventFacetService.facets(search);
+
+        assertEquals(List.of("Music=1"), counts(facets.getCategories()));
+        assertEquals(List.of("London=1"), counts(facets.getCities()));
+        assertEquals(List.of(0L, 0L, 0L, 1L, 0L), facets.getPrices().stream().map(PriceBucketResponse::getCount).toList());
+    }
+
+    @Test
+    void index_ShouldFollowChangesMadeThroughEventService() throws Exception {
+        EventSearchRequest expensive = query("jazz");
+        expensive.setMinPrice(new BigDecimal("100"));
+        assertEquals(List.of(), names(expensive));
+
+        TicketTypeRequest vip = new TicketTypeRequest();
+        vip.setName("VIP");
+        vip.setPrice(new BigDecimal("120.00"));
+        vip.setTotalAvailable(5);
+        eventService.addTicketTypeToEvent(jazzRunId, vip);
+        eventSearchIndex.flush();
+        assertEquals(List.of("Jazz Run"), names(expensive));
+
+        eventService.deleteEventForOrganizer(jazzRunId);
+        eventSearchIndex.flush();
+        assertEquals(List.of(), names(expensive));
+    }
+
+    @Test
+    void index_ShouldReadARenamedCategorysEventsInOneBatch() throws Exception {
+        Category music = testData.category("Music");
+        clearInvocations(eventRepository);
+        try {
+            categoryService.updateCategory(categoryRequest("Live Music"), music.getId());
+            eventSearchIndex.flush();
+
+            verify(eventRepository, times(1)).findAllById(any());
+            verify(eventRepository, never()).findById(any());
+            EventSearchRequest search = query("jazz");
+            search.setCategoryName(List.of("Live Music"));
+            assertEquals(List.of("Jazz Brunch", "Jazz Night", "Rock Festival"), names(search).stream().sorted().toList());
+        } finally {
+            categoryService.updateCategory(categoryRequest("Music"), music.getId());
+        }
+    }
+
+    @Test
+    void rebuild_ShouldKeepChangesMadeWhileItRuns() throws Exception {
+        // Another request creates an event right after the rebuild has read the ids it is going to index.
+        doAnswer(invocation -> {
+            List<Long> ids = eventRepository.findAll().stream().map(Event::getId).toList();
+            CompletableFuture.runAsync(() -> {
+                Event created = eventRepository.save(event(testData.organizer(), "Jazz Picnic",
+                        testData.category("Music"), testData.city("Paris"), DAY, "12.00", null));
+                eventSearchIndex.onEventChanged(EventChangedEvent.saved(created.getId()));
+            }).join();
+            return ids;
+        }).when(eventRepository).findAllIds();
+
+        eventSearchIndex.rebuild();
+
+        assertEquals(List.of("Jazz Picnic"), names(query("picnic")));
+    }
+
+    private List<String> names(EventSearchRequest search) {
+        return eventService.searchPublicEvents(search, PageRequest.of(0, 10))
+                .map(EventResponse::getName)
+                .getContent();
+    }
+
+    private Map<String, Integer> facet(EventSearchRequest search, String dimension) throws Exception {
+        return eventSearchIndex.facets(search, dimension).stream()
+                .collect(Collectors.toMap(EventSearchIndex.FacetCount::name, EventSearchIndex.FacetCount::count));
+    }
+
+    private static List<String> counts(List<FacetCountResponse> facet) {
+        return facet.stream().map(count -> count.getName() + "=" + count.getCount()).toList();
+    }
+
+    private static CategoryRequest categoryRequest(String name) {
+        CategoryRequest request = new CategoryRequest();
+        request.setName(name);
+        return request;
+    }
+
+    private static EventSearchRequest query(String text) {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setQuery(text);
+        return search;
+    }
+
+    private static Event event(User organizer, String name, Category category, City city, LocalDate day, String price,
+                               String description) {
+        Event event = new Event();
+        event.setName(name);
+        event.setDescription(description);
+        event.setAddress("Addr");
+        event.setEventDateTime(day.atTime(20, 0));
+        event.setOrganizer(organizer);
+        event.setCategory(category);
+        event.setCity(city);
+        event.setLatitude(city.getName().equals("Paris") ? 48.8530 : 51.5136);
+        event.setLongitude(city.getName().equals("Paris") ? 2.3499 : -0.1365);
+        TicketType ticketType = new TicketType();
+        ticketType.setName("Standard");
+        ticketType.setPrice(new BigDecimal(price));
+        ticketType.setTotalAvailable(10);
+        ticketType.setEvent(event);
+        event.getTicketTypes().add(ticketType);
+        return event;
+    }
+}
@@ -0,0 +1,357 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTORequest.EventSearchRequest;
+import org.example.studentsevents.DTORequest.TicketTypeRequest;
+import org.example.studentsevents.DTOResponse.CursorPage;
+import org.example.studentsevents.DTOResponse.EventFacetsResponse;
+import org.example.studentsevents.DTOResponse.EventResponse;
+import org.example.studentsevents.DTOResponse.FacetCountResponse;
+import org.example.studentsevents.DTOResponse.PriceBucketResponse;
+import org.example.studentsevents.Exception.InvalidCursorException;
+import org.example.studentsevents.Repository.CityRepository;
+import org.example.studentsevents.Repository.EventGeoAggregation;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.model.Category;
+import org.example.studentsevents.model.City;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class EventSearchTest {
+
+    protected static final LocalDate DAY = LocalDate.now().plusDays(10);
+
+    @Autowired
+    protected EventService eventService;
+    @Autowired
+    private EventCountCache eventCountCache;
+    @Autowired
+    private EventFacetService eventFacetService;
+    @Autowired
+    protected EventRepository eventRepository;
+    @Autowired
+    private EventGeoAggregation eventGeoAggregation;
+    @Autowired
+    protected CityRepository cityRepository;
+    @Autowired
+    protected EventTestData testData;
+
+    @BeforeEach
+    void setUp() {
+        testData.deleteEvents();
+
+        User organizer = testData.organizer();
+        Category music = testData.category("Music");
+        Category sports = testData.category("Sports");
+        City london = testData.city("London");
+        City paris = testData.city("Paris");
+
+        eventRepository.saveAll(List.of(
+                located(event(organizer, "Jazz Night", music, london, DAY, "15.00"), 51.5136, -0.1365),
+                located(event(organizer, "Jazz Brunch", music, paris, DAY.plusDays(1), "40.00"), 48.8530, 2.3499),
+                located(event(organizer, "Rock Festival", music, london, DAY.plusDays(2), "80.00",
+                        "Guitar heroes and a jazz stage"), 51.5560, -0.2795),
+                located(event(organizer, "Jazz Run", sports, london, DAY, "5.00"), 51.5073, -0.1657)
+        ));
+    }
+
+    @Test
+    void searchPublicEvents_ShouldCombineNameWithCategoryAndCity() {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setEventName("jAzZ");
+        search.setCategoryName(List.of("music"));
+        search.setCityName("LONDON");
+
+        assertEquals(List.of("Jazz Night"), names(search));
+    }
+
+    @Test
+    void searchPublicEvents_ShouldMatchTheNameAsACaseInsensitivePrefix() {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setEventName("jazz ");
+
+        assertEquals(List.of("Jazz Night", "Jazz Run", "Jazz Brunch"), names(search));
+
+        search.setEventName("night");
+        assertEquals(List.of(), names(search));
+    }
+
+    @Test
+    void searchPublicEvents_ShouldFilterByInclusiveDateRange() {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setDateFrom(DAY.plusDays(1));
+        search.setDateTo(DAY.plusDays(2));
+
+        assertEquals(List.of("Jazz Brunch", "Rock Festival"), names(search));
+    }
+
+    @Test
+    void searchPublicEvents_ShouldMatchAnyOfTheRequestedCategories() {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setCategoryName(List.of("sports", " MUSIC ", ""));
+        search.setDateTo(DAY);
+
+        assertEquals(List.of("Jazz Night", "Jazz Run"), names(search));
+    }
+
+    @Test
+    void searchPublicEvents_ShouldKeepEventsWhosePricesReachIntoTheRange() {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setMinPrice(new BigDecimal("12"));
+        search.setMaxPrice(new BigDecimal("50"));
+        search.setCityName("London");
+
+        // Jazz Run tops out at 10 and Rock Festival starts at 80.
+        assertEquals(List.of("Jazz Night"), names(search));
+    }
+
+    @Test
+    void addTicketTypeToEvent_ShouldWidenThePriceRangeOfTheEvent() {
+        Long jazzRunId = eventRepository.findAll().stream()
+                .filter(event -> event.getName().equals("Jazz Run"))
+                .findFirst().orElseThrow().getId();
+        TicketTypeRequest premium = new TicketTypeRequest();
+        premium.setName("Premium");
+        premium.setPrice(new BigDecimal("45.00"));
+        premium.setTotalAvailable(5);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EventTestData.ORGANIZER_EMAIL, null, Collections.emptyList()));
+        try {
+            eventService.addTicketTypeToEvent(jazzRunId, premium);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        Event jazzRun = eventRepository.findById(jazzRunId).orElseThrow();
+        assertEquals(0, new BigDecimal("5.00").compareTo(jazzRun.getMinPrice()));
+        assertEquals(0, new BigDecimal("45.00").compareTo(jazzRun.getMaxPrice()));
+    }
+
+    @Test
+    void searchPublicEvents_ShouldMatchEveryQueryWordInNameDescriptionCategoryOrCity() {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setQuery("guitar");
+        assertEquals(List.of("Rock Festival"), names(search));
+
+        search.setQuery("london, JAZ!");
+        assertEquals(List.of("Jazz Night", "Jazz Run", "Rock Festival"), names(search));
+
+        search.setCategoryName(List.of("Music"));
+        assertEquals(List.of("Jazz Night", "Rock Festival"), names(search));
+    }
+
+    @Test
+    void searchPublicEvents_ShouldListEverything_WhenTheQueryHasNoWords() {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setQuery(" &:* ");
+
+        assertEquals(4, names(search).size());
+    }
+
+    @Test
+    void searchPublicEvents_ShouldKeepEventsInsideTheBoundingBox() {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setSouth(51.50);
+        search.setNorth(51.52);
+        search.setWest(-0.20);
+        search.setEast(-0.10);
+
+        assertEquals(List.of("Jazz Night", "Jazz Run"), names(search));
+
+        search.setQuery("jazz");
+        search.setCategoryName(List.of("music"));
+        assertEquals(List.of("Jazz Night"), names(search));
+    }
+
+    @Test
+    void searchPublicEvents_ShouldKeepEventsWithinTheRadius() {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setLat(51.5136);
+        search.setLng(-0.1365);
+        search.setRadiusKm(1.5);
+        assertEquals(List.of("Jazz Night"), names(search));
+
+        // Jazz Run is about 2 km west, Rock Festival about 11 km north-west, and Paris far away.
+        search.setRadiusKm(12.0);
+        assertEquals(List.of("Jazz Night", "Jazz Run", "Rock Festival"), names(search));
+    }
+
+    @Test
+    void searchPublicEvents_ShouldFollowABoundingBoxAcrossTheAntimeridian() {
+        User organizer = testData.organizer();
+        eventRepository.save(located(event(organizer, "Date Line Party", testData.category("Music"),
+                testData.city("London"), DAY, "10.00"), -16.5, 179.9));
+        EventSearchRequest search = new EventSearchRequest();
+        search.setSouth(-20.0);
+        search.setNorth(-10.0);
+        search.setWest(170.0);
+        search.setEast(-170.0);
+
+        assertEquals(List.of("Date Line Party"), names(search));
+    }
+
+    @Test
+    void searchPublicEvents_ShouldLeaveOutEventsThatHaveStarted() {
+        User organizer = testData.organizer();
+        eventRepository.save(event(organizer, "Yesterday's Jazz", testData.category("Music"), testData.city("London"),
+                LocalDate.now().minusDays(1), "10.00"));
+        EventSearchRequest search = new EventSearchRequest();
+        search.setDateFrom(LocalDate.now().minusDays(7));
+
+        assertEquals(List.of("Jazz Night", "Jazz Run", "Jazz Brunch", "Rock Festival"), names(search));
+        search.setQuery("jazz");
+        assertEquals(4, eventService.countPublicEvents(search));
+    }
+
+    @Test
+    void facets_ShouldCountEachOptionUnderTheOtherFilters() {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setQuery("jazz");
+        search.setCategoryName(List.of("Music"));
+        search.setCityName("London");
+        search.setMaxPrice(new BigDecimal("50"));
+
+        EventFacetsResponse facets = eventFacetService.facets(search);
+
+        // Rock Festival is left out of the category and city counts by its price, Jazz Brunch of the category count
+        // by its city.
+        assertEquals(List.of("Music=1", "Sports=1"), counts(facets.getCategories()));
+        assertEquals(List.of("London=1", "Paris=1"), counts(facets.getCities()));
+        // London music: Jazz Night at 15 to 30 and Rock Festival at 80 to 160.
+        assertEquals(List.of(0L, 1L, 1L, 1L, 1L),
+                facets.getPrices().stream().map(PriceBucketResponse::getCount).toList());
+        assertNull(facets.getPrices().get(4).getMax());
+    }
+
+    @Test
+    void cellsInTile_ShouldGroupTheTileByGeohashCell() {
+        // All three London events share the cell gcpv; only Rock Festival sits in a different five-character cell.
+        List<EventGeoAggregation.Cell> cells = eventGeoAggregation.cellsInTile("gc", 4, LocalDateTime.now());
+        assertEquals(1, cells.size());
+        assertEquals("gcpv", cells.get(0).geohash());
+        assertEquals(3, cells.get(0).count());
+        assertEquals(51.5560, cells.get(0).north(), 1e-9);
+        assertEquals(-0.2795, cells.get(0).west(), 1e-9);
+
+        assertEquals(List.of(2L, 1L), eventGeoAggregation.cellsInTile("gcpv", 5, LocalDateTime.now()).stream()
+                .map(EventGeoAggregation.Cell::count).sorted(Collections.reverseOrder()).toList());
+    }
+
+    @Test
+    void scrollPublicEvents_ShouldContinueAfterTheCursorInDateOrder() {
+        EventSearchRequest search = new EventSearchRequest();
+
+        CursorPage<EventResponse> first = eventService.scrollPublicEvents(search, null, 3);
+        assertEquals(List.of("Jazz Night", "Jazz Run", "Jazz Brunch"), names(first));
+        assertNotNull(first.getNextCursor());
+
+        CursorPage<EventResponse> second = eventService.scrollPublicEvents(search, first.getNextCursor(), 3);
+        assertEquals(List.of("Rock Festival"), names(second));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void scrollPublicEvents_ShouldKeepTheFiltersAndQueryAcrossBatches() {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setQuery("jazz");
+        search.setCityName("london");
+
+        CursorPage<EventResponse> first = eventService.scrollPublicEvents(search, null, 2);
+        assertEquals(List.of("Jazz Night", "Jazz Run"), names(first));
+
+        CursorPage<EventResponse> second = eventService.scrollPublicEvents(search, first.getNextCursor(), 2);
+        assertEquals(List.of("Rock Festival"), names(second));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void scrollPublicEvents_ShouldRejectACursorItDidNotIssue() {
+        assertThrows(InvalidCursorException.class,
+                () -> eventService.scrollPublicEvents(new EventSearchRequest(), "bm90IGEgY3Vyc29y", 3));
+    }
+
+    @Test
+    void eventCountCache_ShouldServeTheStoredTotalUntilItIsRefreshed() {
+        EventSearchRequest search = new EventSearchRequest();
+        search.setCategoryName(List.of("Music", "sports"));
+        assertEquals(4, eventCountCache.count(search).getTotal());
+
+        User organizer = testData.organizer();
+        eventRepository.save(event(organizer, "Late Jam", testData.category("Music"), testData.city("Paris"),
+                DAY.plusDays(3), "20.00"));
+        EventSearchRequest reordered = new EventSearchRequest();
+        reordered.setCategoryName(List.of(" SPORTS", "music"));
+        assertEquals(4, eventCountCache.count(reordered).getTotal());
+
+        eventCountCache.refresh();
+        assertEquals(5, eventCountCache.count(search).getTotal());
+    }
+
+    private static List<String> counts(List<FacetCountResponse> facet) {
+        return facet.stream().map(count -> count.getName() + "=" + count.getCount()).toList();
+    }
+
+    private static List<String> names(CursorPage<EventResponse> page) {
+        return page.getContent().stream().map(EventResponse::getName).toList();
+    }
+
+    protected List<String> names(EventSearchRequest search) {
+        return eventService.searchPublicEvents(search, PageRequest.of(0, 10, Sort.by("eventDateTime", "id")))
+                .map(EventResponse::getName)
+                .getContent();
+    }
+
+    protected static Event event(User organizer, String name, Category category, City city, LocalDate day, String price) {
+        return event(organizer, name, category, city, day, price, null);
+    }
+
+    protected static Event event(User organizer, String name, Category category, City city, LocalDate day, String price,
+                                 String description) {
+        Event event = new Event();
+        event.setName(name);
+        event.setDescription(description);
+        event.setAddress("Addr");
+        event.setEventDateTime(day.atTime(20, 0));
+        event.setOrganizer(organizer);
+        event.setCategory(category);
+        event.setCity(city);
+        event.getTicketTypes().add(ticketType(event, "Standard", new BigDecimal(price)));
+        event.getTicketTypes().add(ticketType(event, "VIP", new BigDecimal(price).multiply(BigDecimal.valueOf(2))));
+        return event;
+    }
+
+    protected static Event located(Event event, double latitude, double longitude) {
+        event.setLatitude(latitude);
+        event.setLongitude(longitude);
+        return event;
+    }
+
+    private static TicketType ticketType(Event event, String name, BigDecimal price) {
+        TicketType ticketType = new TicketType();
+        ticketType.setName(name);
+        ticketType.setPrice(price);
+        ticketType.setTotalAvailable(10);
+        ticketType.setEvent(event);
+        return ticketType;
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,6 +29,10 @@ class EventServiceTest {
     private EventRepository eventRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private FlashSaleService flashSaleService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
 
     @Mock
@@ -59,9 +64,9 @@ class EventServiceTest {
         targetEvent.setOrganizer(ownerUser);
 
         when(authentication.getName()).thenReturn("attacker@user.com");
-        when(userRepository.findByEmail("attacker@user.com")).thenReturn(Optional.of(attackerUser));
+        when(userRepository.findWithRolesByEmail("attacker@user.com")).thenReturn(Optional.of(attackerUser));
 
-        when(eventRepository.findById(100L)).thenReturn(Optional.of(targetEvent));
+        when(eventRepository.findDetailById(100L)).thenReturn(Optional.of(targetEvent));
 
         assertThrows(IllegalStateException.class, () -> {
             eventService.deleteEventForOrganizer(100L);
@@ -83,8 +88,8 @@ class EventServiceTest {
         targetEvent.setOrganizer(ownerUser);
 
         when(authentication.getName()).thenReturn("admin@user.com");
-        when(userRepository.findByEmail("admin@user.com")).thenReturn(Optional.of(adminUser));
-        when(eventRepository.findById(100L)).thenReturn(Optional.of(targetEvent));
+        when(userRepository.findWithRolesByEmail("admin@user.com")).thenReturn(Optional.of(adminUser));
+        when(eventRepository.findDetailById(100L)).thenReturn(Optional.of(targetEvent));
 
         eventService.deleteEventForOrganizer(100L);
     }
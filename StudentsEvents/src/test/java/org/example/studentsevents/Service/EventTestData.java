@@ -0,0 +1,65 @@
+package org.example.studentsevents.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.CategoryRepository;
+import org.example.studentsevents.Repository.CityRepository;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.Repository.UserRepository;
+import org.example.studentsevents.model.Category;
+import org.example.studentsevents.model.City;
+import org.example.studentsevents.model.User;
+import org.springframework.stereotype.Component;
+
+/**
+ * What the event search and listing tests build their events on: a clean event table, and categories, cities and
+ * users looked up by name and created the first time a test asks for them.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventTestData {
+
+    public static final String ORGANIZER_EMAIL = "organizer@test.com";
+
+    private final EventRepository eventRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final BookingRepository bookingRepository;
+    private final CategoryRepository categoryRepository;
+    private final CityRepository cityRepository;
+    private final UserRepository userRepository;
+
+    public void deleteEvents() {
+        bookingRepository.deleteAll();
+        ticketTypeRepository.deleteAll();
+        eventRepository.deleteAll();
+    }
+
+    public User organizer() {
+        return user(ORGANIZER_EMAIL);
+    }
+
+    public User user(String email) {
+        return userRepository.findByEmail(email).orElseGet(() -> {
+            User user = new User();
+            user.setEmail(email);
+            user.setPassword("password");
+            user.setVerified(true);
+            return userRepository.save(user);
+        });
+    }
+
+    public Category category(String name) {
+        return categoryRepository.findAll().stream()
+                .filter(category -> category.getName().equals(name))
+                .findFirst()
+                .orElseGet(() -> categoryRepository.save(new Category(name)));
+    }
+
+    public City city(String name) {
+        return cityRepository.findAll().stream()
+                .filter(city -> city.getName().equals(name))
+                .findFirst()
+                .orElseGet(() -> cityRepository.save(new City(name)));
+    }
+}
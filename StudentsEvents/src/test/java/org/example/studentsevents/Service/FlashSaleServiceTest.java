@@ -0,0 +1,205 @@
+package org.example.studentsevents.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.Repository.UserRepository;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class FlashSaleServiceTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private FlashSaleService flashSaleService;
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private BookingTestData bookingTestData;
+
+    private Long ticketTypeId;
+
+    @BeforeEach
+    void setUp() {
+        ticketTypeId = bookingTestData.event("Flash Sale Party").capacity(50).flashSale().save().get(0);
+    }
+
+    @Test
+    @WithMockUser(BookingTestData.BUYER_EMAIL)
+    void createBooking_ShouldNeverOversell_AndPersistThroughWriteBehind() throws InterruptedException {
+        int numberOfThreads = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+        CountDownLatch latch = new CountDownLatch(numberOfThreads);
+        List<Throwable> exceptions = Collections.synchronizedList(new ArrayList<>());
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        for (int i = 0; i < numberOfThreads; i++) {
+            Runnable task = () -> {
+                try {
+                    bookingService.createBooking(request(3));
+                } catch (Throwable e) {
+                    exceptions.add(e);
+                } finally {
+                    latch.countDown();
+                }
+            };
+            executorService.submit(new DelegatingSecurityContextRunnable(task, securityContext));
+        }
+        latch.await();
+        executorService.shutdown();
+
+        flashSaleService.flush();
+
+        assertEquals(4, exceptions.size(), "Only 16 orders of 3 fit into 50 seats.");
+        assertEquals(48, bookingRepository.countByTicketTypeId(ticketTypeId));
+        assertEquals(48, ticketTypeRepository.findUnlockedById(ticketTypeId).orElseThrow().getSold());
+        assertEquals(0, flashSaleService.pendingQuantity(ticketTypeId));
+    }
+
+    @Test
+    @WithMockUser(BookingTestData.BUYER_EMAIL)
+    void ledger_ShouldRebuildFromDatabase_AfterBeingDropped() {
+        bookingService.createBooking(request(45));
+        flashSaleService.flush();
+
+        // Simulates a restart: the in-memory counter is gone and must be rebuilt from persisted state.
+        flashSaleService.evictAfterCommit(List.of(ticketTypeId));
+
+        bookingService.createBooking(request(5));
+        assertThrows(IllegalStateException.class, () -> bookingService.createBooking(request(1)));
+        flashSaleService.flush();
+
+        assertEquals(50, bookingRepository.countByTicketTypeId(ticketTypeId));
+    }
+
+    @Test
+    void flush_ShouldWriteTheOtherReservations_AndDropOneThatKeepsFailing() {
+        User buyer = userRepository.findByEmail(BookingTestData.BUYER_EMAIL).orElseThrow();
+        // No such user: its bookings violate the foreign key on every attempt.
+        User missing = new User();
+        missing.setId(-1L);
+        double droppedBefore = dropped();
+
+        flashSaleService.reserve(buyer, ticketTypeId, 2);
+        flashSaleService.reserve(missing, ticketTypeId, 3);
+        flashSaleService.reserve(buyer, ticketTypeId, 4);
+        flashSaleService.flush();
+
+        assertEquals(6, bookingRepository.countByTicketTypeId(ticketTypeId));
+        for (int attempt = 0; attempt < 3; attempt++) {
+            flashSaleService.flush();
+        }
+        assertEquals(6, bookingRepository.countByTicketTypeId(ticketTypeId));
+        assertEquals(6, ticketTypeRepository.findUnlockedById(ticketTypeId).orElseThrow().getSold());
+        assertEquals(0, flashSaleService.pendingQuantity(ticketTypeId));
+        assertEquals(1, dropped() - droppedBefore);
+
+        // The dropped seats are on sale again.
+        flashSaleService.reserve(buyer, ticketTypeId, 44);
+        flashSaleService.flush();
+        assertEquals(50, bookingRepository.countByTicketTypeId(ticketTypeId));
+    }
+
+    @Test
+    void reserve_ShouldKeepEveryConfirmedSeat_WhileTheLedgerIsEvicted() throws InterruptedException {
+        User buyer = userRepository.findByEmail(BookingTestData.BUYER_EMAIL).orElseThrow();
+        int buyers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(buyers + 1);
+        CountDownLatch done = new CountDownLatch(buyers);
+        AtomicInteger reserved = new AtomicInteger();
+        double droppedBefore = dropped();
+
+        for (int i = 0; i < buyers; i++) {
+            executor.submit(() -> {
+                try {
+                    while (true) {
+                        flashSaleService.reserve(buyer, ticketTypeId, 1);
+                        reserved.incrementAndGet();
+                    }
+                } catch (IllegalStateException soldOut) {
+                    // Done buying.
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        executor.submit(() -> {
+            while (done.getCount() > 0) {
+                flashSaleService.evictAfterCommit(List.of(ticketTypeId));
+            }
+        });
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "Reservations did not finish");
+        flashSaleService.flush();
+
+        assertEquals(0, dropped() - droppedBefore);
+        assertEquals(reserved.get(), bookingRepository.countByTicketTypeId(ticketTypeId));
+        assertEquals(reserved.get(), ticketTypeRepository.findUnlockedById(ticketTypeId).orElseThrow().getSold());
+    }
+
+    @Test
+    @WithMockUser(BookingTestData.BUYER_EMAIL)
+    void regularBookings_ShouldLeaveUnflushedSeatsAlone_AfterFlashSaleIsSwitchedOff() {
+        User buyer = userRepository.findByEmail(BookingTestData.BUYER_EMAIL).orElseThrow();
+        double droppedBefore = dropped();
+        flashSaleService.reserve(buyer, ticketTypeId, 48);
+
+        Event event = ticketTypeRepository.findWithEventById(ticketTypeId).orElseThrow().getEvent();
+        event.setFlashSale(false);
+        eventRepository.save(event);
+        flashSaleService.evictAfterCommit(List.of(ticketTypeId));
+
+        assertThrows(IllegalStateException.class, () -> bookingService.createBooking(request(3)));
+        flashSaleService.flush();
+        bookingService.createBooking(request(2));
+
+        assertEquals(0, dropped() - droppedBefore);
+        assertEquals(50, bookingRepository.countByTicketTypeId(ticketTypeId));
+        assertEquals(50, ticketTypeRepository.findUnlockedById(ticketTypeId).orElseThrow().getSold());
+    }
+
+    private double dropped() {
+        return meterRegistry.find("flash.sale.reservations.dropped").counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private BookingRequest request(int quantity) {
+        BookingRequest request = new BookingRequest();
+        request.setTicketTypeId(ticketTypeId);
+        request.setQuantity(quantity);
+        return request;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.studentsevents.Service;
+
+// Run with: mvn test -Pbenchmark -Dtest=H2BookingContentionBenchmarkTest -Dbench.threads=8,64
+class H2BookingContentionBenchmarkTest extends BookingContentionBenchmark {
+
+    @Override
+    protected String databaseName() {
+        return "h2";
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.Exception.BookingRejectedException;
+import org.example.studentsevents.Repository.IdempotencyKeyRepository;
+import org.example.studentsevents.model.IdempotencyKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private BookingCoalescer bookingCoalescer;
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotencyService idempotencyService;
+    private SecurityContext userContext;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(bookingCoalescer, idempotencyKeyRepository, 24, 100);
+        userContext = new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken("test@user.com", null, Collections.emptyList()));
+        SecurityContextHolder.setContext(userContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createBooking_ShouldCollapseConcurrentDuplicates_IntoOneExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            Thread.sleep(200);
+            return null;
+        }).when(bookingCoalescer).createBooking(any(BookingRequest.class), any());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                SecurityContextHolder.setContext(userContext);
+                idempotencyService.createBooking("retry-1", request(2));
+                return null;
+            }));
+            started.await();
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        verify(bookingCoalescer, times(1)).createBooking(any(BookingRequest.class), any());
+    }
+
+    @Test
+    void createBooking_ShouldReplayStoredOutcome_WithoutBookingAgain() {
+        IdempotencyKey stored = new IdempotencyKey();
+        stored.setRequestFingerprint("7:2");
+        stored.setSucceeded(false);
+        stored.setErrorMessage("Sorry, only 1 tickets are left, but you requested 2.");
+        stored.setExpiresAt(LocalDateTime.now().plusHours(1));
+        when(idempotencyKeyRepository.findByUserEmailAndIdempotencyKey("test@user.com", "retry-2"))
+                .thenReturn(Optional.of(stored));
+
+        IllegalStateException replayed = assertThrows(IllegalStateException.class,
+                () -> idempotencyService.createBooking("retry-2", request(2)));
+        assertEquals("Sorry, only 1 tickets are left, but you requested 2.", replayed.getMessage());
+
+        assertThrows(IllegalStateException.class, () -> idempotencyService.createBooking("retry-2", request(3)));
+        verify(bookingCoalescer, never()).createBooking(any(BookingRequest.class), any());
+    }
+
+    @Test
+    void createBooking_ShouldStoreRejections_ButNotTimeouts() {
+        doThrow(new BookingRejectedException("Sorry, only 1 tickets are left, but you requested 2."))
+                .doThrow(new IllegalStateException("The booking could not be processed in time. Nothing was booked, please try again."))
+                .doNothing()
+                .when(bookingCoalescer).createBooking(any(BookingRequest.class), any());
+
+        assertThrows(BookingRejectedException.class, () -> idempotencyService.createBooking("sold-out", request(2)));
+        verify(idempotencyKeyRepository).save(argThat(key -> !key.isSucceeded()
+                && key.getErrorMessage().equals("Sorry, only 1 tickets are left, but you requested 2.")));
+
+        // A timeout is not an answer: the retry books.
+        assertThrows(IllegalStateException.class, () -> idempotencyService.createBooking("timed-out", request(2)));
+        idempotencyService.createBooking("timed-out", request(2));
+        verify(idempotencyKeyRepository, times(1)).save(any());
+        verify(bookingCoalescer, times(3)).createBooking(any(BookingRequest.class), any());
+    }
+
+    @Test
+    void createBooking_ShouldEvictFinishedKeys_WhileAnOlderOneIsStillRunning() throws Exception {
+        idempotencyService = new IdempotencyService(bookingCoalescer, idempotencyKeyRepository, 24, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0, BookingRequest.class).getQuantity() == 9) {
+                started.countDown();
+                release.await();
+            }
+            return null;
+        }).when(bookingCoalescer).createBooking(any(BookingRequest.class), any());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> slow = executor.submit(() -> {
+            SecurityContextHolder.setContext(userContext);
+            idempotencyService.createBooking("slow", request(9));
+            return null;
+        });
+        started.await();
+        for (String key : List.of("key-b", "key-c", "key-d")) {
+            idempotencyService.createBooking(key, request(1));
+        }
+        // key-b was dropped from memory for key-d even though the older slow key was still running.
+        idempotencyService.createBooking("key-b", request(1));
+        verify(idempotencyKeyRepository, times(2)).findByUserEmailAndIdempotencyKey("test@user.com", "key-b");
+        verify(idempotencyKeyRepository, times(1)).findByUserEmailAndIdempotencyKey("test@user.com", "slow");
+
+        release.countDown();
+        slow.get();
+        executor.shutdown();
+    }
+
+    private BookingRequest request(int quantity) {
+        BookingRequest request = new BookingRequest();
+        request.setTicketTypeId(7L);
+        request.setQuantity(quantity);
+        return request;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.model.TicketType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryReconciliationServiceTest {
+
+    @Mock
+    private TicketTypeRepository ticketTypeRepository;
+    @Mock
+    private TicketInventoryService ticketInventoryService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        reconciliationService = new InventoryReconciliationService(ticketTypeRepository, ticketInventoryService,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void reconcileSoldCounters_ShouldResetCounterToClaimedSeats_WhenDrifted() {
+        TicketType drifted = new TicketType();
+        drifted.setId(1L);
+        drifted.setTotalAvailable(100);
+        drifted.setSold(0);
+
+        when(ticketTypeRepository.findIdsWithSoldDrift()).thenReturn(List.of(1L));
+        when(ticketTypeRepository.findById(1L)).thenReturn(Optional.of(drifted));
+        when(ticketTypeRepository.countClaimedSeats(1L)).thenReturn(42L);
+
+        int repaired = reconciliationService.reconcileSoldCounters();
+
+        assertEquals(1, repaired);
+        assertEquals(42, drifted.getSold());
+    }
+
+    @Test
+    void reconcileSoldCounters_ShouldSkip_WhenDriftClosedBeforeLockWasTaken() {
+        TicketType settled = new TicketType();
+        settled.setId(2L);
+        settled.setTotalAvailable(10);
+        settled.setSold(3);
+
+        when(ticketTypeRepository.findIdsWithSoldDrift()).thenReturn(List.of(2L));
+        when(ticketTypeRepository.findById(2L)).thenReturn(Optional.of(settled));
+        when(ticketTypeRepository.countClaimedSeats(2L)).thenReturn(3L);
+
+        assertEquals(0, reconciliationService.reconcileSoldCounters());
+        assertEquals(3, settled.getSold());
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.studentsevents.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.TicketTypeRepository;
+import org.example.studentsevents.model.InventoryStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class OptimisticInventoryStrategyTest {
+
+    private static final int SEATS = 20;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private InventoryRetryService inventoryRetryService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingTestData bookingTestData;
+
+    private Long ticketTypeId;
+
+    @BeforeEach
+    void setUp() {
+        ticketTypeId = bookingTestData.event("Optimistic Test Event")
+                .capacity(SEATS)
+                .strategy(InventoryStrategy.OPTIMISTIC)
+                .save().get(0);
+    }
+
+    @Test
+    void optimisticBookings_ShouldSellExactlyTheInventory_WithoutRunningOutOfRetries() throws InterruptedException {
+        int buyers = 5;
+        int rounds = SEATS / buyers;
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        CyclicBarrier together = new CyclicBarrier(buyers);
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        SecurityContextImpl buyerContext = new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(BookingTestData.BUYER_EMAIL, null, Collections.emptyList()));
+        BookingRequest request = new BookingRequest();
+        request.setTicketTypeId(ticketTypeId);
+        request.setQuantity(1);
+        double conflictsBefore = total("inventory.optimistic.conflicts");
+        double retriesBefore = total("inventory.optimistic.retries");
+        double exhaustedBefore = total("inventory.optimistic.exhausted");
+
+        // Each round, every buyer books at the same moment and gets no second chance from the test.
+        for (int b = 0; b < buyers; b++) {
+            executor.submit(new DelegatingSecurityContextRunnable(() -> {
+                try {
+                    for (int round = 0; round < rounds; round++) {
+                        together.await();
+                        inventoryRetryService.run("booking", () -> bookingService.createBooking(request));
+                    }
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+            }, buyerContext));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "Bookings did not finish");
+
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+        assertEquals(SEATS, bookingRepository.countByTicketTypeId(ticketTypeId));
+        assertEquals(SEATS, ticketTypeRepository.findUnlockedById(ticketTypeId).orElseThrow().getSold());
+        assertEquals(0, total("inventory.optimistic.exhausted") - exhaustedBefore);
+        assertEquals(total("inventory.optimistic.conflicts") - conflictsBefore, total("inventory.optimistic.retries") - retriesBefore);
+    }
+
+    private double total(String meterName) {
+        return meterRegistry.find(meterName).counters().stream().mapToDouble(Counter::count).sum();
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.studentsevents.Service;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+// Run with: mvn test -Pbenchmark -Dtest=PostgresBookingContentionBenchmarkTest
+//     -Dbench.postgres.url=jdbc:postgresql://localhost:5432/stuvents_bench -Dbench.postgres.username=... -Dbench.postgres.password=...
+// The schema is created and dropped by the run, so point it at a scratch database.
+@EnabledIfSystemProperty(named = "bench.postgres.url", matches = ".+")
+class PostgresBookingContentionBenchmarkTest extends BookingContentionBenchmark {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("bench.postgres.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("bench.postgres.username", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("bench.postgres.password", ""));
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", () -> "true");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> System.getProperty("bench.postgres.pool-size", "20"));
+    }
+
+    @Override
+    protected String databaseName() {
+        return "postgres";
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTORequest.EventSearchRequest;
+import org.example.studentsevents.model.City;
+import org.example.studentsevents.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs every EventSearchTest case against the full-text column instead of the H2 fallback, plus the ranking itself.
+// Run with: mvn test -Dtest=PostgresEventSearchTest
+//     -Dtest.postgres.url=jdbc:postgresql://localhost:5432/stuvents_test -Dtest.postgres.username=... -Dtest.postgres.password=...
+// The schema is created and dropped by the run, so point it at a scratch database.
+@EnabledIfSystemProperty(named = "test.postgres.url", matches = ".+")
+class PostgresEventSearchTest extends EventSearchTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("test.postgres.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("test.postgres.username", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("test.postgres.password", ""));
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Test
+    void searchPublicEvents_ShouldRankNameMatchesAboveDescriptionMatches() {
+        User organizer = testData.organizer();
+        eventRepository.save(event(organizer, "Open Mic", testData.category("Music"), testData.city("London"),
+                DAY.minusDays(1), "0.00", "Bring your own jazz standards"));
+        EventSearchRequest search = new EventSearchRequest();
+        search.setQuery("jazz");
+
+        List<String> names = names(search);
+
+        // Open Mic is the earliest event, but only its description mentions jazz.
+        assertEquals(List.of("Jazz Night", "Jazz Run", "Jazz Brunch"), names.subList(0, 3));
+        assertTrue(names.indexOf("Open Mic") > 2);
+    }
+
+    @Test
+    void searchPublicEvents_ShouldFindEventsByTheirCityAfterARename() {
+        City paris = testData.city("Paris");
+        paris.setName("Lutetia");
+        cityRepository.saveAndFlush(paris);
+        try {
+            EventSearchRequest search = new EventSearchRequest();
+            search.setQuery("lutet");
+            assertEquals(List.of("Jazz Brunch"), names(search));
+        } finally {
+            paris.setName("Paris");
+            cityRepository.saveAndFlush(paris);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTOResponse.BookingResponse;
+import org.example.studentsevents.DTOResponse.EventResponse;
+import org.example.studentsevents.DTOResponse.TicketTypeResponse;
+import org.example.studentsevents.model.AvailabilityStatus;
+import org.example.studentsevents.model.Booking;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.TicketType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JMH comparison of {@link ResponseMapper} with the ModelMapper mappings it replaced, on the same entities as
+ * {@link ResponseMapperTest}: a public event response with its three ticket types, a booking and a single ticket type.
+ * Reports ns/op, and B/op through the GC profiler (gc.alloc.rate.norm). Results go to
+ * target/benchmarks/response-mapper-&lt;timestamp&gt;.json.
+ */
+// Run with: mvn test -Pbenchmark -Dtest=ResponseMapperBenchmarkTest
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMapperBenchmarkTest {
+
+    private final ModelMapper modelMapper = ResponseMapperTest.legacyModelMapper();
+    private final Event event = ResponseMapperTest.sampleEvent();
+    private final TicketType ticketType = event.getTicketTypes().get(0);
+    private final Booking booking = ResponseMapperTest.sampleBooking(event);
+
+    @Benchmark
+    public EventResponse eventModelMapper() {
+        EventResponse response = modelMapper.map(event, EventResponse.class);
+        response.setTicketTypes(event.getTicketTypes().stream().map(this::mapWithModelMapper).toList());
+        response.setEventImageUrl(event.getEventImageUrl());
+        return response;
+    }
+
+    @Benchmark
+    public EventResponse eventHandWritten() {
+        return ResponseMapper.toEventResponse(event, event.getTicketTypes().stream().map(this::mapByHand).toList());
+    }
+
+    @Benchmark
+    public BookingResponse bookingModelMapper() {
+        return modelMapper.map(booking, BookingResponse.class);
+    }
+
+    @Benchmark
+    public BookingResponse bookingHandWritten() {
+        return ResponseMapper.toBookingResponse(booking);
+    }
+
+    @Benchmark
+    public TicketTypeResponse ticketTypeModelMapper() {
+        return mapWithModelMapper(ticketType);
+    }
+
+    @Benchmark
+    public TicketTypeResponse ticketTypeHandWritten() {
+        return mapByHand(ticketType);
+    }
+
+    private TicketTypeResponse mapWithModelMapper(TicketType ticketType) {
+        TicketTypeResponse response = modelMapper.map(ticketType, TicketTypeResponse.class);
+        response.setAvailability(AvailabilityStatus.AVAILABLE);
+        response.setMaxPurchaseQuantity(10);
+        return response;
+    }
+
+    private TicketTypeResponse mapByHand(TicketType ticketType) {
+        return ResponseMapper.toTicketTypeResponse(ticketType, AvailabilityStatus.AVAILABLE, 10);
+    }
+
+    @Test
+    void compareWithModelMapper() throws Exception {
+        File outputDirectory = new File("target/benchmarks");
+        outputDirectory.mkdirs();
+        Options options = new OptionsBuilder()
+                .include(ResponseMapperBenchmarkTest.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .result(new File(outputDirectory, "response-mapper-" + Instant.now().toEpochMilli() + ".json").getPath())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertEquals(List.of("bookingHandWritten", "bookingModelMapper", "eventHandWritten", "eventModelMapper",
+                        "ticketTypeHandWritten", "ticketTypeModelMapper"),
+                results.stream().map(result -> result.getParams().getBenchmark())
+                        .map(name -> name.substring(name.lastIndexOf('.') + 1)).sorted().toList());
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.studentsevents.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.studentsevents.DTOResponse.AdminEventResponse;
+import org.example.studentsevents.DTOResponse.BookingResponse;
+import org.example.studentsevents.DTOResponse.EventResponse;
+import org.example.studentsevents.DTOResponse.OrganizerEventResponse;
+import org.example.studentsevents.DTOResponse.OrganizerTicketTypeResponse;
+import org.example.studentsevents.DTOResponse.TicketTypeResponse;
+import org.example.studentsevents.DTOResponse.UserResponse;
+import org.example.studentsevents.model.AvailabilityStatus;
+import org.example.studentsevents.model.Booking;
+import org.example.studentsevents.model.Category;
+import org.example.studentsevents.model.City;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.InventoryStrategy;
+import org.example.studentsevents.model.Role;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The hand-written mappings have to serialize exactly like the ModelMapper ones they replaced.
+class ResponseMapperTest {
+
+    private static final ObjectMapper json = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ModelMapper modelMapper = legacyModelMapper();
+
+    @Test
+    void toEventResponse_ShouldMatchModelMapper() throws Exception {
+        Event event = sampleEvent();
+        List<TicketTypeResponse> ticketTypes = event.getTicketTypes().stream()
+                .map(ticketType -> ResponseMapper.toTicketTypeResponse(ticketType, AvailabilityStatus.AVAILABLE, 10))
+                .toList();
+
+        EventResponse legacy = modelMapper.map(event, EventResponse.class);
+        legacy.setTicketTypes(event.getTicketTypes().stream().map(ticketType -> {
+            TicketTypeResponse response = modelMapper.map(ticketType, TicketTypeResponse.class);
+            response.setAvailability(AvailabilityStatus.AVAILABLE);
+            response.setMaxPurchaseQuantity(10);
+            return response;
+        }).toList());
+        legacy.setEventImageUrl(event.getEventImageUrl());
+
+        assertEquals(json.writeValueAsString(legacy),
+                json.writeValueAsString(ResponseMapper.toEventResponse(event, ticketTypes)));
+    }
+
+    @Test
+    void toOrganizerAndAdminEventResponse_ShouldMatchModelMapper() throws Exception {
+        Event event = sampleEvent();
+        List<OrganizerTicketTypeResponse> ticketTypes = List.of(
+                new OrganizerTicketTypeResponse(11L, "Standard", new BigDecimal("15.00"), 100, 4, 1));
+
+        OrganizerEventResponse organizer = modelMapper.map(event, OrganizerEventResponse.class);
+        organizer.setTicketTypes(ticketTypes);
+        AdminEventResponse admin = modelMapper.map(event, AdminEventResponse.class);
+        admin.setTicketTypes(ticketTypes);
+
+        assertEquals(json.writeValueAsString(organizer),
+                json.writeValueAsString(ResponseMapper.toOrganizerEventResponse(event, ticketTypes)));
+        assertEquals(json.writeValueAsString(admin),
+                json.writeValueAsString(ResponseMapper.toAdminEventResponse(event, ticketTypes)));
+    }
+
+    @Test
+    void toBookingResponse_ShouldMatchModelMapper() throws Exception {
+        Booking booking = sampleBooking(sampleEvent());
+
+        assertEquals(json.writeValueAsString(modelMapper.map(booking, BookingResponse.class)),
+                json.writeValueAsString(ResponseMapper.toBookingResponse(booking)));
+    }
+
+    @Test
+    void toUserResponse_ShouldMatchModelMapper() throws Exception {
+        User user = sampleUser();
+        UserResponse legacy = modelMapper.map(user, UserResponse.class);
+        legacy.setRoles(user.getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
+
+        assertEquals(json.writeValueAsString(legacy), json.writeValueAsString(ResponseMapper.toUserResponse(user)));
+    }
+
+    // ModelMapper as EventConfig configured it for these responses.
+    static ModelMapper legacyModelMapper() {
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        modelMapper.createTypeMap(Booking.class, BookingResponse.class)
+                .addMappings(mapper -> mapper.map(src -> src.getTicketType().getEvent(), BookingResponse::setEvent));
+        return modelMapper;
+    }
+
+    static Event sampleEvent() {
+        Category category = new Category("Music");
+        category.setId(3L);
+        City city = new City("London");
+        city.setId(5L);
+
+        Event event = new Event();
+        event.setId(7L);
+        event.setName("Jazz Night");
+        event.setDescription("Late set in the basement");
+        event.setEventDateTime(LocalDateTime.of(2030, 5, 17, 20, 0));
+        event.setAddress("1 Frith Street");
+        event.setExternalLink("https://example.com/jazz");
+        event.setCategory(category);
+        event.setCity(city);
+        event.setEventImageUrl("https://example.com/jazz.jpg");
+        event.setLatitude(51.5136);
+        event.setLongitude(-0.1365);
+        event.setFlashSale(true);
+        event.setInventoryStrategy(InventoryStrategy.PESSIMISTIC);
+        event.getTicketTypes().add(ticketType(event, 11L, "Standard", "15.00"));
+        event.getTicketTypes().add(ticketType(event, 12L, "VIP", "30.00"));
+        event.getTicketTypes().add(ticketType(event, 13L, "Student", "10.00"));
+        event.refreshPriceRange();
+        return event;
+    }
+
+    static Booking sampleBooking(Event event) {
+        Booking booking = new Booking();
+        booking.setId(21L);
+        booking.setBookingDateTime(LocalDateTime.of(2030, 5, 1, 12, 30));
+        booking.setTicketType(event.getTicketTypes().get(0));
+        booking.setUser(sampleUser());
+        return booking;
+    }
+
+    static User sampleUser() {
+        User user = new User();
+        user.setId(31L);
+        user.setFirstName("Ada");
+        user.setLastName("Lovelace");
+        user.setEmail("ada@test.com");
+        user.setProfilePictureUrl("https://example.com/ada.jpg");
+        user.setRoles(Set.of(new Role("ROLE_USER"), new Role("ROLE_ORGANIZER")));
+        return user;
+    }
+
+    private static TicketType ticketType(Event event, Long id, String name, String price) {
+        TicketType ticketType = new TicketType();
+        ticketType.setId(id);
+        ticketType.setName(name);
+        ticketType.setPrice(new BigDecimal(price));
+        ticketType.setTotalAvailable(100);
+        ticketType.setEvent(event);
+        return ticketType;
+    }
+}
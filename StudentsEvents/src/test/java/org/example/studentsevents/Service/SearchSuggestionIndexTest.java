@@ -0,0 +1,122 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTORequest.CityRequest;
+import org.example.studentsevents.DTOResponse.SearchSuggestionsResponse;
+import org.example.studentsevents.DTOResponse.SuggestionResponse;
+import org.example.studentsevents.Repository.EventRepository;
+import org.example.studentsevents.model.Category;
+import org.example.studentsevents.model.City;
+import org.example.studentsevents.model.Event;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class SearchSuggestionIndexTest {
+
+    @Autowired
+    private SearchSuggestionIndex searchSuggestionIndex;
+    @Autowired
+    private CityService cityService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventTestData testData;
+
+    private User organizer;
+    private Category zumba;
+    private City zagreb;
+    private City zadar;
+
+    @BeforeEach
+    void setUp() {
+        testData.deleteEvents();
+
+        organizer = testData.organizer();
+        zumba = testData.category("Zumba");
+        testData.category("Zen Yoga");
+        zagreb = testData.city("Zagreb");
+        zadar = testData.city("Zadar");
+        eventRepository.saveAll(List.of(
+                event("Zesty Night Market", zagreb, LocalDateTime.now().plusDays(2), 3),
+                event("Zombie Walk", zagreb, LocalDateTime.now().plusDays(3), 40),
+                event("Zither Evening", zadar, LocalDateTime.now().plusDays(4), 10),
+                event("Zoo Night", zadar, LocalDateTime.now().minusDays(1), 99)));
+        searchSuggestionIndex.reload();
+    }
+
+    @Test
+    void suggest_ShouldRankEachKindByPopularity() {
+        SearchSuggestionsResponse suggestions = searchSuggestionIndex.suggest("  Z ", 5);
+
+        // The Zoo Night is over, so it is neither suggested nor counted for Zadar.
+        assertEquals(List.of("Zombie Walk", "Zither Evening", "Zesty Night Market"), names(suggestions.getEvents()));
+        assertEquals(List.of("Zagreb", "Zadar"), names(suggestions.getCities()));
+        assertEquals(List.of("Zumba", "Zen Yoga"), names(suggestions.getCategories()));
+        assertEquals(List.of("Zombie Walk"), names(searchSuggestionIndex.suggest("z", 1).getEvents()));
+    }
+
+    @Test
+    void suggest_ShouldMatchTheStartOfAnyWord() {
+        assertEquals(List.of("Zesty Night Market"), names(searchSuggestionIndex.suggest("night m", 5).getEvents()));
+        assertEquals(List.of("Zen Yoga"), names(searchSuggestionIndex.suggest("yog", 5).getCategories()));
+        assertEquals(List.of(), names(searchSuggestionIndex.suggest("ombie", 5).getEvents()));
+    }
+
+    @Test
+    void suggest_ShouldFollowChangesWithoutAReload() {
+        cityService.updateCity(zadar.getId(), cityRequest("Zadar Old Town"));
+        try {
+            assertEquals(List.of("Zadar Old Town"), names(searchSuggestionIndex.suggest("old t", 5).getCities()));
+        } finally {
+            cityService.updateCity(zadar.getId(), cityRequest("Zadar"));
+        }
+
+        Event added = eventRepository.save(event("Zodiac Talk", zadar, LocalDateTime.now().plusDays(1), 0));
+        searchSuggestionIndex.onEventChanged(EventChangedEvent.saved(added.getId()));
+        assertEquals(List.of("Zodiac Talk"), names(searchSuggestionIndex.suggest("zod", 5).getEvents()));
+        // Zadar now has two upcoming events to Zagreb's two; the tie goes by name.
+        assertEquals(List.of("Zadar", "Zagreb"), names(searchSuggestionIndex.suggest("za", 5).getCities()));
+
+        searchSuggestionIndex.onEventChanged(EventChangedEvent.deleted(added.getId()));
+        assertEquals(List.of(), names(searchSuggestionIndex.suggest("zod", 5).getEvents()));
+        assertEquals(List.of("Zagreb", "Zadar"), names(searchSuggestionIndex.suggest("za", 5).getCities()));
+    }
+
+    private static List<String> names(List<SuggestionResponse> suggestions) {
+        return suggestions.stream().map(SuggestionResponse::getName).toList();
+    }
+
+    private static CityRequest cityRequest(String name) {
+        CityRequest request = new CityRequest();
+        request.setName(name);
+        return request;
+    }
+
+    private Event event(String name, City city, LocalDateTime startsAt, int sold) {
+        Event event = new Event();
+        event.setName(name);
+        event.setAddress("Addr");
+        event.setEventDateTime(startsAt);
+        event.setOrganizer(organizer);
+        event.setCategory(zumba);
+        event.setCity(city);
+        TicketType ticketType = new TicketType();
+        ticketType.setName("Standard");
+        ticketType.setPrice(BigDecimal.TEN);
+        ticketType.setTotalAvailable(100);
+        ticketType.setSold(sold);
+        ticketType.setEvent(event);
+        event.getTicketTypes().add(ticketType);
+        return event;
+    }
+}
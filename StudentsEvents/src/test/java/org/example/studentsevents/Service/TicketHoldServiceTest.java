@@ -0,0 +1,124 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.DTOResponse.TicketHoldResponse;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.TicketHoldRepository;
+import org.example.studentsevents.Repository.UserRepository;
+import org.example.studentsevents.model.TicketHold;
+import org.example.studentsevents.model.TicketType;
+import org.example.studentsevents.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketHoldServiceTest {
+
+    @Mock
+    private TicketHoldRepository ticketHoldRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TicketInventoryService ticketInventoryService;
+    @Mock
+    private FlashSaleService flashSaleService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final User user = new User();
+    private final TicketType ticketType = new TicketType();
+
+    @BeforeEach
+    void setUp() {
+        user.setId(1L);
+        user.setEmail("test@user.com");
+        ticketType.setId(7L);
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken("test@user.com", null, Collections.emptyList())));
+        when(userRepository.findByEmail("test@user.com")).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void reapExpiredHolds_ShouldGiveSeatsBack_OnceTheHoldHasExpired() {
+        // A zero-minute hold is due as soon as it is created.
+        TicketHoldService ticketHoldService = serviceWithHoldMinutes(0);
+        when(flashSaleService.isFlashSale(7L)).thenReturn(false);
+        when(ticketInventoryService.reserve(7L, 3)).thenReturn(ticketType);
+        when(ticketHoldRepository.save(any(TicketHold.class))).thenAnswer(invocation -> {
+            TicketHold hold = invocation.getArgument(0);
+            hold.setId(100L);
+            return hold;
+        });
+
+        TicketHoldResponse response = ticketHoldService.createHold(request(3));
+
+        TicketHold stored = new TicketHold();
+        stored.setId(response.getId());
+        stored.setTicketType(ticketType);
+        stored.setQuantity(3);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(ticketHoldRepository.findExpiredForUpdate(anyCollection(), any(LocalDateTime.class))).thenReturn(List.of(stored));
+
+        assertEquals(1, ticketHoldService.reapExpiredHolds());
+        verify(ticketInventoryService).release(7L, 3);
+        verify(ticketHoldRepository).deleteAllInBatch(List.of(stored));
+
+        assertEquals(0, ticketHoldService.reapExpiredHolds());
+    }
+
+    @Test
+    void confirmHold_ShouldReject_WhenHoldHasExpired() {
+        TicketHoldService ticketHoldService = serviceWithHoldMinutes(10);
+        TicketHold expired = new TicketHold();
+        expired.setId(5L);
+        expired.setTicketType(ticketType);
+        expired.setQuantity(2);
+        expired.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        when(ticketHoldRepository.findByIdAndUserForUpdate(5L, user)).thenReturn(Optional.of(expired));
+
+        assertThrows(IllegalStateException.class, () -> ticketHoldService.confirmHold(5L));
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
+    private TicketHoldService serviceWithHoldMinutes(long holdMinutes) {
+        return new TicketHoldService(ticketHoldRepository, bookingRepository, userRepository, ticketInventoryService,
+                flashSaleService, new TransactionTemplate(transactionManager), holdMinutes);
+    }
+
+    private BookingRequest request(int quantity) {
+        BookingRequest request = new BookingRequest();
+        request.setTicketTypeId(7L);
+        request.setQuantity(quantity);
+        return request;
+    }
+}
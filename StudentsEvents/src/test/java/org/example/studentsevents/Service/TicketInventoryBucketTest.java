@@ -0,0 +1,105 @@
+package org.example.studentsevents.Service;
+
+import org.example.studentsevents.DTORequest.BookingRequest;
+import org.example.studentsevents.Repository.BookingRepository;
+import org.example.studentsevents.Repository.TicketInventoryBucketRepository;
+import org.example.studentsevents.model.TicketInventoryBucket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TicketInventoryBucketTest {
+
+    private static final int SEATS = 40;
+    private static final int BUCKETS = 4;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private TicketInventoryService ticketInventoryService;
+    @Autowired
+    private TicketInventoryBucketRepository bucketRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingTestData bookingTestData;
+
+    private Long ticketTypeId;
+
+    @BeforeEach
+    void setUp() {
+        ticketTypeId = bookingTestData.event("Bucketed Event").capacity(SEATS).bucketCount(BUCKETS).save().get(0);
+    }
+
+    @Test
+    void bucketedTicketType_ShouldSellExactlyItsInventory_UnderConcurrency() throws InterruptedException {
+        BookingRequest request = new BookingRequest();
+        request.setTicketTypeId(ticketTypeId);
+        request.setQuantity(3);
+        AtomicInteger remainingAttempts = new AtomicInteger(SEATS);
+        AtomicInteger booked = new AtomicInteger();
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        SecurityContextImpl buyerContext = new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(BookingTestData.BUYER_EMAIL, null, Collections.emptyList()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(new DelegatingSecurityContextRunnable(() -> {
+                while (remainingAttempts.getAndDecrement() > 0) {
+                    try {
+                        bookingService.createBooking(request);
+                        booked.addAndGet(3);
+                    } catch (IllegalStateException soldOut) {
+                        // Expected once fewer than 3 seats are left.
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                }
+            }, buyerContext));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+        // Seats left over in separate buckets are pooled, so only the last (40 % 3) seat stays unsold.
+        assertEquals(SEATS - SEATS % 3, booked.get());
+        assertEquals(booked.get(), bookingRepository.countByTicketTypeId(ticketTypeId));
+        List<TicketInventoryBucket> buckets = bucketRepository.findAll();
+        assertEquals(BUCKETS, buckets.size());
+        assertEquals(booked.get(), buckets.stream().mapToInt(TicketInventoryBucket::getSold).sum());
+        assertTrue(buckets.stream().allMatch(bucket -> bucket.getSold() <= bucket.getCapacity()));
+    }
+
+    @Test
+    void reconcileBuckets_ShouldResetBucketCounters_ToClaimedSeats() {
+        BookingRequest request = new BookingRequest();
+        request.setTicketTypeId(ticketTypeId);
+        request.setQuantity(5);
+        SecurityContextImpl buyerContext = new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(BookingTestData.BUYER_EMAIL, null, Collections.emptyList()));
+        new DelegatingSecurityContextRunnable(() -> bookingService.createBooking(request), buyerContext).run();
+
+        // Seats given back without their bookings being removed: the counters now under-report by 2.
+        ticketInventoryService.release(ticketTypeId, 2);
+        assertEquals(3, bucketRepository.findAll().stream().mapToInt(TicketInventoryBucket::getSold).sum());
+
+        assertTrue(ticketInventoryService.reconcileBuckets(ticketTypeId));
+        assertEquals(5, bucketRepository.findAll().stream().mapToInt(TicketInventoryBucket::getSold).sum());
+    }
+}